@@ -0,0 +1,13 @@
+package com.vroom.application.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration for scheduled background tasks
+ * Used for periodic flushes of in-memory statistics
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,226 @@
+package com.vroom.application.warmup;
+
+import com.vroom.content.dto.ScenarioDTO;
+import com.vroom.content.service.BadgeCatalogService;
+import com.vroom.content.service.BadgeService;
+import com.vroom.content.service.InteractionPointService;
+import com.vroom.content.service.PrerequisiteGraphService;
+import com.vroom.content.service.ResponseCache;
+import com.vroom.content.service.ScenarioLeaderboardService;
+import com.vroom.content.service.ScenarioService;
+import com.vroom.content.service.ScenarioSnapshotService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+/**
+ * Warms caches after startup, before the instance reports ready
+ * Loads the published catalog, badge catalog, prerequisite graph and the bundles of the most popular
+ * scenarios in parallel, then optionally replays a recorded request sample against the local server.
+ * Readiness is reported through WarmupHealthIndicator, the duration as the vroom.warmup timer
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheWarmup {
+
+    private final ScenarioService scenarioService;
+    private final ScenarioLeaderboardService scenarioLeaderboardService;
+    private final ScenarioSnapshotService scenarioSnapshotService;
+    private final InteractionPointService interactionPointService;
+    private final PrerequisiteGraphService prerequisiteGraphService;
+    private final BadgeCatalogService badgeCatalogService;
+    private final BadgeService badgeService;
+    private final ResponseCache responseCache;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.top-scenarios:50}")
+    private int topScenarios;
+
+    @Value("${warmup.parallelism:4}")
+    private int parallelism;
+
+    @Value("${warmup.timeout-ms:120000}")
+    private long timeoutMs;
+
+    /**
+     * File of recorded requests, one "GET /path" per line; empty to skip the replay
+     */
+    @Value("${warmup.replay.file:}")
+    private String replayFile;
+
+    /**
+     * Authorization header sent with replayed requests
+     */
+    @Value("${warmup.replay.authorization:}")
+    private String replayAuthorization;
+
+    /**
+     * Monotonic clock of the deadline, replaced by tests
+     */
+    private LongSupplier nanoTime = System::nanoTime;
+
+    private volatile boolean complete;
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            complete = true;
+            return;
+        }
+
+        Thread thread = new Thread(this::warmUp, "vroom-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Run every warm-up step; the instance becomes ready afterwards even if some steps failed or timed out
+     * The timeout bounds the whole warm-up, the replay only gets what the cache steps left of it
+     */
+    void warmUp() {
+        log.info("Starting cache warm-up");
+        Timer.Sample total = Timer.start(meterRegistry);
+        long deadline = nanoTime.getAsLong() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        // The top-scenarios step waits on bundle tasks of the same pool, so it needs a second thread
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(2, parallelism));
+        try {
+            List<CompletableFuture<Void>> steps = new ArrayList<>();
+            steps.add(step("published-scenarios", executor,
+                    () -> responseCache.get(ResponseCache.PUBLISHED_SCENARIOS, scenarioService::getAllPublishedScenarios)));
+            steps.add(step("badge-catalog", executor, () -> {
+                badgeCatalogService.getCatalog();
+                responseCache.get(ResponseCache.ACTIVE_BADGES, badgeService::getAllActiveBadges);
+            }));
+            steps.add(step("prerequisite-graph", executor, prerequisiteGraphService::getGraph));
+            steps.add(step("top-scenarios", executor, () -> warmTopScenarios(executor)));
+
+            CompletableFuture.allOf(steps.toArray(new CompletableFuture[0])).get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+
+            if (!replayFile.isBlank()) {
+                step("replay", executor, this::replay).get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+            }
+        } catch (TimeoutException e) {
+            log.warn("Cache warm-up did not finish within {} ms", timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Cache warm-up failed", e);
+        } finally {
+            executor.shutdownNow();
+            long nanos = total.stop(meterRegistry.timer("vroom.warmup", "step", "total"));
+            complete = true;
+            log.info("Cache warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    private long remainingNanos(long deadline) {
+        return Math.max(0, deadline - nanoTime.getAsLong());
+    }
+
+    /**
+     * Load the scenario, serialized response, timeline and snapshot of the most popular scenarios
+     */
+    private void warmTopScenarios(ExecutorService executor) {
+        List<ScenarioDTO> top = scenarioLeaderboardService.getMostPopularScenarios(null, null, topScenarios);
+
+        CompletableFuture.allOf(top.stream()
+                .map(scenario -> CompletableFuture.runAsync(() -> warmScenario(scenario), executor))
+                .toArray(CompletableFuture[]::new))
+                .join();
+        log.debug("Warmed {} scenario bundles", top.size());
+    }
+
+    private void warmScenario(ScenarioDTO scenario) {
+        try {
+            responseCache.get(ResponseCache.scenarioKey(scenario.getId()), () -> scenarioService.getPublishedScenario(scenario.getId()));
+            interactionPointService.getTimeline(scenario.getId());
+            if (scenario.getSnapshotHash() != null) {
+                scenarioSnapshotService.getSnapshot(scenario.getSnapshotHash());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to warm scenario {}: {}", scenario.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Replay recorded GET requests against this instance to warm the request path end to end
+     */
+    private void replay() {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(Path.of(replayFile));
+        } catch (IOException e) {
+            log.warn("Cannot read warm-up replay file {}: {}", replayFile, e.getMessage());
+            return;
+        }
+
+        RestClient client = RestClient.builder()
+                .baseUrl("http://localhost:" + environment.getProperty("local.server.port", "8080"))
+                .defaultHeaders(headers -> {
+                    if (!replayAuthorization.isBlank()) {
+                        headers.set(HttpHeaders.AUTHORIZATION, replayAuthorization);
+                    }
+                })
+                .build();
+
+        int replayed = 0;
+        for (String line : lines) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length != 2 || !parts[0].equalsIgnoreCase("GET")) {
+                continue;
+            }
+            try {
+                client.get().uri(parts[1]).retrieve().toBodilessEntity();
+                replayed++;
+            } catch (RuntimeException e) {
+                log.debug("Warm-up request {} failed: {}", parts[1], e.getMessage());
+            }
+        }
+        log.debug("Replayed {} of {} warm-up requests", replayed, lines.size());
+    }
+
+    /**
+     * Run a warm-up step on the executor, timing it and logging instead of propagating failures
+     */
+    private CompletableFuture<Void> step(String name, ExecutorService executor, Runnable task) {
+        return CompletableFuture.runAsync(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("Warm-up step {} failed: {}", name, e.getMessage());
+            } finally {
+                sample.stop(meterRegistry.timer("vroom.warmup", "step", name));
+            }
+        }, executor);
+    }
+}
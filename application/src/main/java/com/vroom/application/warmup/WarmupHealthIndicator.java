@@ -0,0 +1,22 @@
+package com.vroom.application.warmup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health of the startup warm-up, part of the readiness group
+ * Reports OUT_OF_SERVICE until warm-up completes so load balancers keep the instance out of rotation
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmup cacheWarmup;
+
+    @Override
+    public Health health() {
+        return cacheWarmup.isComplete() ? Health.up().build() : Health.outOfService().withDetail("warmup", "in progress").build();
+    }
+}
@@ -0,0 +1,143 @@
+package com.vroom.application;
+
+import com.vroom.content.model.entity.Badge;
+import com.vroom.content.model.entity.Question;
+import com.vroom.content.model.entity.Scenario;
+import com.vroom.content.model.enums.BadgeType;
+import com.vroom.content.model.enums.Theme;
+import com.vroom.content.repository.BadgeRepository;
+import com.vroom.content.service.BadgeCatalogService;
+import com.vroom.learning.dto.SubmitAnswerRequest;
+import com.vroom.learning.service.BadgeRuleEngine;
+import com.vroom.learning.service.ProgressService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+class BadgeRuleEngineTests extends IntegrationTestSupport {
+
+    @Autowired
+    ProgressService progressService;
+
+    @Autowired
+    BadgeRuleEngine badgeRuleEngine;
+
+    @Autowired
+    BadgeRepository badgeRepository;
+
+    @Autowired
+    BadgeCatalogService badgeCatalogService;
+
+    UUID studentId;
+
+    @BeforeEach
+    void setUp() {
+        studentId = newStudent().getId();
+    }
+
+    @Test
+    void themeRule_countsPassesSeededFromHistory() {
+        Badge badge = newBadge("Work Zone Pro " + UUID.randomUUID(),
+                "{\"type\":\"THEME_PASSED\",\"theme\":\"CONSTRUCTION_ZONES\",\"min\":2}");
+        Scenario first = themed("Lane closure");
+        Scenario second = themed("Flagger ahead");
+
+        pass(first);
+        // Reload the counters from the history, so the second pass only reaches the rule if the first was seeded
+        badgeRuleEngine.evict(studentId);
+        assertFalse(hasBadge(badge));
+
+        pass(second);
+
+        assertTrue(hasBadge(badge));
+    }
+
+    @Test
+    void streakRule_extendsTheStreakSeededFromPastDays() {
+        Badge badge = newBadge("Three Days " + UUID.randomUUID(), "{\"type\":\"STREAK_DAYS\",\"min\":3}");
+        Scenario scenario = newScenario("Daily drive");
+        Question question = newQuestion(scenario.getId(), 10);
+        progressService.startScenario(studentId, scenario.getId());
+
+        LocalDate today = LocalDate.now();
+        answer(scenario, question);
+        moveAnswersTo(today.minusDays(2));
+        answer(scenario, question);
+        moveAnswersTo(today.minusDays(1));
+        badgeRuleEngine.evict(studentId);
+        assertFalse(hasBadge(badge));
+
+        answer(scenario, question);
+
+        assertTrue(hasBadge(badge));
+    }
+
+    @Test
+    void award_emailsOnceTheBadgeCommitted() {
+        Badge badge = newBadge("Work Zone Rookie " + UUID.randomUUID(),
+                "{\"type\":\"THEME_PASSED\",\"theme\":\"CONSTRUCTION_ZONES\",\"min\":1}");
+        List<Boolean> committedWhenEmailed = new ArrayList<>();
+        doAnswer(invocation -> committedWhenEmailed.add(hasBadge(badge)))
+                .when(emailService).sendBadgeEarnedEmail(any(), any(), eq(badge.getName()), any());
+
+        pass(themed("Narrow lanes"));
+
+        assertEquals(List.of(true), committedWhenEmailed);
+        assertTrue(jdbcTemplate.queryForObject("SELECT notified FROM student_badges WHERE student_id = ? AND badge_id = ?",
+                Boolean.class, studentId, badge.getId()));
+    }
+
+    private Badge newBadge(String name, String criteria) {
+        Badge badge = badgeRepository.save(Badge.builder()
+                .name(name)
+                .description("Badge used by the integration tests")
+                .type(BadgeType.SKILL_MASTERY)
+                .criteria(criteria)
+                .build());
+        badgeCatalogService.invalidate();
+        return badge;
+    }
+
+    private Scenario themed(String title) {
+        Scenario scenario = newScenario(title);
+        scenario.setTheme(Theme.CONSTRUCTION_ZONES);
+        return scenarioRepository.save(scenario);
+    }
+
+    private void pass(Scenario scenario) {
+        Question question = newQuestion(scenario.getId(), 10);
+        progressService.startScenario(studentId, scenario.getId());
+        answer(scenario, question);
+        progressService.completeScenario(studentId, scenario.getId());
+    }
+
+    private void answer(Scenario scenario, Question question) {
+        progressService.submitAnswer(studentId, SubmitAnswerRequest.builder()
+                .scenarioId(scenario.getId())
+                .questionId(question.getId())
+                .selectedAnswerIds(Set.of(correctAnswerId(question)))
+                .build());
+    }
+
+    private void moveAnswersTo(LocalDate day) {
+        jdbcTemplate.update("UPDATE student_answers SET answered_at = ? WHERE student_id = ? AND answered_at >= ?",
+                Timestamp.valueOf(day.atTime(12, 0)), studentId, Timestamp.valueOf(LocalDate.now().atStartOfDay()));
+    }
+
+    private boolean hasBadge(Badge badge) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_badges WHERE student_id = ? AND badge_id = ?",
+                Integer.class, studentId, badge.getId()) > 0;
+    }
+}
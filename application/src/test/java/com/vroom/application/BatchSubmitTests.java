@@ -0,0 +1,151 @@
+package com.vroom.application;
+
+import com.vroom.content.model.entity.Question;
+import com.vroom.learning.dto.SubmitAnswerBatchRequest;
+import com.vroom.learning.dto.SubmitAnswerBatchResponse;
+import com.vroom.learning.dto.SubmitAnswerRequest;
+import com.vroom.learning.dto.SubmitAnswerResponse;
+import com.vroom.learning.service.ProgressService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchSubmitTests extends IntegrationTestSupport {
+
+    private static final int THREADS = 4;
+
+    @Autowired
+    ProgressService progressService;
+
+    UUID studentId;
+    UUID scenarioId;
+    Question first;
+    Question second;
+
+    @BeforeEach
+    void startScenario() {
+        studentId = newStudent().getId();
+        scenarioId = newScenario("Offline motorway").getId();
+        first = newQuestion(scenarioId, 10);
+        second = newQuestion(scenarioId, 20);
+        progressService.startScenario(studentId, scenarioId);
+    }
+
+    @Test
+    void resubmittedBatch_returnsOriginalResultsWithoutStoringAgain() {
+        UUID correctId = UUID.randomUUID();
+        UUID wrongId = UUID.randomUUID();
+        progressService.submitAnswers(studentId, batch(
+                answer(correctId, first, correctAnswerId(first)),
+                answer(wrongId, second, wrongAnswerId(second))));
+
+        // The retry sends different selections, the stored grading must win
+        UUID newId = UUID.randomUUID();
+        SubmitAnswerBatchResponse response = progressService.submitAnswers(studentId, batch(
+                answer(correctId, first, wrongAnswerId(first)),
+                answer(wrongId, second, correctAnswerId(second)),
+                answer(newId, second, correctAnswerId(second))));
+
+        assertEquals(1, response.getAccepted());
+        assertEquals(2, response.getDuplicates());
+        List<SubmitAnswerResponse> results = response.getResults();
+        assertResult(results.get(0), correctId, true, 10, true);
+        assertResult(results.get(1), wrongId, false, 0, true);
+        assertResult(results.get(2), newId, true, 20, false);
+        assertEquals(3, storedAnswers());
+        assertEquals(3, storedSelections());
+    }
+
+    @Test
+    void clientIdRepeatedInsideABatch_isStoredOnce() {
+        UUID clientId = UUID.randomUUID();
+        SubmitAnswerBatchResponse response = progressService.submitAnswers(studentId, batch(
+                answer(clientId, first, correctAnswerId(first)),
+                answer(clientId, first, correctAnswerId(first))));
+
+        assertEquals(1, response.getAccepted());
+        assertEquals(1, response.getDuplicates());
+        assertResult(response.getResults().get(0), clientId, true, 10, false);
+        assertResult(response.getResults().get(1), clientId, true, 10, true);
+        assertEquals(1, storedAnswers());
+    }
+
+    @Test
+    void sameBatchSubmittedConcurrently_isStoredOnce() throws Exception {
+        SubmitAnswerBatchRequest request = batch(
+                answer(UUID.randomUUID(), first, correctAnswerId(first)),
+                answer(UUID.randomUUID(), second, correctAnswerId(second)));
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<SubmitAnswerBatchResponse>> responses = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            responses.add(pool.submit(() -> {
+                start.await();
+                return progressService.submitAnswers(studentId, request);
+            }));
+        }
+        start.countDown();
+
+        int accepted = 0;
+        for (Future<SubmitAnswerBatchResponse> response : responses) {
+            SubmitAnswerBatchResponse batch = response.get(1, TimeUnit.MINUTES);
+            accepted += batch.getAccepted();
+            assertEquals(2, batch.getAccepted() + batch.getDuplicates());
+            batch.getResults().forEach(result -> assertTrue(result.getCorrect()));
+        }
+        pool.shutdown();
+
+        assertEquals(2, accepted);
+        assertEquals(2, storedAnswers());
+    }
+
+    private SubmitAnswerBatchRequest batch(SubmitAnswerRequest... answers) {
+        return SubmitAnswerBatchRequest.builder().answers(List.of(answers)).build();
+    }
+
+    private SubmitAnswerRequest answer(UUID clientAnswerId, Question question, UUID selected) {
+        return SubmitAnswerRequest.builder()
+                .clientAnswerId(clientAnswerId)
+                .scenarioId(scenarioId)
+                .questionId(question.getId())
+                .selectedAnswerIds(Set.of(selected))
+                .build();
+    }
+
+    private UUID wrongAnswerId(Question question) {
+        return question.getAnswers().get(1).getId();
+    }
+
+    private void assertResult(SubmitAnswerResponse result, UUID clientAnswerId, boolean correct, int points,
+                              boolean duplicate) {
+        assertEquals(clientAnswerId, result.getClientAnswerId());
+        assertEquals(correct, result.getCorrect());
+        assertEquals(points, result.getPointsEarned());
+        assertEquals(duplicate, result.getDuplicate());
+    }
+
+    private int storedAnswers() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM student_answers WHERE student_id = ?", Integer.class, studentId);
+    }
+
+    private int storedSelections() {
+        return jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM student_answer_selections sel
+                JOIN student_answers sa ON sa.id = sel.student_answer_id WHERE sa.student_id = ?
+                """, Integer.class, studentId);
+    }
+}
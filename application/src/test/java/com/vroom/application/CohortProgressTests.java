@@ -0,0 +1,141 @@
+package com.vroom.application;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vroom.content.model.entity.Question;
+import com.vroom.content.model.entity.Scenario;
+import com.vroom.learning.dto.SubmitAnswerRequest;
+import com.vroom.learning.model.enums.CompletionStatus;
+import com.vroom.learning.service.CohortProgressService;
+import com.vroom.learning.service.ProgressService;
+import com.vroom.security.model.entity.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CohortProgressTests extends IntegrationTestSupport {
+
+    @Autowired
+    CohortProgressService cohortProgressService;
+
+    @Autowired
+    ProgressService progressService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    UUID instructorId;
+    Student adams;
+    Student baker;
+    Student outsider;
+    Scenario passed;
+    Scenario started;
+    Scenario outsiderOnly;
+
+    @BeforeEach
+    void setUp() {
+        instructorId = UUID.randomUUID();
+        adams = assigned("Adams", instructorId);
+        baker = assigned("Baker", instructorId);
+        outsider = assigned("Carter", UUID.randomUUID());
+
+        passed = newScenario("Four-way stop");
+        Question question = newQuestion(passed.getId(), 10);
+        started = newScenario("Left turn on green");
+        outsiderOnly = newScenario("Level crossing");
+
+        progressService.startScenario(adams.getId(), passed.getId());
+        progressService.submitAnswer(adams.getId(), SubmitAnswerRequest.builder()
+                .scenarioId(passed.getId())
+                .questionId(question.getId())
+                .selectedAnswerIds(Set.of(correctAnswerId(question)))
+                .build());
+        progressService.completeScenario(adams.getId(), passed.getId());
+        progressService.startScenario(adams.getId(), started.getId());
+        progressService.startScenario(outsider.getId(), outsiderOnly.getId());
+    }
+
+    @Test
+    void matrix_encodesStatusesScoresAndAttemptsByColumn() throws Exception {
+        JsonNode matrix = matrix(instructorId);
+
+        List<String> statuses = new ArrayList<>();
+        matrix.get("statuses").forEach(status -> statuses.add(status.asText()));
+        assertEquals(Arrays.stream(CompletionStatus.values()).map(Enum::name).toList(), statuses);
+
+        List<String> columns = new ArrayList<>();
+        matrix.get("scenarios").forEach(scenario -> columns.add(scenario.get("id").asText()));
+        int passedColumn = columns.indexOf(passed.getId().toString());
+        int startedColumn = columns.indexOf(started.getId().toString());
+
+        JsonNode row = matrix.get("students").get(0);
+        assertEquals(adams.getId().toString(), row.get("id").asText());
+        assertEquals("Sam Adams", row.get("name").asText());
+        assertEquals(CompletionStatus.COMPLETED_PASSED.ordinal(), row.get("status").get(passedColumn).asInt());
+        assertEquals(100.0, row.get("bestScore").get(passedColumn).asDouble());
+        assertEquals(1, row.get("attempts").get(passedColumn).asInt());
+        assertEquals(CompletionStatus.IN_PROGRESS.ordinal(), row.get("status").get(startedColumn).asInt());
+        assertTrue(row.get("bestScore").get(startedColumn).isNull());
+        assertEquals(0, row.get("attempts").get(startedColumn).asInt());
+    }
+
+    @Test
+    void matrix_keepsStudentsWithoutProgressAsEmptyRows() throws Exception {
+        JsonNode matrix = matrix(instructorId);
+        int columns = matrix.get("scenarios").size();
+
+        JsonNode row = matrix.get("students").get(1);
+        assertEquals(baker.getId().toString(), row.get("id").asText());
+        assertEquals(columns, row.get("status").size());
+        row.get("status").forEach(status -> assertEquals(CompletionStatus.NOT_STARTED.ordinal(), status.asInt()));
+        row.get("bestScore").forEach(score -> assertTrue(score.isNull()));
+        row.get("attempts").forEach(attempts -> assertEquals(0, attempts.asInt()));
+    }
+
+    @Test
+    void matrix_isScopedToTheInstructorsStudents() throws Exception {
+        JsonNode cohort = matrix(instructorId);
+        assertEquals(List.of(adams.getId().toString(), baker.getId().toString()), studentIds(cohort));
+        assertFalse(scenarioIds(cohort).contains(outsiderOnly.getId().toString()));
+        assertTrue(scenarioIds(cohort).contains(started.getId().toString()));
+
+        JsonNode everyone = matrix(null);
+        assertTrue(studentIds(everyone).containsAll(List.of(
+                adams.getId().toString(), baker.getId().toString(), outsider.getId().toString())));
+        assertTrue(scenarioIds(everyone).contains(outsiderOnly.getId().toString()));
+    }
+
+    private Student assigned(String lastName, UUID instructor) {
+        Student student = newStudent();
+        student.setLastName(lastName);
+        student.setAssignedInstructorId(instructor);
+        return studentRepository.save(student);
+    }
+
+    private JsonNode matrix(UUID instructor) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cohortProgressService.writeMatrix(instructor, out);
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    private static List<String> studentIds(JsonNode matrix) {
+        List<String> ids = new ArrayList<>();
+        matrix.get("students").forEach(student -> ids.add(student.get("id").asText()));
+        return ids;
+    }
+
+    private static List<String> scenarioIds(JsonNode matrix) {
+        List<String> ids = new ArrayList<>();
+        matrix.get("scenarios").forEach(scenario -> ids.add(scenario.get("id").asText()));
+        return ids;
+    }
+}
@@ -0,0 +1,64 @@
+package com.vroom.application;
+
+import com.vroom.learning.service.ConflictRetry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictRetryTests extends IntegrationTestSupport {
+
+    @Autowired
+    ConflictRetry conflictRetry;
+
+    @Value("${progress.conflict.max-attempts:5}")
+    int maxAttempts;
+
+    @Test
+    void optimisticLockFailure_isRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = conflictRetry.inTransaction(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("Row was updated by another transaction");
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void racedUniqueKey_isRetriedUntilTheLimit() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> conflictRetry.inTransaction(() -> {
+            attempts.incrementAndGet();
+            throw violation("Unique index or primary key violation: \"PUBLIC.UK_STUDENT_SCENARIO_INDEX_3\"");
+        }));
+        assertEquals(maxAttempts, attempts.get());
+    }
+
+    @Test
+    void otherIntegrityViolation_isRethrownWithoutRetry() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(DataIntegrityViolationException.class, () -> conflictRetry.inTransaction(() -> {
+            attempts.incrementAndGet();
+            throw violation("NULL not allowed for column \"SCENARIO_ID\"");
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    private static DataIntegrityViolationException violation(String message) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException(message));
+    }
+}
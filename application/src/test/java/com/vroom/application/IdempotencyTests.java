@@ -0,0 +1,78 @@
+package com.vroom.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.vroom.learning.service.IdempotencyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyTests extends IntegrationTestSupport {
+
+    @Autowired
+    IdempotencyService idempotencyService;
+
+    UUID studentId;
+    String key;
+    AtomicInteger runs;
+
+    @BeforeEach
+    void newKey() {
+        studentId = newStudent().getId();
+        key = UUID.randomUUID().toString();
+        runs = new AtomicInteger();
+    }
+
+    @Test
+    void replayedKey_returnsTheOriginalResponseWithoutRunningAgain() {
+        assertEquals("response 1", execute("answer", "body"));
+        assertEquals("response 1", execute("answer", "body"));
+
+        forgetCompletedKeys();
+
+        assertEquals("response 1", execute("answer", "body"));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void replayedKeyWithADifferentBody_isAConflict() {
+        execute("answer", "body");
+
+        assertThrows(IllegalStateException.class, () -> execute("answer", "other body"));
+        assertThrows(IllegalStateException.class, () -> execute("complete", "body"));
+
+        forgetCompletedKeys();
+
+        assertThrows(IllegalStateException.class, () -> execute("answer", "other body"));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void failedRequest_releasesItsKey() {
+        assertThrows(IllegalArgumentException.class, () -> idempotencyService.execute(
+                studentId, key, "answer", "body", String.class, () -> {
+                    throw new IllegalArgumentException("invalid answer");
+                }));
+
+        assertEquals("response 1", execute("answer", "other body"));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM idempotency_keys WHERE student_id = ?", Integer.class, studentId));
+    }
+
+    private String execute(String operation, String request) {
+        return idempotencyService.execute(studentId, key, operation, request, String.class,
+                () -> "response " + runs.incrementAndGet());
+    }
+
+    /**
+     * Drop the in-memory replays so the next request has to read the stored key
+     */
+    private void forgetCompletedKeys() {
+        ((Cache<?, ?>) ReflectionTestUtils.getField(idempotencyService, "completed")).invalidateAll();
+    }
+}
@@ -0,0 +1,87 @@
+package com.vroom.application;
+
+import com.vroom.content.model.entity.Answer;
+import com.vroom.content.model.entity.Question;
+import com.vroom.content.model.entity.Scenario;
+import com.vroom.content.model.enums.Difficulty;
+import com.vroom.content.model.enums.QuestionType;
+import com.vroom.content.model.enums.Theme;
+import com.vroom.content.repository.QuestionRepository;
+import com.vroom.content.repository.ScenarioRepository;
+import com.vroom.media.service.storage.VideoStorageService;
+import com.vroom.notification.service.EmailService;
+import com.vroom.security.model.entity.Student;
+import com.vroom.security.model.enums.Role;
+import com.vroom.security.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+/**
+ * Shared context and fixtures of the integration tests, every subclass runs on the same cached context
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+abstract class IntegrationTestSupport {
+
+    @MockBean
+    EmailService emailService;
+
+    @MockBean
+    VideoStorageService videoStorageService;
+
+    @Autowired
+    StudentRepository studentRepository;
+
+    @Autowired
+    ScenarioRepository scenarioRepository;
+
+    @Autowired
+    QuestionRepository questionRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Student newStudent() {
+        Student student = new Student();
+        student.setFirstName("Sam");
+        student.setLastName("Driver");
+        student.setEmail("sam." + UUID.randomUUID() + "@vroom.test");
+        student.setPassword("secret");
+        student.setRole(Role.STUDENT);
+        return studentRepository.save(student);
+    }
+
+    Scenario newScenario(String title) {
+        return scenarioRepository.save(Scenario.builder()
+                .title(title)
+                .description("Scenario used by the integration tests")
+                .difficulty(Difficulty.BEGINNER)
+                .theme(Theme.URBAN_DRIVING)
+                .createdBy(UUID.randomUUID())
+                .build());
+    }
+
+    /**
+     * Save a question whose first answer is the correct one
+     */
+    Question newQuestion(UUID scenarioId, int points) {
+        Question question = Question.builder()
+                .scenarioId(scenarioId)
+                .type(QuestionType.MULTIPLE_CHOICE)
+                .questionText("Who has priority on the roundabout?")
+                .points(points)
+                .build();
+        question.addAnswer(Answer.builder().answerText("Traffic on it").isCorrect(true).orderIndex(0).build());
+        question.addAnswer(Answer.builder().answerText("Traffic entering").isCorrect(false).orderIndex(1).build());
+        return questionRepository.save(question);
+    }
+
+    static UUID correctAnswerId(Question question) {
+        return question.getAnswers().get(0).getId();
+    }
+}
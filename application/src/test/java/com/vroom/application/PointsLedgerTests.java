@@ -0,0 +1,134 @@
+package com.vroom.application;
+
+import com.vroom.learning.model.enums.PointsSource;
+import com.vroom.learning.service.PointsLedgerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointsLedgerTests extends IntegrationTestSupport {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    PointsLedgerService pointsLedgerService;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    UUID studentId;
+
+    @BeforeEach
+    void newStudentWithoutLedger() {
+        studentId = newStudent().getId();
+    }
+
+    @Test
+    void firstEntry_writesTheOpeningBalance() {
+        setTotalPoints(50);
+
+        assertEquals(60, pointsLedgerService.record(studentId, PointsSource.SCENARIO_COMPLETION, UUID.randomUUID(), 10));
+        assertEquals(70, pointsLedgerService.record(studentId, PointsSource.SCENARIO_COMPLETION, UUID.randomUUID(), 10));
+
+        assertEquals(50, openingBalance());
+        assertEquals(70, ledgerTotal());
+    }
+
+    @Test
+    void concurrentFirstEntries_writeOneOpeningBalance() throws Exception {
+        setTotalPoints(50);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return pointsLedgerService.record(studentId, PointsSource.SCENARIO_COMPLETION, UUID.randomUUID(), 10);
+            }));
+        }
+        start.countDown();
+        for (Future<Integer> result : results) {
+            result.get(1, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM points_ledger WHERE student_id = ? AND source = 'OPENING_BALANCE'",
+                Integer.class, studentId));
+        assertEquals(50, openingBalance());
+        assertEquals(50 + THREADS * 10, totalPoints());
+        assertEquals(totalPoints(), ledgerTotal());
+    }
+
+    @Test
+    void reconcile_correctsDriftAndKeepsEntriesCommittedMeanwhile() throws Exception {
+        pointsLedgerService.record(studentId, PointsSource.SCENARIO_COMPLETION, UUID.randomUUID(), 30);
+        jdbcTemplate.update("UPDATE students SET total_points = total_points + 7 WHERE id = ?", studentId);
+
+        // Hold an uncommitted entry so reconcile reads the drift before it commits and has to wait on the row
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Future<?> entry = pool.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            pointsLedgerService.record(studentId, PointsSource.SCENARIO_COMPLETION, UUID.randomUUID(), 10);
+            recorded.countDown();
+            try {
+                commit.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(recorded.await(1, TimeUnit.MINUTES));
+
+        Future<?> reconcile = pool.submit(pointsLedgerService::reconcile);
+        Thread.sleep(500);
+        commit.countDown();
+        entry.get(1, TimeUnit.MINUTES);
+        reconcile.get(1, TimeUnit.MINUTES);
+        pool.shutdown();
+
+        assertEquals(40, ledgerTotal());
+        assertEquals(40, totalPoints());
+    }
+
+    @Test
+    void reconcile_leavesStudentsWithoutLedgerAlone() {
+        setTotalPoints(25);
+
+        pointsLedgerService.reconcile();
+
+        assertEquals(25, totalPoints());
+    }
+
+    private void setTotalPoints(int points) {
+        jdbcTemplate.update("UPDATE students SET total_points = ? WHERE id = ?", points, studentId);
+    }
+
+    private int totalPoints() {
+        return jdbcTemplate.queryForObject("SELECT total_points FROM students WHERE id = ?", Integer.class, studentId);
+    }
+
+    private int ledgerTotal() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(delta), 0) FROM points_ledger WHERE student_id = ?", Integer.class, studentId);
+    }
+
+    private int openingBalance() {
+        return jdbcTemplate.queryForObject(
+                "SELECT delta FROM points_ledger WHERE student_id = ? AND source = 'OPENING_BALANCE'",
+                Integer.class, studentId);
+    }
+}
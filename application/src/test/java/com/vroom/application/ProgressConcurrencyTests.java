@@ -0,0 +1,93 @@
+package com.vroom.application;
+
+import com.vroom.content.model.entity.Question;
+import com.vroom.learning.dto.SubmitAnswerRequest;
+import com.vroom.learning.model.entity.StudentScenario;
+import com.vroom.learning.repository.StudentScenarioRepository;
+import com.vroom.learning.service.ProgressService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgressConcurrencyTests extends IntegrationTestSupport {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    ProgressService progressService;
+
+    @Autowired
+    StudentScenarioRepository studentScenarioRepository;
+
+    @Test
+    void concurrentAttemptsOnOneScenario_loseNoUpdates() throws Exception {
+        UUID studentId = newStudent().getId();
+        UUID scenarioId = newScenario("Busy roundabout").getId();
+        Question question = newQuestion(scenarioId, 10);
+        UUID questionId = question.getId();
+        UUID correctAnswerId = correctAnswerId(question);
+
+        AtomicInteger givenUp = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                int completed = 0;
+                for (int round = 0; round < ROUNDS; round++) {
+                    try {
+                        progressService.startScenario(studentId, scenarioId);
+                        progressService.submitAnswer(studentId, SubmitAnswerRequest.builder()
+                                .scenarioId(scenarioId)
+                                .questionId(questionId)
+                                .selectedAnswerIds(Set.of(correctAnswerId))
+                                .build());
+                        progressService.completeScenario(studentId, scenarioId);
+                        completed++;
+                    } catch (IllegalStateException e) {
+                        // ConflictRetry gives up with the last conflict as the cause; without a cause another
+                        // thread completed the attempt first, which is expected
+                        if (e.getCause() != null) {
+                            givenUp.incrementAndGet();
+                        }
+                    }
+                }
+                return completed;
+            }));
+        }
+        start.countDown();
+
+        int completions = 0;
+        for (Future<Integer> result : results) {
+            completions += result.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        StudentScenario progress = studentScenarioRepository.findByStudentIdAndScenarioId(studentId, scenarioId).orElseThrow();
+        Integer ledgerPoints = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(delta), 0) FROM points_ledger WHERE student_id = ?", Integer.class, studentId);
+        Integer studentPoints = jdbcTemplate.queryForObject(
+                "SELECT total_points FROM students WHERE id = ?", Integer.class, studentId);
+
+        assertEquals(0, givenUp.get(), "requests that exhausted their conflict retries");
+        assertTrue(completions > 0);
+        assertEquals(completions, progress.getAttemptCount());
+        assertEquals(progress.getTotalPointsEarned(), ledgerPoints);
+        assertEquals(progress.getTotalPointsEarned(), studentPoints);
+        assertEquals(100.0, progress.getHighestScore());
+    }
+}
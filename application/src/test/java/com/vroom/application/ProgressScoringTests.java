@@ -0,0 +1,109 @@
+package com.vroom.application;
+
+import com.vroom.content.dto.CreateAnswerRequest;
+import com.vroom.content.dto.CreateQuestionRequest;
+import com.vroom.content.model.entity.Question;
+import com.vroom.content.service.QuestionService;
+import com.vroom.content.service.ScenarioService;
+import com.vroom.learning.dto.SubmitAnswerBatchRequest;
+import com.vroom.learning.dto.SubmitAnswerRequest;
+import com.vroom.learning.service.ProgressService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgressScoringTests extends IntegrationTestSupport {
+
+    @Autowired
+    ProgressService progressService;
+
+    @Autowired
+    ScenarioService scenarioService;
+
+    @Autowired
+    QuestionService questionService;
+
+    @Test
+    void answerToAnotherScenariosQuestion_isRejectedAndNotScored() {
+        UUID studentId = newStudent().getId();
+        UUID scenarioId = newScenario("Busy roundabout").getId();
+        UUID otherScenarioId = newScenario("Motorway merge").getId();
+        Question own = newQuestion(scenarioId, 10);
+        Question foreign = newQuestion(otherScenarioId, 50);
+
+        progressService.startScenario(studentId, scenarioId);
+        progressService.submitAnswer(studentId, answer(scenarioId, own, null));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> progressService.submitAnswer(studentId, answer(scenarioId, foreign, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> progressService.submitAnswers(studentId, SubmitAnswerBatchRequest.builder()
+                        .answers(List.of(answer(scenarioId, foreign, UUID.randomUUID())))
+                        .build()));
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM student_answers WHERE student_id = ? AND question_id = ?",
+                Integer.class, studentId, foreign.getId()));
+        assertEquals(100.0, progressService.completeScenario(studentId, scenarioId).getLatestScore());
+    }
+
+    @Test
+    void storedAnswerToAnotherScenariosQuestion_isLeftOutOfTheScore() {
+        UUID studentId = newStudent().getId();
+        UUID scenarioId = newScenario("Busy roundabout").getId();
+        Question own = newQuestion(scenarioId, 10);
+        newQuestion(scenarioId, 10);
+        Question foreign = newQuestion(newScenario("Motorway merge").getId(), 50);
+
+        progressService.startScenario(studentId, scenarioId);
+        progressService.submitAnswer(studentId, answer(scenarioId, own, null));
+        UUID studentScenarioId = jdbcTemplate.queryForObject(
+                "SELECT id FROM student_scenarios WHERE student_id = ? AND scenario_id = ?",
+                UUID.class, studentId, scenarioId);
+        jdbcTemplate.update("""
+                INSERT INTO student_answers (id, student_id, question_id, scenario_id, student_scenario_id, is_correct,
+                    points_earned, hint_used, attempt_number, answered_at)
+                VALUES (?, ?, ?, ?, ?, TRUE, 50, FALSE, 1, CURRENT_TIMESTAMP)
+                """, UUID.randomUUID(), studentId, foreign.getId(), scenarioId, studentScenarioId);
+
+        assertEquals(50.0, progressService.completeScenario(studentId, scenarioId).getLatestScore());
+    }
+
+    @Test
+    void attempt_isGradedAgainstTheSnapshotItStartedOn() {
+        UUID studentId = newStudent().getId();
+        UUID scenarioId = newScenario("Busy roundabout").getId();
+        Question question = newQuestion(scenarioId, 10);
+        scenarioService.publishScenario(scenarioId, UUID.randomUUID());
+        progressService.startScenario(studentId, scenarioId);
+
+        // Edited after the attempt started: the other answer is now correct and the question is worth more
+        questionService.updateQuestion(scenarioId, question.getId(), CreateQuestionRequest.builder()
+                .type(question.getType())
+                .questionText(question.getQuestionText())
+                .points(40)
+                .answers(List.of(
+                        CreateAnswerRequest.builder().id(correctAnswerId(question)).answerText("Traffic on it")
+                                .isCorrect(false).orderIndex(0).build(),
+                        CreateAnswerRequest.builder().id(question.getAnswers().get(1).getId()).answerText("Traffic entering")
+                                .isCorrect(true).orderIndex(1).build()))
+                .build());
+
+        assertTrue(progressService.submitAnswer(studentId, answer(scenarioId, question, null)).getCorrect());
+        assertEquals(100.0, progressService.completeScenario(studentId, scenarioId).getLatestScore());
+    }
+
+    private static SubmitAnswerRequest answer(UUID scenarioId, Question question, UUID clientAnswerId) {
+        return SubmitAnswerRequest.builder()
+                .scenarioId(scenarioId)
+                .questionId(question.getId())
+                .selectedAnswerIds(Set.of(correctAnswerId(question)))
+                .clientAnswerId(clientAnswerId)
+                .build();
+    }
+}
@@ -0,0 +1,186 @@
+package com.vroom.application;
+
+import com.vroom.content.dto.ScenarioDeletionDTO;
+import com.vroom.content.model.entity.Badge;
+import com.vroom.content.model.entity.InteractionPoint;
+import com.vroom.content.model.entity.Question;
+import com.vroom.content.model.entity.Scenario;
+import com.vroom.content.model.entity.StudentBadge;
+import com.vroom.content.model.enums.BadgeType;
+import com.vroom.content.model.enums.DeletionStatus;
+import com.vroom.content.repository.BadgeRepository;
+import com.vroom.content.repository.InteractionPointRepository;
+import com.vroom.content.repository.StudentBadgeRepository;
+import com.vroom.content.service.ScenarioDeletionService;
+import com.vroom.content.service.ScenarioService;
+import com.vroom.learning.dto.SubmitAnswerRequest;
+import com.vroom.learning.service.ProgressService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioDeletionTests extends IntegrationTestSupport {
+
+    @Autowired
+    ScenarioService scenarioService;
+
+    @Autowired
+    ScenarioDeletionService scenarioDeletionService;
+
+    @Autowired
+    ProgressService progressService;
+
+    @Autowired
+    InteractionPointRepository interactionPointRepository;
+
+    @Autowired
+    BadgeRepository badgeRepository;
+
+    @Autowired
+    StudentBadgeRepository studentBadgeRepository;
+
+    UUID studentId;
+    UUID scenarioId;
+    UUID keptScenarioId;
+    UUID badgeId;
+    UUID studentBadgeId;
+
+    @BeforeEach
+    void scenarioWithHistory() {
+        studentId = newStudent().getId();
+        scenarioId = newScenario("Level crossing").getId();
+
+        // Another scenario requiring the deleted one, it has to survive without the prerequisite
+        Scenario kept = newScenario("Level crossing at night");
+        kept.addPrerequisite(scenarioId);
+        keptScenarioId = scenarioRepository.save(kept).getId();
+        Question keptQuestion = newQuestion(keptScenarioId, 10);
+
+        progressService.startScenario(studentId, scenarioId);
+        for (int i = 0; i < 2; i++) {
+            Question question = newQuestion(scenarioId, 10);
+            interactionPointRepository.save(InteractionPoint.builder()
+                    .scenarioId(scenarioId)
+                    .questionId(question.getId())
+                    .timestampSeconds(30 * (i + 1))
+                    .orderIndex(i)
+                    .build());
+            progressService.submitAnswer(studentId, SubmitAnswerRequest.builder()
+                    .scenarioId(scenarioId)
+                    .questionId(question.getId())
+                    .selectedAnswerIds(Set.of(correctAnswerId(question)))
+                    .build());
+        }
+        progressService.completeScenario(studentId, scenarioId);
+        progressService.startScenario(studentId, keptScenarioId);
+        progressService.submitAnswer(studentId, SubmitAnswerRequest.builder()
+                .scenarioId(keptScenarioId)
+                .questionId(keptQuestion.getId())
+                .selectedAnswerIds(Set.of(correctAnswerId(keptQuestion)))
+                .build());
+
+        badgeId = badgeRepository.save(Badge.builder()
+                .name("Level crossing expert " + UUID.randomUUID())
+                .description("Badge tied to the deleted scenario")
+                .type(BadgeType.SKILL_MASTERY)
+                .active(false)
+                .relatedScenarioId(scenarioId)
+                .build()).getId();
+        studentBadgeId = studentBadgeRepository.save(StudentBadge.builder()
+                .studentId(studentId)
+                .badgeId(badgeId)
+                .earnedAt(LocalDateTime.now())
+                .earnedInScenarioId(scenarioId)
+                .build()).getId();
+    }
+
+    @Test
+    void deleteScenario_removesItsDataAndKeepsEarnedBadges() {
+        ScenarioDeletionDTO deletion = scenarioService.deleteScenario(scenarioId);
+
+        assertFalse(deletion.getAsync());
+        assertEquals(DeletionStatus.COMPLETED, deletion.getStatus());
+        assertTrue(deletion.getDeletedRows() >= deletion.getEstimatedRows());
+        assertDeletedWithoutOrphans();
+    }
+
+    @Test
+    void deleteScenarioAboveTheThreshold_runsAsABackgroundJob() throws Exception {
+        Object service = AopTestUtils.getUltimateTargetObject(scenarioDeletionService);
+        Object threshold = ReflectionTestUtils.getField(service, "asyncThreshold");
+        ReflectionTestUtils.setField(service, "asyncThreshold", 0L);
+        ScenarioDeletionDTO deletion;
+        try {
+            deletion = scenarioService.deleteScenario(scenarioId);
+        } finally {
+            ReflectionTestUtils.setField(service, "asyncThreshold", threshold);
+        }
+        assertTrue(deletion.getAsync());
+
+        ScenarioDeletionDTO status = scenarioDeletionService.getDeletionStatus(deletion.getJobId());
+        for (int i = 0; i < 300 && status.getFinishedAt() == null; i++) {
+            Thread.sleep(100);
+            status = scenarioDeletionService.getDeletionStatus(deletion.getJobId());
+        }
+
+        assertEquals(DeletionStatus.COMPLETED, status.getStatus(), status.getError());
+        assertNull(status.getCurrentStep());
+        assertDeletedWithoutOrphans();
+    }
+
+    private void assertDeletedWithoutOrphans() {
+        assertFalse(scenarioRepository.existsById(scenarioId));
+
+        // Every column holding a scenario id, whichever module owns its table
+        List<Map<String, Object>> references = jdbcTemplate.queryForList("""
+                SELECT table_name, column_name FROM information_schema.columns
+                WHERE table_schema = 'PUBLIC' AND data_type = 'UUID'
+                    AND column_name IN ('SCENARIO_ID', 'PREREQUISITE_ID', 'RELATED_SCENARIO_ID', 'EARNED_IN_SCENARIO_ID')
+                """);
+        assertTrue(references.size() >= 8, "scenario references found: " + references);
+        for (Map<String, Object> reference : references) {
+            String table = (String) reference.get("TABLE_NAME");
+            String column = (String) reference.get("COLUMN_NAME");
+            assertEquals(0, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?", Integer.class, scenarioId),
+                    table + "." + column);
+        }
+
+        assertEquals(0, count("""
+                SELECT COUNT(*) FROM answers a WHERE NOT EXISTS (SELECT 1 FROM questions q WHERE q.id = a.question_id)
+                """));
+        assertEquals(0, count("""
+                SELECT COUNT(*) FROM student_answer_selections sel
+                WHERE NOT EXISTS (SELECT 1 FROM student_answers sa WHERE sa.id = sel.student_answer_id)
+                """));
+
+        // Earned badges stay with the student, only their scenario reference is cleared
+        Badge badge = badgeRepository.findById(badgeId).orElseThrow();
+        assertNull(badge.getRelatedScenarioId());
+        StudentBadge studentBadge = studentBadgeRepository.findById(studentBadgeId).orElseThrow();
+        assertNull(studentBadge.getEarnedInScenarioId());
+
+        // The student's summary still counts the deleted progress until it is refreshed
+        assertTrue(jdbcTemplate.queryForObject(
+                "SELECT stale FROM student_progress_summary WHERE student_id = ?", Boolean.class, studentId));
+
+        // The rest of the student's history is untouched
+        assertTrue(scenarioRepository.existsById(keptScenarioId));
+        assertEquals(1, count("SELECT COUNT(*) FROM student_answers WHERE scenario_id = ?", keptScenarioId));
+        assertEquals(1, count("SELECT COUNT(*) FROM student_scenarios WHERE scenario_id = ?", keptScenarioId));
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+}
@@ -0,0 +1,124 @@
+package com.vroom.application;
+
+import com.vroom.content.model.entity.Question;
+import com.vroom.learning.dto.SubmitAnswerRequest;
+import com.vroom.learning.service.ProgressService;
+import com.vroom.learning.service.ScenarioStatisticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioStatisticsTests extends IntegrationTestSupport {
+
+    private static final double DELTA = 1e-9;
+
+    @Autowired
+    ProgressService progressService;
+
+    @Autowired
+    ScenarioStatisticsService statisticsService;
+
+    UUID scenarioId;
+    Question first;
+    Question second;
+
+    @BeforeEach
+    void setUp() {
+        statisticsService.flush();
+        scenarioId = newScenario("Motorway merge").getId();
+        first = newQuestion(scenarioId, 10);
+        second = newQuestion(scenarioId, 10);
+    }
+
+    @Test
+    void flush_writesNothingUntilItRuns() {
+        attempt(newStudent().getId(), true, true, 30);
+
+        assertEquals(0, scenarioRow().get("completion_count"));
+        assertEquals(0, questionRow(first).get("attempt_count"));
+
+        statisticsService.flush();
+
+        assertEquals(1, scenarioRow().get("completion_count"));
+        assertEquals(100.0, (Double) scenarioRow().get("average_score"), DELTA);
+        assertEquals(1, questionRow(first).get("attempt_count"));
+        assertEquals(1, questionRow(first).get("correct_count"));
+    }
+
+    @Test
+    void flush_mergesDeltasIntoStoredStatistics() {
+        attempt(newStudent().getId(), true, true, 30);
+        statisticsService.flush();
+        attempt(newStudent().getId(), true, false, 60);
+        attempt(newStudent().getId(), false, false, 90);
+        statisticsService.flush();
+
+        // Scores 100, 50 and 0 over two flushes, completion times of 1, 2 and 3 minutes
+        Map<String, Object> scenario = scenarioRow();
+        assertEquals(3, scenario.get("completion_count"));
+        assertEquals(50.0, (Double) scenario.get("average_score"), DELTA);
+        assertEquals(5000.0, (Double) scenario.get("score_m2"), DELTA);
+        assertEquals(2.0, (Double) scenario.get("average_completion_time"), DELTA);
+        assertEquals(3, scenario.get("timed_completion_count"));
+
+        assertEquals(3, questionRow(first).get("attempt_count"));
+        assertEquals(2, questionRow(first).get("correct_count"));
+        assertEquals(3, questionRow(second).get("attempt_count"));
+        assertEquals(1, questionRow(second).get("correct_count"));
+    }
+
+    @Test
+    void backfill_matchesTheIncrementalStatistics() {
+        UUID retrying = newStudent().getId();
+        attempt(retrying, true, true, 30);
+        attempt(newStudent().getId(), true, false, 60);
+        // A retry counts its score but not its time, only the first attempt is timed
+        attempt(retrying, false, false, 300);
+        statisticsService.flush();
+        Map<String, Object> incremental = scenarioRow();
+        Map<String, Object> firstQuestion = questionRow(first);
+
+        statisticsService.backfill();
+
+        Map<String, Object> backfilled = scenarioRow();
+        assertEquals(3, backfilled.get("completion_count"));
+        assertEquals(incremental.get("completion_count"), backfilled.get("completion_count"));
+        assertEquals((Double) incremental.get("average_score"), (Double) backfilled.get("average_score"), DELTA);
+        assertEquals(1.5, (Double) backfilled.get("average_completion_time"), DELTA);
+        assertEquals((Double) incremental.get("average_completion_time"), (Double) backfilled.get("average_completion_time"), DELTA);
+        assertEquals(incremental.get("timed_completion_count"), backfilled.get("timed_completion_count"));
+        assertEquals(firstQuestion, questionRow(first));
+    }
+
+    private void attempt(UUID studentId, boolean firstCorrect, boolean secondCorrect, int secondsPerQuestion) {
+        progressService.startScenario(studentId, scenarioId);
+        answer(studentId, first, firstCorrect, secondsPerQuestion);
+        answer(studentId, second, secondCorrect, secondsPerQuestion);
+        progressService.completeScenario(studentId, scenarioId);
+    }
+
+    private void answer(UUID studentId, Question question, boolean correct, int seconds) {
+        UUID selected = correct ? correctAnswerId(question) : question.getAnswers().get(1).getId();
+        progressService.submitAnswer(studentId, SubmitAnswerRequest.builder()
+                .scenarioId(scenarioId)
+                .questionId(question.getId())
+                .selectedAnswerIds(Set.of(selected))
+                .timeTakenSeconds(seconds)
+                .build());
+    }
+
+    private Map<String, Object> scenarioRow() {
+        return jdbcTemplate.queryForMap("SELECT completion_count, average_score, score_m2, average_completion_time, "
+                + "timed_completion_count FROM scenarios WHERE id = ?", scenarioId);
+    }
+
+    private Map<String, Object> questionRow(Question question) {
+        return jdbcTemplate.queryForMap("SELECT attempt_count, correct_count FROM questions WHERE id = ?", question.getId());
+    }
+}
@@ -0,0 +1,241 @@
+package com.vroom.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vroom.content.dto.ImportReportDTO;
+import com.vroom.content.dto.TransferRecordDTO;
+import com.vroom.content.model.entity.Scenario;
+import com.vroom.content.repository.InteractionPointRepository;
+import com.vroom.content.service.ScenarioTransferService;
+import com.vroom.security.model.entity.User;
+import com.vroom.security.model.enums.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ScenarioTransferTests extends IntegrationTestSupport {
+
+    @Autowired
+    ScenarioTransferService scenarioTransferService;
+
+    @Autowired
+    InteractionPointRepository interactionPointRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    WebApplicationContext webApplicationContext;
+
+    String prefix;
+    String bundle;
+    MockMvc mockMvc;
+    User admin;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+        admin = new User();
+        admin.setId(UUID.randomUUID());
+        admin.setEmail("admin." + UUID.randomUUID() + "@vroom.test");
+        admin.setRole(Role.ADMIN);
+        prefix = "it-" + UUID.randomUUID() + "-";
+        bundle = String.join("\n",
+                """
+                {"type":"SCENARIO","key":"%1$sbasics","data":{"title":"Roundabout basics","description":"Entering a quiet roundabout","difficulty":"BEGINNER","theme":"URBAN_DRIVING","tags":["roundabout"]}}""",
+                """
+                {"type":"SCENARIO","key":"%1$sbusy","prerequisiteKeys":["%1$sbasics"],"data":{"title":"Busy roundabout","description":"Entering a busy roundabout","difficulty":"INTERMEDIATE","theme":"URBAN_DRIVING","passingScore":80}}""",
+                """
+                {"type":"QUESTION","key":"%1$spriority","scenarioKey":"%1$sbusy","data":{"type":"MULTIPLE_CHOICE","questionText":"Who has priority on the roundabout?","points":20,"answers":[{"answerText":"Traffic on it","isCorrect":true},{"answerText":"Traffic entering","isCorrect":false}]}}""",
+                """
+                {"type":"INTERACTION_POINT","key":"%1$sentry","scenarioKey":"%1$sbusy","questionKey":"%1$spriority","data":{"timestampSeconds":42,"title":"Entry"}}""")
+                .formatted(prefix) + "\n";
+    }
+
+    @Test
+    void importedBundle_isExportedWithTheSameKeysAndContent() throws Exception {
+        ImportReportDTO report = importBundle(bundle);
+        assertEquals(4, report.getCreated());
+        assertEquals(0, report.getFailed(), () -> report.getErrors().toString());
+
+        List<TransferRecordDTO> exported = exportedRecords();
+        assertEquals(4, exported.size());
+        assertEquals(List.of(prefix + "basics"), exported.stream()
+                .filter(record -> record.getKey().equals(prefix + "busy"))
+                .findFirst().orElseThrow().getPrerequisiteKeys());
+
+        TransferRecordDTO question = exported.stream()
+                .filter(record -> record.getType() == TransferRecordDTO.RecordType.QUESTION)
+                .findFirst().orElseThrow();
+        assertEquals(prefix + "busy", question.getScenarioKey());
+        assertTrue(question.getData().get("answers").get(0).get("isCorrect").asBoolean());
+
+        TransferRecordDTO point = exported.stream()
+                .filter(record -> record.getType() == TransferRecordDTO.RecordType.INTERACTION_POINT)
+                .findFirst().orElseThrow();
+        assertEquals(prefix + "priority", point.getQuestionKey());
+        assertEquals(42, point.getData().get("timestampSeconds").asInt());
+    }
+
+    @Test
+    void reimportingAnExport_updatesWithoutAddingRows() throws Exception {
+        importBundle(bundle);
+        Scenario busy = scenarioRepository.findByExternalKeyIn(Set.of(prefix + "busy")).get(0);
+        long questions = questionRepository.count();
+        long points = interactionPointRepository.count();
+
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        scenarioTransferService.exportNdjson(export);
+        ImportReportDTO report = importBundle(export.toString(StandardCharsets.UTF_8));
+
+        assertEquals(0, report.getCreated());
+        assertEquals(0, report.getFailed(), () -> report.getErrors().toString());
+        assertEquals(report.getTotalRecords(), report.getUpdated());
+        assertEquals(questions, questionRepository.count());
+        assertEquals(points, interactionPointRepository.count());
+        assertEquals(1, questionRepository.findByScenarioIdOrderByOrderIndexAsc(busy.getId()).size());
+        assertEquals(80, scenarioRepository.findById(busy.getId()).orElseThrow().getPassingScore());
+    }
+
+    @Test
+    void secondPointAtATimestamp_isRejectedAlone() {
+        importBundle(bundle);
+
+        ImportReportDTO report = importBundle("""
+                {"type":"INTERACTION_POINT","key":"%1$sclash","scenarioKey":"%1$sbusy","questionKey":"%1$spriority","data":{"timestampSeconds":42}}
+                {"type":"INTERACTION_POINT","key":"%1$sexit","scenarioKey":"%1$sbusy","questionKey":"%1$spriority","data":{"timestampSeconds":90}}
+                """.formatted(prefix));
+
+        assertEquals(1, report.getCreated());
+        assertEquals(1, report.getFailed());
+        assertEquals(prefix + "clash", report.getErrors().get(0).getKey());
+    }
+
+    @Test
+    void importChunk_runsNoQueryPerRecord() {
+        importBundle(bundle);
+        StringBuilder questions = new StringBuilder();
+        for (int i = 0; i < 60; i++) {
+            questions.append("""
+                    {"type":"QUESTION","key":"%1$sq%2$d","scenarioKey":"%1$sbusy","data":{"type":"MULTIPLE_CHOICE","questionText":"Question number %2$d of the bundle","answers":[{"answerText":"Yes","isCorrect":true}]}}
+                    """.formatted(prefix, i));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        ImportReportDTO report = importBundle(questions.toString());
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+
+        assertEquals(60, report.getCreated());
+        assertTrue(statements < 30, "prepared " + statements + " statements for 60 records");
+    }
+
+    @Test
+    void importAndExportOverHttp_roundTripTheBundle() throws Exception {
+        mockMvc.perform(post("/api/admin/scenarios/import")
+                        .with(user(admin))
+                        .contentType("application/x-ndjson")
+                        .content(bundle))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(4))
+                .andExpect(jsonPath("$.failed").value(0));
+
+        MvcResult export = mockMvc.perform(get("/api/admin/scenarios/export").with(user(admin)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String ndjson = mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        for (String key : List.of("basics", "busy", "priority", "entry")) {
+            assertTrue(ndjson.contains("\"key\":\"" + prefix + key + "\""), key);
+        }
+    }
+
+    @Test
+    void requestPersistenceContext_holdsNoEntitiesAfterImportAndExport() throws Exception {
+        // Bind one persistence context for the whole call, as open-in-view does for a request
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            ImportReportDTO report = importBundle(bundle);
+            assertEquals(4, report.getCreated());
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+
+            scenarioTransferService.exportNdjson(new ByteArrayOutputStream());
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    @Test
+    void overlongRecord_isRejectedAlone() {
+        importBundle(bundle);
+
+        ImportReportDTO report = importBundle("""
+                {"type":"INTERACTION_POINT","key":"%1$slong","scenarioKey":"%1$sbusy","questionKey":"%1$spriority","data":{"timestampSeconds":60,"description":"%2$s"}}
+                {"type":"INTERACTION_POINT","key":"%1$sexit","scenarioKey":"%1$sbusy","questionKey":"%1$spriority","data":{"timestampSeconds":90}}
+                """.formatted(prefix, "x".repeat(300 * 1024)));
+
+        assertEquals(2, report.getTotalRecords());
+        assertEquals(1, report.getCreated());
+        assertEquals(1, report.getFailed());
+        assertEquals(1, report.getErrors().get(0).getLine());
+        assertTrue(report.getErrors().get(0).getMessage().startsWith("Record is longer than"));
+    }
+
+    private ImportReportDTO importBundle(String ndjson) {
+        return scenarioTransferService.importNdjson(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), UUID.randomUUID());
+    }
+
+    private List<TransferRecordDTO> exportedRecords() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        scenarioTransferService.exportNdjson(out);
+        List<TransferRecordDTO> records = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                TransferRecordDTO record = objectMapper.readValue(line, TransferRecordDTO.class);
+                if (record.getKey().startsWith(prefix)) {
+                    records.add(record);
+                }
+            }
+        }
+        return records;
+    }
+}
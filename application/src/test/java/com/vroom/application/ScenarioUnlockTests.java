@@ -0,0 +1,85 @@
+package com.vroom.application;
+
+import com.vroom.content.model.entity.Question;
+import com.vroom.content.model.entity.Scenario;
+import com.vroom.content.service.PrerequisiteGraphService;
+import com.vroom.learning.dto.SubmitAnswerRequest;
+import com.vroom.learning.model.enums.CompletionStatus;
+import com.vroom.learning.service.ProgressService;
+import com.vroom.learning.service.ScenarioUnlockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioUnlockTests extends IntegrationTestSupport {
+
+    @Autowired
+    ProgressService progressService;
+
+    @Autowired
+    ScenarioUnlockService scenarioUnlockService;
+
+    @Autowired
+    PrerequisiteGraphService prerequisiteGraphService;
+
+    UUID studentId;
+    UUID basicsId;
+    UUID busyId;
+    Question basicsQuestion;
+
+    @BeforeEach
+    void setUp() {
+        studentId = newStudent().getId();
+        basicsId = newScenario("Roundabout basics").getId();
+        basicsQuestion = newQuestion(basicsId, 10);
+        Scenario busy = newScenario("Busy roundabout");
+        busy.addPrerequisite(basicsId);
+        busyId = scenarioRepository.save(busy).getId();
+        prerequisiteGraphService.invalidate();
+    }
+
+    @Test
+    void dependent_isLockedUntilThePrerequisiteIsPassed() {
+        assertFalse(scenarioUnlockService.isUnlocked(studentId, busyId));
+        assertThrows(IllegalStateException.class, () -> progressService.startScenario(studentId, busyId));
+
+        attemptBasics(true);
+
+        assertTrue(scenarioUnlockService.isUnlocked(studentId, busyId));
+    }
+
+    @Test
+    void restartingAPassedPrerequisite_keepsTheDependentUnlocked() {
+        attemptBasics(true);
+
+        assertEquals(CompletionStatus.IN_PROGRESS, progressService.startScenario(studentId, basicsId).getStatus());
+
+        assertTrue(scenarioUnlockService.isUnlocked(studentId, busyId));
+        assertEquals(CompletionStatus.IN_PROGRESS, progressService.startScenario(studentId, busyId).getStatus());
+    }
+
+    @Test
+    void failingAPassedPrerequisiteLater_keepsTheDependentUnlocked() {
+        attemptBasics(true);
+        attemptBasics(false);
+
+        assertTrue(scenarioUnlockService.isUnlocked(studentId, busyId));
+        assertTrue(scenarioUnlockService.getUnlockedScenarios(studentId).contains(busyId));
+    }
+
+    private void attemptBasics(boolean correct) {
+        progressService.startScenario(studentId, basicsId);
+        UUID selected = correct ? correctAnswerId(basicsQuestion) : basicsQuestion.getAnswers().get(1).getId();
+        progressService.submitAnswer(studentId, SubmitAnswerRequest.builder()
+                .scenarioId(basicsId)
+                .questionId(basicsQuestion.getId())
+                .selectedAnswerIds(Set.of(selected))
+                .build());
+        progressService.completeScenario(studentId, basicsId);
+    }
+}
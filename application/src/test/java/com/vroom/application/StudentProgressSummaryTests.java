@@ -0,0 +1,159 @@
+package com.vroom.application;
+
+import com.vroom.content.model.entity.Question;
+import com.vroom.content.model.entity.Scenario;
+import com.vroom.content.model.enums.Theme;
+import com.vroom.learning.dto.ProgressSummaryDTO;
+import com.vroom.learning.dto.SubmitAnswerRequest;
+import com.vroom.learning.dto.ThemeProgressDTO;
+import com.vroom.learning.service.ProgressService;
+import com.vroom.learning.service.StudentProgressSummaryService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// One instance for the class so the published theme catalog exists before any summary caches it
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StudentProgressSummaryTests extends IntegrationTestSupport {
+
+    @Autowired
+    ProgressService progressService;
+
+    @Autowired
+    StudentProgressSummaryService summaryService;
+
+    final List<Scenario> mountainScenarios = new ArrayList<>();
+    final List<Question> mountainQuestions = new ArrayList<>();
+
+    @BeforeAll
+    void publishMountainScenarios() {
+        for (int i = 0; i < 3; i++) {
+            Scenario scenario = newScenario("Mountain pass " + i);
+            scenario.setTheme(Theme.MOUNTAIN_DRIVING);
+            scenario.publish(UUID.randomUUID());
+            mountainScenarios.add(scenarioRepository.save(scenario));
+            mountainQuestions.add(newQuestion(scenario.getId(), 10));
+        }
+    }
+
+    @Test
+    void events_flagTheSummaryStaleUntilTheRefresh() {
+        UUID studentId = newStudent().getId();
+        summaryService.seedMissing();
+        assertTrue(isStale(studentId));
+
+        summaryService.refreshStale();
+        assertFalse(isStale(studentId));
+
+        progressService.startScenario(studentId, newScenario("Hill start").getId());
+        assertTrue(isStale(studentId));
+        assertEquals(0, summaryService.getSummary(studentId).getScenariosStarted());
+
+        summaryService.refreshStale();
+        assertFalse(isStale(studentId));
+        assertEquals(1, summaryService.getSummary(studentId).getScenariosInProgress());
+    }
+
+    @Test
+    void summaryRefreshedByAnotherNode_isFlaggedAgain() {
+        UUID studentId = newStudent().getId();
+        summaryService.markStale(List.of(studentId));
+        assertTrue(isStale(studentId));
+
+        // Another node refreshes the summary, this one never sees it
+        jdbcTemplate.update("UPDATE student_progress_summary SET stale = FALSE WHERE student_id = ?", studentId);
+
+        summaryService.markStale(List.of(studentId));
+        assertTrue(isStale(studentId));
+    }
+
+    @Test
+    void streak_countsConsecutiveActiveDays() {
+        UUID studentId = newStudent().getId();
+        LocalDate today = LocalDate.now();
+        answerOn(studentId, today.minusDays(7), today.minusDays(6), today.minusDays(5), today.minusDays(1), today);
+
+        summaryService.refreshStale();
+
+        ProgressSummaryDTO summary = summaryService.getSummary(studentId);
+        assertEquals(2, summary.getCurrentStreakDays());
+        assertEquals(3, summary.getLongestStreakDays());
+        assertEquals(today, summary.getLastActiveDate());
+    }
+
+    @Test
+    void streak_isNotCurrentAfterAMissedDay() {
+        UUID studentId = newStudent().getId();
+        LocalDate today = LocalDate.now();
+        answerOn(studentId, today.minusDays(3), today.minusDays(2));
+
+        summaryService.refreshStale();
+
+        ProgressSummaryDTO summary = summaryService.getSummary(studentId);
+        assertEquals(0, summary.getCurrentStreakDays());
+        assertEquals(2, summary.getLongestStreakDays());
+        assertEquals(today.minusDays(2), summary.getLastActiveDate());
+    }
+
+    @Test
+    void themes_reportPassedScenariosOutOfThePublishedOnes() {
+        UUID studentId = newStudent().getId();
+        complete(studentId, 0, true);
+        complete(studentId, 1, false);
+
+        summaryService.refreshStale();
+
+        ThemeProgressDTO mountain = summaryService.getSummary(studentId).getThemes().stream()
+                .filter(theme -> theme.getTheme() == Theme.MOUNTAIN_DRIVING)
+                .findFirst().orElseThrow();
+        assertEquals(2, mountain.getScenariosStarted());
+        assertEquals(1, mountain.getScenariosPassed());
+        assertEquals(3, mountain.getPublishedScenarios());
+        assertEquals(33, mountain.getCompletionPercentage());
+    }
+
+    /**
+     * Answer one mountain question per day, moving each answer to its day
+     */
+    private void answerOn(UUID studentId, LocalDate... days) {
+        Scenario scenario = mountainScenarios.get(0);
+        Question question = mountainQuestions.get(0);
+        progressService.startScenario(studentId, scenario.getId());
+        for (LocalDate day : days) {
+            progressService.submitAnswer(studentId, SubmitAnswerRequest.builder()
+                    .scenarioId(scenario.getId())
+                    .questionId(question.getId())
+                    .selectedAnswerIds(Set.of(correctAnswerId(question)))
+                    .build());
+            jdbcTemplate.update("UPDATE student_answers SET answered_at = ? WHERE student_id = ? AND answered_at > ?",
+                    Timestamp.valueOf(day.atTime(12, 0)), studentId, Timestamp.valueOf(LocalDate.now().atStartOfDay()));
+        }
+    }
+
+    private void complete(UUID studentId, int index, boolean correct) {
+        Scenario scenario = mountainScenarios.get(index);
+        Question question = mountainQuestions.get(index);
+        progressService.startScenario(studentId, scenario.getId());
+        progressService.submitAnswer(studentId, SubmitAnswerRequest.builder()
+                .scenarioId(scenario.getId())
+                .questionId(question.getId())
+                .selectedAnswerIds(Set.of(correct ? correctAnswerId(question) : question.getAnswers().get(1).getId()))
+                .build());
+        progressService.completeScenario(studentId, scenario.getId());
+    }
+
+    private boolean isStale(UUID studentId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT stale FROM student_progress_summary WHERE student_id = ?", Boolean.class, studentId);
+    }
+}
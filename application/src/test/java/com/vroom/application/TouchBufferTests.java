@@ -0,0 +1,81 @@
+package com.vroom.application;
+
+import com.vroom.shared.touch.TouchBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TouchBufferTests extends IntegrationTestSupport {
+
+    private static final LocalDateTime EARLIER = LocalDateTime.of(2024, 3, 1, 9, 0);
+    private static final LocalDateTime LATER = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    TouchBuffer touchBuffer;
+    UUID userId;
+
+    @BeforeEach
+    void newBuffer() {
+        touchBuffer = new TouchBuffer(jdbcTemplate, "users", "last_login_at");
+        userId = newStudent().getId();
+        jdbcTemplate.update("UPDATE users SET last_login_at = NULL WHERE id = ?", userId);
+    }
+
+    @Test
+    void touch_isWrittenOnlyByTheFlush() {
+        touchBuffer.touch(userId, EARLIER);
+
+        assertNull(stored());
+        assertEquals(EARLIER, touchBuffer.latest(userId, null));
+
+        touchBuffer.flush();
+
+        assertEquals(EARLIER, stored());
+    }
+
+    @Test
+    void olderTouch_neverMovesTheStoredTimestampBackwards() {
+        touchBuffer.touch(userId, EARLIER);
+        // A newer write lands between the touch and the flush
+        jdbcTemplate.update("UPDATE users SET last_login_at = ? WHERE id = ?", Timestamp.valueOf(LATER), userId);
+
+        assertEquals(LATER, touchBuffer.latest(userId, LATER));
+
+        touchBuffer.flush();
+
+        assertEquals(LATER, stored());
+    }
+
+    @Test
+    void olderPendingTouch_doesNotReplaceANewerOne() {
+        touchBuffer.touch(userId, LATER);
+        touchBuffer.touch(userId, EARLIER);
+
+        assertEquals(LATER, touchBuffer.latest(userId, null));
+
+        touchBuffer.flush();
+
+        assertEquals(LATER, stored());
+    }
+
+    @Test
+    void newerTouch_movesTheStoredTimestampForwards() {
+        jdbcTemplate.update("UPDATE users SET last_login_at = ? WHERE id = ?", Timestamp.valueOf(EARLIER), userId);
+        touchBuffer.touch(userId, LATER);
+
+        touchBuffer.flush();
+
+        assertEquals(LATER, stored());
+        assertEquals(LATER, touchBuffer.latest(userId, LATER));
+    }
+
+    private LocalDateTime stored() {
+        Timestamp stored = jdbcTemplate.queryForObject(
+                "SELECT last_login_at FROM users WHERE id = ?", Timestamp.class, userId);
+        return stored != null ? stored.toLocalDateTime() : null;
+    }
+}
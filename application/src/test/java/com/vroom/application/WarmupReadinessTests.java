@@ -0,0 +1,130 @@
+package com.vroom.application;
+
+import com.vroom.application.warmup.CacheWarmup;
+import com.vroom.application.warmup.WarmupHealthIndicator;
+import com.vroom.content.service.BadgeCatalogService;
+import com.vroom.content.service.BadgeService;
+import com.vroom.content.service.InteractionPointService;
+import com.vroom.content.service.PrerequisiteGraphService;
+import com.vroom.content.service.ResponseCache;
+import com.vroom.content.service.ScenarioLeaderboardService;
+import com.vroom.content.service.ScenarioService;
+import com.vroom.content.service.ScenarioSnapshotService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthEndpointGroup;
+import org.springframework.boot.actuate.health.HealthEndpointGroups;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.core.env.Environment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WarmupReadinessTests extends IntegrationTestSupport {
+
+    @Autowired
+    HealthEndpointGroups healthEndpointGroups;
+
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final ScenarioService scenarioService = mock(ScenarioService.class);
+    final Environment environment = mock(Environment.class);
+
+    @Test
+    void readinessGroup_staysOutOfServiceUntilWarmupCompletes() throws Exception {
+        HealthEndpointGroup readiness = healthEndpointGroups.get("readiness");
+        assertTrue(readiness.isMember("warmup"));
+
+        CacheWarmup warmup = warmup(60_000);
+        WarmupHealthIndicator indicator = new WarmupHealthIndicator(warmup);
+        warmup.onApplicationReady();
+
+        try {
+            assertTrue(started.await(30, TimeUnit.SECONDS));
+            assertFalse(warmup.isComplete());
+            assertEquals(Status.OUT_OF_SERVICE,
+                    readiness.getStatusAggregator().getAggregateStatus(Status.UP, indicator.health().getStatus()));
+        } finally {
+            release.countDown();
+        }
+
+        awaitComplete(warmup);
+        assertEquals(Status.UP, readiness.getStatusAggregator().getAggregateStatus(Status.UP, indicator.health().getStatus()));
+    }
+
+    @Test
+    void warmup_givesUpAtOneDeadlineForAllSteps(@TempDir Path dir) throws Exception {
+        // Accepts connections but never answers, so a replay given its own timeout would wait for all of it
+        try (ServerSocket silent = new ServerSocket(0)) {
+            Path replay = Files.writeString(dir.resolve("replay.txt"), "GET /api/scenarios\n");
+            when(environment.getProperty(eq("local.server.port"), any(String.class))).thenReturn(String.valueOf(silent.getLocalPort()));
+
+            AtomicLong now = new AtomicLong();
+            CacheWarmup warmup = warmup(TimeUnit.HOURS.toMillis(1));
+            ReflectionTestUtils.setField(warmup, "nanoTime", (LongSupplier) now::get);
+            ReflectionTestUtils.setField(warmup, "replayFile", replay.toString());
+
+            warmup.onApplicationReady();
+            assertTrue(started.await(30, TimeUnit.SECONDS));
+            // The cache steps use up the whole timeout, nothing is left for the replay
+            now.addAndGet(TimeUnit.HOURS.toNanos(1));
+            release.countDown();
+
+            awaitComplete(warmup);
+        }
+    }
+
+    /**
+     * Warm-up over mocked services whose published-scenarios step blocks until released
+     */
+    private CacheWarmup warmup(long timeoutMs) throws InterruptedException {
+        when(scenarioService.getAllPublishedScenarios()).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return List.of();
+        });
+        ScenarioLeaderboardService leaderboardService = mock(ScenarioLeaderboardService.class);
+        when(leaderboardService.getMostPopularScenarios(any(), any(), anyInt())).thenReturn(List.of());
+        ResponseCache responseCache = mock(ResponseCache.class);
+        when(responseCache.get(any(), any())).thenAnswer(invocation -> {
+            invocation.<Supplier<?>>getArgument(1).get();
+            return null;
+        });
+
+        CacheWarmup warmup = new CacheWarmup(scenarioService, leaderboardService, mock(ScenarioSnapshotService.class),
+                mock(InteractionPointService.class), mock(PrerequisiteGraphService.class), mock(BadgeCatalogService.class),
+                mock(BadgeService.class), responseCache, new SimpleMeterRegistry(), environment);
+        ReflectionTestUtils.setField(warmup, "enabled", true);
+        ReflectionTestUtils.setField(warmup, "topScenarios", 10);
+        ReflectionTestUtils.setField(warmup, "parallelism", 2);
+        ReflectionTestUtils.setField(warmup, "timeoutMs", timeoutMs);
+        ReflectionTestUtils.setField(warmup, "replayFile", "");
+        ReflectionTestUtils.setField(warmup, "replayAuthorization", "");
+        return warmup;
+    }
+
+    private static void awaitComplete(CacheWarmup warmup) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+        while (!warmup.isComplete() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(warmup.isComplete(), "Warm-up did not complete");
+    }
+}
@@ -0,0 +1,96 @@
+package com.vroom.application;
+
+import com.vroom.content.model.entity.Question;
+import com.vroom.learning.dto.HeartbeatRequest;
+import com.vroom.learning.dto.SubmitAnswerRequest;
+import com.vroom.learning.service.ProgressService;
+import com.vroom.learning.service.WatchTimeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WatchTimeTests extends IntegrationTestSupport {
+
+    @Autowired
+    WatchTimeService watchTimeService;
+
+    @Autowired
+    ProgressService progressService;
+
+    UUID studentId;
+    UUID scenarioId;
+
+    @BeforeEach
+    void startScenario() {
+        studentId = newStudent().getId();
+        scenarioId = newScenario("Busy roundabout").getId();
+        progressService.startScenario(studentId, scenarioId);
+    }
+
+    @Test
+    void heartbeats_areBufferedUntilTheFlush() {
+        watchTimeService.heartbeat(studentId, heartbeat(30, 30));
+        watchTimeService.heartbeat(studentId, heartbeat(20, 50));
+
+        assertEquals(0, timeSpent());
+
+        watchTimeService.flush();
+
+        assertEquals(50, timeSpent());
+        assertEquals(50, jdbcTemplate.queryForObject(
+                "SELECT last_position_seconds FROM student_scenarios WHERE student_id = ? AND scenario_id = ?",
+                Integer.class, studentId, scenarioId));
+    }
+
+    @Test
+    void heartbeatDelta_isCappedAtTheMaximum() {
+        watchTimeService.heartbeat(studentId, heartbeat(3600, null));
+        watchTimeService.flush();
+
+        assertEquals(HeartbeatRequest.MAX_DELTA_SECONDS, timeSpent());
+    }
+
+    @Test
+    void pendingHeartbeats_areWrittenOnShutdown() {
+        watchTimeService.heartbeat(studentId, heartbeat(15, 15));
+        watchTimeService.flushOnShutdown();
+
+        assertEquals(15, timeSpent());
+    }
+
+    @Test
+    void completingAnAttempt_doesNotAddItsAnswerTimeToWatchTime() {
+        Question question = newQuestion(scenarioId, 10);
+        watchTimeService.heartbeat(studentId, heartbeat(40, 40));
+        watchTimeService.flush();
+
+        progressService.submitAnswer(studentId, SubmitAnswerRequest.builder()
+                .scenarioId(scenarioId)
+                .questionId(question.getId())
+                .selectedAnswerIds(Set.of(correctAnswerId(question)))
+                .timeTakenSeconds(25)
+                .build());
+        progressService.completeScenario(studentId, scenarioId);
+
+        assertEquals(40, timeSpent());
+    }
+
+    private HeartbeatRequest heartbeat(int deltaSeconds, Integer positionSeconds) {
+        return HeartbeatRequest.builder()
+                .scenarioId(scenarioId)
+                .deltaSeconds(deltaSeconds)
+                .positionSeconds(positionSeconds)
+                .build();
+    }
+
+    private int timeSpent() {
+        return jdbcTemplate.queryForObject(
+                "SELECT time_spent_seconds FROM student_scenarios WHERE student_id = ? AND scenario_id = ?",
+                Integer.class, studentId, scenarioId);
+    }
+}
@@ -2,11 +2,18 @@ package com.vroom.content.controller;
 
 import com.vroom.content.dto.BadgeDTO;
 import com.vroom.content.service.BadgeService;
+import com.vroom.content.service.CachedResponse;
+import com.vroom.content.service.ResponseCache;
 import com.vroom.security.util.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -26,14 +33,38 @@ import java.util.UUID;
 public class BadgeController {
 
     private final BadgeService badgeService;
+    private final ResponseCache responseCache;
 
     /**
      * Get all active badges
      */
     @GetMapping
     @Operation(summary = "Get all badges", description = "Get all active badges available")
-    public ResponseEntity<List<BadgeDTO>> getAllBadges() {
-        List<BadgeDTO> badges = badgeService.getAllActiveBadges();
+    @ApiResponse(responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = BadgeDTO.class))))
+    public ResponseEntity<byte[]> getAllBadges(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CachedResponse response = responseCache.get(ResponseCache.ACTIVE_BADGES, badgeService::getAllActiveBadges);
+        return response.toResponseEntity(ifNoneMatch, acceptEncoding);
+    }
+
+    /**
+     * Get most earned badges
+     */
+    @GetMapping("/most-earned")
+    @Operation(summary = "Get most earned badges", description = "Get the active badges earned by the most students")
+    public ResponseEntity<List<BadgeDTO>> getMostEarnedBadges(@RequestParam(defaultValue = "10") int limit) {
+        List<BadgeDTO> badges = badgeService.getMostEarnedBadges(limit);
+        return ResponseEntity.ok(badges);
+    }
+
+    /**
+     * Get rare badges
+     */
+    @GetMapping("/rare")
+    @Operation(summary = "Get rare badges", description = "Get the least earned active badges that were earned at least once")
+    public ResponseEntity<List<BadgeDTO>> getRareBadges(@RequestParam(defaultValue = "10") int limit) {
+        List<BadgeDTO> badges = badgeService.getRareBadges(limit);
         return ResponseEntity.ok(badges);
     }
 
@@ -59,6 +90,18 @@ public class BadgeController {
         return ResponseEntity.ok(badges);
     }
 
+    /**
+     * Get all badges with the current student's earned flags
+     */
+    @GetMapping("/my-catalog")
+    @Operation(summary = "Get badge catalog", description = "Get all active badges, marking the ones earned by current student")
+    public ResponseEntity<List<BadgeDTO>> getMyBadgeCatalog() {
+        UUID studentId = SecurityUtils.getCurrentUserId();
+
+        List<BadgeDTO> badges = badgeService.getBadgesForStudent(studentId);
+        return ResponseEntity.ok(badges);
+    }
+
     /**
      * Get student badges by student ID (for instructors)
      */
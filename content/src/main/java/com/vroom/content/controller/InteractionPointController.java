@@ -110,6 +110,35 @@ public class InteractionPointController {
         return ResponseEntity.ok(interactionPoints);
     }
 
+    /**
+     * Get the next interaction point from a playback position
+     */
+    @GetMapping("/interaction-points/next")
+    @Operation(summary = "Get next interaction point", description = "Get the first interaction point at or after second t")
+    public ResponseEntity<InteractionPointDTO> getNextInteractionPoint(
+            @PathVariable UUID scenarioId,
+            @RequestParam int t,
+            @RequestParam(defaultValue = "false") boolean mandatoryOnly) {
+
+        InteractionPointDTO next = interactionPointService.getNextInteractionPoint(scenarioId, t, mandatoryOnly);
+        return next != null ? ResponseEntity.ok(next) : ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Get interaction points skipped by a seek
+     */
+    @GetMapping("/interaction-points/skipped")
+    @Operation(summary = "Get skipped interaction points", description = "Get interaction points between two playback positions")
+    public ResponseEntity<List<InteractionPointDTO>> getSkippedInteractionPoints(
+            @PathVariable UUID scenarioId,
+            @RequestParam int from,
+            @RequestParam int to,
+            @RequestParam(defaultValue = "false") boolean mandatoryOnly) {
+
+        List<InteractionPointDTO> skipped = interactionPointService.getInteractionPointsBetween(scenarioId, from, to, mandatoryOnly);
+        return ResponseEntity.ok(skipped);
+    }
+
     @PutMapping("/interaction-points/{interactionPointId}")
     @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
     public ResponseEntity<InteractionPointDTO> updateInteractionPoint(
@@ -2,15 +2,28 @@ package com.vroom.content.controller;
 
 import com.vroom.content.dto.CreateScenarioRequest;
 import com.vroom.content.dto.ScenarioDTO;
+import com.vroom.content.dto.ScenarioDeletionDTO;
+import com.vroom.content.dto.ScenarioSnapshotDTO;
 import com.vroom.content.model.enums.Difficulty;
 import com.vroom.content.model.enums.Theme;
+import com.vroom.content.service.CachedResponse;
+import com.vroom.content.service.ResponseCache;
+import com.vroom.content.service.ScenarioDeletionService;
+import com.vroom.content.service.ScenarioLeaderboardService;
 import com.vroom.content.service.ScenarioService;
+import com.vroom.content.service.ScenarioSnapshotService;
 import com.vroom.security.util.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -18,6 +31,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -31,7 +45,16 @@ import java.util.UUID;
 @Tag(name = "Scenarios", description = "Interactive video scenario management")
 public class ScenarioController {
 
+    /**
+     * Snapshots never change and are served without their answer key, so clients and CDNs may keep them forever
+     */
+    private static final CacheControl SNAPSHOT_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
     private final ScenarioService scenarioService;
+    private final ScenarioDeletionService scenarioDeletionService;
+    private final ScenarioLeaderboardService scenarioLeaderboardService;
+    private final ScenarioSnapshotService scenarioSnapshotService;
+    private final ResponseCache responseCache;
 
     /**
      * Create a new scenario
@@ -54,9 +77,12 @@ public class ScenarioController {
      */
     @GetMapping
     @Operation(summary = "Get all scenarios", description = "Get all published scenarios")
-    public ResponseEntity<List<ScenarioDTO>> getAllScenarios() {
-        List<ScenarioDTO> scenarios = scenarioService.getAllPublishedScenarios();
-        return ResponseEntity.ok(scenarios);
+    @ApiResponse(responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = ScenarioDTO.class))))
+    public ResponseEntity<byte[]> getAllScenarios(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CachedResponse response = responseCache.get(ResponseCache.PUBLISHED_SCENARIOS, scenarioService::getAllPublishedScenarios);
+        return response.toResponseEntity(ifNoneMatch, acceptEncoding);
     }
 
     /**
@@ -64,9 +90,42 @@ public class ScenarioController {
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get scenario by ID", description = "Get scenario details by ID")
-    public ResponseEntity<ScenarioDTO> getScenarioById(@PathVariable UUID id) {
-        ScenarioDTO scenario = scenarioService.getPublishedScenario(id);
-        return ResponseEntity.ok(scenario);
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = ScenarioDTO.class)))
+    public ResponseEntity<byte[]> getScenarioById(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CachedResponse response = responseCache.get(ResponseCache.scenarioKey(id), () -> scenarioService.getPublishedScenario(id));
+        return response.toResponseEntity(ifNoneMatch, acceptEncoding);
+    }
+
+    /**
+     * Get a scenario snapshot by content hash
+     */
+    @GetMapping("/snapshots/{hash}")
+    @Operation(summary = "Get scenario snapshot", description = "Get the immutable published content of a scenario by content hash")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = ScenarioSnapshotDTO.class)))
+    public ResponseEntity<byte[]> getSnapshot(
+            @PathVariable String hash,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CachedResponse response = scenarioSnapshotService.getSnapshot(hash);
+        return response.toResponseEntity(ifNoneMatch, acceptEncoding, SNAPSHOT_CACHE_CONTROL);
+    }
+
+    /**
+     * Get a scenario snapshot by version
+     */
+    @GetMapping("/{id}/snapshots/{version}")
+    @Operation(summary = "Get scenario snapshot version", description = "Get the immutable published content of a scenario by version")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = ScenarioSnapshotDTO.class)))
+    public ResponseEntity<byte[]> getSnapshotVersion(
+            @PathVariable UUID id,
+            @PathVariable int version,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CachedResponse response = scenarioSnapshotService.getSnapshot(id, version);
+        return response.toResponseEntity(ifNoneMatch, acceptEncoding, SNAPSHOT_CACHE_CONTROL);
     }
 
     /**
@@ -113,9 +172,12 @@ public class ScenarioController {
      * Get top rated scenarios
      */
     @GetMapping("/top-rated")
-    @Operation(summary = "Get top rated scenarios", description = "Get highest rated scenarios")
-    public ResponseEntity<List<ScenarioDTO>> getTopRatedScenarios(@RequestParam(defaultValue = "10") int limit) {
-        List<ScenarioDTO> scenarios = scenarioService.getTopRatedScenarios(limit);
+    @Operation(summary = "Get top rated scenarios", description = "Get highest rated scenarios, optionally by theme and difficulty")
+    public ResponseEntity<List<ScenarioDTO>> getTopRatedScenarios(
+            @RequestParam(required = false) Theme theme,
+            @RequestParam(required = false) Difficulty difficulty,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<ScenarioDTO> scenarios = scenarioLeaderboardService.getTopRatedScenarios(theme, difficulty, limit);
         return ResponseEntity.ok(scenarios);
     }
 
@@ -123,9 +185,12 @@ public class ScenarioController {
      * Get most popular scenarios
      */
     @GetMapping("/popular")
-    @Operation(summary = "Get popular scenarios", description = "Get most completed scenarios")
-    public ResponseEntity<List<ScenarioDTO>> getMostPopularScenarios(@RequestParam(defaultValue = "10") int limit) {
-        List<ScenarioDTO> scenarios = scenarioService.getMostPopularScenarios(limit);
+    @Operation(summary = "Get popular scenarios", description = "Get most completed scenarios, optionally by theme and difficulty")
+    public ResponseEntity<List<ScenarioDTO>> getMostPopularScenarios(
+            @RequestParam(required = false) Theme theme,
+            @RequestParam(required = false) Difficulty difficulty,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<ScenarioDTO> scenarios = scenarioLeaderboardService.getMostPopularScenarios(theme, difficulty, limit);
         return ResponseEntity.ok(scenarios);
     }
 
@@ -183,9 +248,24 @@ public class ScenarioController {
      */
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Delete scenario", description = "Delete scenario permanently (Admin only)")
-    public ResponseEntity<Void> deleteScenario(@PathVariable UUID id) {
-        scenarioService.deleteScenario(id);
+    @Operation(summary = "Delete scenario", description = "Delete scenario permanently (Admin only). "
+            + "Scenarios with a large learning history are deleted in the background (202 with job status)")
+    public ResponseEntity<ScenarioDeletionDTO> deleteScenario(@PathVariable UUID id) {
+        ScenarioDeletionDTO deletion = scenarioService.deleteScenario(id);
+        if (Boolean.TRUE.equals(deletion.getAsync())) {
+            return ResponseEntity.accepted().body(deletion);
+        }
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Get progress of a background scenario deletion
+     */
+    @GetMapping("/deletions/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get deletion status", description = "Get progress of a scenario deletion job (Admin only)")
+    public ResponseEntity<ScenarioDeletionDTO> getDeletionStatus(@PathVariable UUID jobId) {
+        ScenarioDeletionDTO deletion = scenarioDeletionService.getDeletionStatus(jobId);
+        return ResponseEntity.ok(deletion);
+    }
 }
\ No newline at end of file
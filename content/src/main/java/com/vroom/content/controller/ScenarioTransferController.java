@@ -0,0 +1,76 @@
+package com.vroom.content.controller;
+
+import com.vroom.content.dto.ImportReportDTO;
+import com.vroom.content.service.ScenarioTransferService;
+import com.vroom.security.util.SecurityUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * REST controller for bulk scenario import and export
+ */
+@RestController
+@RequestMapping("/api/admin/scenarios")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Scenario Transfer", description = "Bulk import/export of scenarios, questions and interaction points")
+public class ScenarioTransferController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String ZIP = "application/zip";
+
+    private final ScenarioTransferService scenarioTransferService;
+
+    /**
+     * Export the whole catalog
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export scenarios", description = "Stream all scenarios as NDJSON, or as a zip bundle with format=zip (Admin only)")
+    public ResponseEntity<StreamingResponseBody> exportScenarios(@RequestParam(defaultValue = "ndjson") String format) {
+        boolean zip = "zip".equalsIgnoreCase(format);
+
+        StreamingResponseBody body = zip ? scenarioTransferService::exportZip : scenarioTransferService::exportNdjson;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(zip ? ZIP : NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"scenarios." + (zip ? "zip" : "ndjson") + "\"")
+                .body(body);
+    }
+
+    /**
+     * Import scenarios from an NDJSON stream
+     */
+    @PostMapping(value = "/import", consumes = NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import scenarios", description = "Import scenarios, questions and interaction points from NDJSON (Admin only)")
+    public ResponseEntity<ImportReportDTO> importNdjson(InputStream body) {
+        UUID importedBy = SecurityUtils.getCurrentUserId();
+
+        ImportReportDTO report = scenarioTransferService.importNdjson(body, importedBy);
+        return ResponseEntity.ok(report);
+    }
+
+    /**
+     * Import scenarios from a zip bundle of NDJSON files
+     */
+    @PostMapping(value = "/import", consumes = ZIP)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import scenario bundle", description = "Import every .ndjson file of a zip bundle (Admin only)")
+    public ResponseEntity<ImportReportDTO> importZip(InputStream body) {
+        UUID importedBy = SecurityUtils.getCurrentUserId();
+
+        ImportReportDTO report = scenarioTransferService.importZip(body, importedBy);
+        return ResponseEntity.ok(report);
+    }
+}
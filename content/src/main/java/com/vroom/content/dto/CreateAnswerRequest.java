@@ -8,6 +8,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.UUID;
+
 /**
  * DTO for creating a new answer
  */
@@ -17,6 +19,11 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class CreateAnswerRequest {
 
+    /**
+     * Id of an existing answer when updating a question, null for new answers
+     */
+    private UUID id;
+
     @NotBlank(message = "Answer text is required")
     @Size(min = 1, max = 300, message = "Answer must be between 1 and 300 characters")
     private String answerText;
@@ -0,0 +1,21 @@
+package com.vroom.content.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO describing why a single import record was rejected
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportErrorDTO {
+
+    private String source;
+    private int line;
+    private String key;
+    private String message;
+}
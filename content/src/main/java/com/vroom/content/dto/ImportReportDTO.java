@@ -0,0 +1,31 @@
+package com.vroom.content.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO summarizing a bulk scenario import
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDTO {
+
+    private long totalRecords;
+    private long created;
+    private long updated;
+    private long failed;
+
+    /**
+     * Per-record errors, capped so a broken file cannot blow up the response
+     */
+    @Builder.Default
+    private List<ImportErrorDTO> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+}
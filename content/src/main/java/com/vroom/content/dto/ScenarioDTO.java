@@ -15,7 +15,7 @@ import java.util.UUID;
  * DTO for Scenario responses
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ScenarioDTO {
@@ -41,6 +41,8 @@ public class ScenarioDTO {
     private UUID createdBy;
     private LocalDateTime createdAt;
     private LocalDateTime publishedAt;
+    private Integer snapshotVersion;
+    private String snapshotHash;
 
     // Summary fields
     private Integer questionCount;
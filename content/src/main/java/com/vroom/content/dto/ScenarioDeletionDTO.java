@@ -0,0 +1,31 @@
+package com.vroom.content.dto;
+
+import com.vroom.content.model.enums.DeletionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO describing the progress of a scenario deletion
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioDeletionDTO {
+
+    private UUID jobId;
+    private UUID scenarioId;
+    private DeletionStatus status;
+    private Boolean async;
+    private String currentStep;
+    private Long estimatedRows;
+    private Long deletedRows;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
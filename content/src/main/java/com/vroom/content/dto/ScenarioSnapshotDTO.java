@@ -0,0 +1,25 @@
+package com.vroom.content.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Frozen content of a published scenario
+ * Statistics are left out so the content, and its hash, only change when the scenario is edited
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioSnapshotDTO {
+
+    private UUID scenarioId;
+    private ScenarioDTO scenario;
+    private List<QuestionDTO> questions;
+    private List<InteractionPointDTO> interactionPoints;
+}
@@ -0,0 +1,42 @@
+package com.vroom.content.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One line of a scenario import/export NDJSON stream
+ * {@code data} holds a CreateScenarioRequest, CreateQuestionRequest or CreateInteractionPointRequest;
+ * references between records use keys instead of database ids
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransferRecordDTO {
+
+    private RecordType type;
+
+    /**
+     * External key of the record, or its id when it was never imported
+     */
+    private String key;
+
+    private String scenarioKey;
+    private String questionKey;
+    private List<String> prerequisiteKeys;
+
+    private JsonNode data;
+
+    public enum RecordType {
+        SCENARIO,
+        QUESTION,
+        INTERACTION_POINT
+    }
+}
@@ -0,0 +1,28 @@
+package com.vroom.content.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Event published whenever a scenario is created, modified or removed
+ * Listeners use it to keep in-memory structures derived from scenarios up to date
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ScenarioChangedEvent {
+
+    private final UUID scenarioId;
+    private final ChangeType changeType;
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        PUBLISHED,
+        UNPUBLISHED,
+        DELETED
+    }
+}
@@ -0,0 +1,28 @@
+package com.vroom.content.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.Value;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Event published after new scenario statistics have been written
+ * Carries the stored values so listeners can re-rank without reading them back
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ScenarioStatisticsChangedEvent {
+
+    private final List<Statistics> statistics;
+
+    @Value
+    public static class Statistics {
+        UUID scenarioId;
+        Integer completionCount;
+        Double averageScore;
+    }
+}
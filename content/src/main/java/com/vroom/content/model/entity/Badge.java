@@ -54,7 +54,7 @@ public class Badge {
     private String iconUrl;
 
     /**
-     * Criteria to earn this badge (JSON or text description)
+     * Criteria to earn this badge (BadgeCriterion JSON, evaluated automatically, or text description)
      */
     @Column(length = 1000)
     private String criteria;
@@ -75,8 +75,9 @@ public class Badge {
 
     /**
      * Number of times this badge has been earned
+     * Maintained by BadgeEarnedCountService with atomic increments, never written by entity updates
      */
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Integer earnedCount = 0;
 
@@ -109,10 +110,6 @@ public class Badge {
     }
 
     // Helper methods
-    public void incrementEarnedCount() {
-        this.earnedCount++;
-    }
-
     public void activate() {
         this.active = true;
     }
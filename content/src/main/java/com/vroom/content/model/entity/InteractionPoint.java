@@ -29,6 +29,12 @@ public class InteractionPoint {
     @Column(updatable = false, nullable = false)
     private UUID id;
 
+    /**
+     * Stable key supplied by bulk imports, used to match the interaction point on re-import
+     */
+    @Column(name = "external_key", length = 100, unique = true)
+    private String externalKey;
+
     /**
      * Reference to the scenario this interaction point belongs to
      */
@@ -94,6 +100,13 @@ public class InteractionPoint {
 
     // Helper methods
     public String getTimestampFormatted() {
+        return formatTimestamp(timestampSeconds);
+    }
+
+    /**
+     * Format a timestamp in seconds like "01:30"
+     */
+    public static String formatTimestamp(int timestampSeconds) {
         int minutes = timestampSeconds / 60;
         int seconds = timestampSeconds % 60;
         return String.format("%02d:%02d", minutes, seconds);
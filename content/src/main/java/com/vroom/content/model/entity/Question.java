@@ -34,6 +34,12 @@ public class Question {
     @Column(updatable = false, nullable = false)
     private UUID id;
 
+    /**
+     * Stable key supplied by bulk imports, used to match the question on re-import
+     */
+    @Column(name = "external_key", length = 100, unique = true)
+    private String externalKey;
+
     /**
      * Reference to the scenario this question belongs to
      */
@@ -91,15 +97,16 @@ public class Question {
 
     /**
      * Statistics - how many times this question was answered
+     * Written by the statistics aggregator only, never by entity updates
      */
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Integer attemptCount = 0;
 
     /**
      * Statistics - how many times answered correctly
      */
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Integer correctCount = 0;
 
@@ -7,6 +7,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.GenericGenerator;
 
 import java.time.LocalDateTime;
@@ -36,6 +37,12 @@ public class Scenario {
     @Column(updatable = false, nullable = false)
     private UUID id;
 
+    /**
+     * Stable key supplied by bulk imports, used to match the scenario on re-import
+     */
+    @Column(name = "external_key", length = 100, unique = true)
+    private String externalKey;
+
     @NotBlank(message = "Title is required")
     @Size(min = 5, max = 200, message = "Title must be between 5 and 200 characters")
     @Column(nullable = false, length = 200)
@@ -80,6 +87,7 @@ public class Scenario {
      * Tags for better categorization and search
      */
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "scenario_tags", joinColumns = @JoinColumn(name = "scenario_id"))
     @Column(name = "tag")
     @Builder.Default
@@ -89,6 +97,7 @@ public class Scenario {
      * Prerequisites - other scenarios that should be completed first
      */
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "scenario_prerequisites", joinColumns = @JoinColumn(name = "scenario_id"))
     @Column(name = "prerequisite_id")
     @Builder.Default
@@ -104,6 +113,7 @@ public class Scenario {
      * Learning objectives for this scenario
      */
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "scenario_objectives", joinColumns = @JoinColumn(name = "scenario_id"))
     @Column(name = "objective", length = 200)
     @Builder.Default
@@ -132,23 +142,36 @@ public class Scenario {
 
     /**
      * Number of times this scenario has been completed
+     * Statistics columns are written by the statistics aggregator only, never by entity updates
      */
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Integer completionCount = 0;
 
     /**
      * Average score achieved by all students (0-100)
      */
-    @Column
+    @Column(updatable = false)
     private Double averageScore;
 
+    /**
+     * Sum of squared score deviations from the average (Welford M2)
+     */
+    @Column(name = "score_m2", updatable = false)
+    private Double scoreM2;
+
     /**
      * Average time taken to complete (in minutes)
      */
-    @Column
+    @Column(updatable = false)
     private Double averageCompletionTime;
 
+    /**
+     * Number of completions with a known completion time
+     */
+    @Column(updatable = false)
+    private Integer timedCompletionCount;
+
     /**
      * Creator of the scenario (instructor or admin ID)
      */
@@ -167,6 +190,17 @@ public class Scenario {
 
     private LocalDateTime publishedAt;
 
+    /**
+     * Version of the snapshot frozen by the latest publish
+     */
+    private Integer snapshotVersion;
+
+    /**
+     * Content hash of the snapshot frozen by the latest publish
+     */
+    @Column(length = 64)
+    private String snapshotHash;
+
     // Lifecycle callbacks
     @PrePersist
     protected void onCreate() {
@@ -186,6 +220,11 @@ public class Scenario {
         this.lastModifiedBy = publishedBy;
     }
 
+    public void useSnapshot(ScenarioSnapshot snapshot) {
+        this.snapshotVersion = snapshot.getVersion();
+        this.snapshotHash = snapshot.getContentHash();
+    }
+
     public void unpublish(UUID unpublishedBy) {
         this.published = false;
         this.lastModifiedBy = unpublishedBy;
@@ -211,6 +250,13 @@ public class Scenario {
         }
     }
 
+    public Double getScoreVariance() {
+        if (scoreM2 == null || completionCount < 2) {
+            return null;
+        }
+        return scoreM2 / (completionCount - 1);
+    }
+
     public boolean isPassingScore(Double score) {
         return score >= passingScore;
     }
@@ -0,0 +1,66 @@
+package com.vroom.content.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * ScenarioSnapshot entity freezing a published scenario with its questions, answers and interaction points
+ * Snapshots are never modified; they are addressed by scenario and version, or by the hash of their content
+ */
+@Entity
+@Table(name = "scenario_snapshots", indexes = {
+        @Index(name = "idx_scenario_snapshot_hash", columnList = "content_hash")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_scenario_snapshot_version", columnNames = {"scenario_id", "version"})
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScenarioSnapshot {
+
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "scenario_id", nullable = false, updatable = false)
+    private UUID scenarioId;
+
+    /**
+     * Sequential per scenario, starting at 1
+     */
+    @Column(nullable = false, updatable = false)
+    private Integer version;
+
+    /**
+     * SHA-256 of the content, hex encoded
+     */
+    @Column(name = "content_hash", nullable = false, updatable = false, length = 64)
+    private String contentHash;
+
+    /**
+     * Serialized ScenarioSnapshotDTO
+     */
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(nullable = false, updatable = false)
+    private String content;
+
+    @Column(updatable = false)
+    private UUID publishedBy;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,26 @@
+package com.vroom.content.model.enums;
+
+/**
+ * Status of a scenario deletion job
+ */
+public enum DeletionStatus {
+    /**
+     * Waiting for the triggering transaction to commit
+     */
+    PENDING,
+
+    /**
+     * Rows are being deleted
+     */
+    RUNNING,
+
+    /**
+     * Scenario and all of its data are gone
+     */
+    COMPLETED,
+
+    /**
+     * Deletion stopped on an error, data deleted so far stays deleted
+     */
+    FAILED
+}
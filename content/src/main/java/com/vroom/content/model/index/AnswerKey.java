@@ -0,0 +1,147 @@
+package com.vroom.content.model.index;
+
+import com.vroom.content.model.entity.Answer;
+import com.vroom.content.model.entity.Question;
+import com.vroom.content.model.enums.QuestionType;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Immutable grading key of a question: its correct answer ids, points, type and time limit
+ * Correct ids are kept as sorted (most, least) significant bit pairs, so grading is a
+ * binary search per selected id with no allocation
+ */
+public final class AnswerKey {
+
+    private final UUID questionId;
+    private final UUID scenarioId;
+    private final QuestionType type;
+    private final int points;
+    private final Integer timeLimitSeconds;
+
+    private final long[] mostSigBits;
+    private final long[] leastSigBits;
+
+    private AnswerKey(UUID questionId, UUID scenarioId, QuestionType type, Integer points, Integer timeLimitSeconds,
+                      long[] mostSigBits, long[] leastSigBits) {
+        this.questionId = questionId;
+        this.scenarioId = scenarioId;
+        this.type = type;
+        this.points = points != null ? points : 0;
+        this.timeLimitSeconds = timeLimitSeconds;
+        this.mostSigBits = mostSigBits;
+        this.leastSigBits = leastSigBits;
+    }
+
+    /**
+     * Build the key of a question with its answers loaded
+     */
+    public static AnswerKey of(Question question) {
+        return of(question.getId(), question.getScenarioId(), question.getType(), question.getPoints(),
+                question.getTimeLimitSeconds(), question.getAnswers().stream()
+                        .filter(answer -> Boolean.TRUE.equals(answer.getIsCorrect()))
+                        .map(Answer::getId)
+                        .toList());
+    }
+
+    /**
+     * Build the key of a question from its correct answer ids
+     */
+    public static AnswerKey of(UUID questionId, UUID scenarioId, QuestionType type, Integer points,
+                               Integer timeLimitSeconds, Collection<UUID> correctAnswerIds) {
+        UUID[] correct = correctAnswerIds.stream()
+                .distinct()
+                .sorted()
+                .toArray(UUID[]::new);
+
+        long[] mostSigBits = new long[correct.length];
+        long[] leastSigBits = new long[correct.length];
+        for (int i = 0; i < correct.length; i++) {
+            mostSigBits[i] = correct[i].getMostSignificantBits();
+            leastSigBits[i] = correct[i].getLeastSignificantBits();
+        }
+        return new AnswerKey(questionId, scenarioId, type, points, timeLimitSeconds, mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Whether the selection is exactly the set of correct answers
+     */
+    public boolean isCorrect(Collection<UUID> selectedAnswerIds) {
+        if (selectedAnswerIds == null || selectedAnswerIds.size() != mostSigBits.length) {
+            return false;
+        }
+        // Same size and every selected id is correct; selections are sets, so no id counts twice
+        for (UUID id : selectedAnswerIds) {
+            if (id == null || indexOf(id) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Points earned for the selection
+     */
+    public int grade(Collection<UUID> selectedAnswerIds) {
+        return isCorrect(selectedAnswerIds) ? points : 0;
+    }
+
+    public boolean isCorrectAnswer(UUID answerId) {
+        return indexOf(answerId) >= 0;
+    }
+
+    public int getCorrectAnswerCount() {
+        return mostSigBits.length;
+    }
+
+    public UUID getQuestionId() {
+        return questionId;
+    }
+
+    public UUID getScenarioId() {
+        return scenarioId;
+    }
+
+    public QuestionType getType() {
+        return type;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public Integer getTimeLimitSeconds() {
+        return timeLimitSeconds;
+    }
+
+    public boolean isTimed() {
+        return timeLimitSeconds != null && timeLimitSeconds > 0;
+    }
+
+    /**
+     * Binary search in UUID order (signed comparison of the high, then the low bits)
+     */
+    private int indexOf(UUID id) {
+        long most = id.getMostSignificantBits();
+        long least = id.getLeastSignificantBits();
+
+        int low = 0;
+        int high = mostSigBits.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Long.compare(mostSigBits[mid], most);
+            if (cmp == 0) {
+                cmp = Long.compare(leastSigBits[mid], least);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,239 @@
+package com.vroom.content.model.index;
+
+import com.vroom.content.model.entity.Badge;
+import com.vroom.content.model.enums.BadgeType;
+import com.vroom.content.model.enums.Theme;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Immutable snapshot of the active badges
+ * Every badge is assigned a dense index so a student's earned badges fit in a bitset,
+ * and badges are indexed by name, type, related scenario and related theme.
+ * Badge criteria are compiled once per snapshot: threshold rules are sorted by criterion type,
+ * theme and scenario rules are grouped by the theme or scenario that can satisfy them
+ */
+public final class BadgeCatalog {
+
+    private static final BadgeCatalog EMPTY = build(0, List.of());
+
+    private final long version;
+    private final Entry[] entries;
+    private final List<Entry> byNameOrder;
+    private final Map<UUID, Entry> byId;
+    private final Map<String, Entry> byName;
+    private final Map<BadgeType, List<Entry>> byType;
+    private final Map<UUID, List<Entry>> byScenario;
+    private final Map<String, List<Entry>> byTheme;
+
+    /**
+     * Badges with a POINTS, SCENARIOS_PASSED or STREAK_DAYS criterion, sorted by ascending min
+     */
+    private final Map<BadgeCriterion.Type, Entry[]> thresholdRules;
+    private final Map<BadgeCriterion.Type, int[]> thresholds;
+    private final Map<Theme, List<Entry>> themeRules;
+    private final Map<UUID, List<Entry>> scenarioRules;
+
+    /**
+     * criterion is null for badges without structured criteria
+     */
+    public record Entry(int index, UUID id, String name, String description, BadgeType type, String iconUrl,
+                        String criteria, int pointsValue, UUID relatedScenarioId, String relatedTheme,
+                        LocalDateTime createdAt, BadgeCriterion criterion) {
+    }
+
+    private BadgeCatalog(long version, Entry[] entries) {
+        this.version = version;
+        this.entries = entries;
+
+        Map<UUID, Entry> ids = new HashMap<>(entries.length * 2);
+        Map<String, Entry> names = new HashMap<>(entries.length * 2);
+        Map<BadgeType, List<Entry>> types = new EnumMap<>(BadgeType.class);
+        Map<UUID, List<Entry>> scenarios = new HashMap<>();
+        Map<String, List<Entry>> themes = new HashMap<>();
+        Map<BadgeCriterion.Type, List<Entry>> thresholdLists = new EnumMap<>(BadgeCriterion.Type.class);
+        Map<Theme, List<Entry>> themeLists = new EnumMap<>(Theme.class);
+        Map<UUID, List<Entry>> scenarioLists = new HashMap<>();
+
+        for (Entry entry : entries) {
+            ids.put(entry.id(), entry);
+            names.put(entry.name(), entry);
+            types.computeIfAbsent(entry.type(), k -> new ArrayList<>()).add(entry);
+            if (entry.relatedScenarioId() != null) {
+                scenarios.computeIfAbsent(entry.relatedScenarioId(), k -> new ArrayList<>()).add(entry);
+            }
+            if (entry.relatedTheme() != null && !entry.relatedTheme().isBlank()) {
+                themes.computeIfAbsent(entry.relatedTheme(), k -> new ArrayList<>()).add(entry);
+            }
+
+            BadgeCriterion criterion = entry.criterion();
+            if (criterion == null) {
+                continue;
+            }
+            switch (criterion.type()) {
+                case POINTS, SCENARIOS_PASSED, STREAK_DAYS ->
+                        thresholdLists.computeIfAbsent(criterion.type(), k -> new ArrayList<>()).add(entry);
+                case THEME_PASSED -> themeLists.computeIfAbsent(criterion.theme(), k -> new ArrayList<>()).add(entry);
+                case SCENARIO_SCORE -> scenarioLists.computeIfAbsent(criterion.scenarioId(), k -> new ArrayList<>()).add(entry);
+            }
+        }
+
+        Comparator<Entry> byMin = Comparator.comparingInt(entry -> entry.criterion().min());
+        Map<BadgeCriterion.Type, Entry[]> rules = new EnumMap<>(BadgeCriterion.Type.class);
+        Map<BadgeCriterion.Type, int[]> mins = new EnumMap<>(BadgeCriterion.Type.class);
+        thresholdLists.forEach((type, list) -> {
+            list.sort(byMin);
+            rules.put(type, list.toArray(new Entry[0]));
+            mins.put(type, list.stream().mapToInt(entry -> entry.criterion().min()).toArray());
+        });
+        themeLists.values().forEach(list -> list.sort(byMin));
+
+        Entry[] sorted = entries.clone();
+        Arrays.sort(sorted, Comparator.comparing(Entry::name));
+
+        this.byNameOrder = List.of(sorted);
+        this.byId = ids;
+        this.byName = names;
+        this.byType = types;
+        this.byScenario = scenarios;
+        this.byTheme = themes;
+        this.thresholdRules = rules;
+        this.thresholds = mins;
+        this.themeRules = themeLists;
+        this.scenarioRules = scenarioLists;
+    }
+
+    public static BadgeCatalog empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build a catalog from badges; inactive badges are left out
+     */
+    public static BadgeCatalog build(long version, Collection<Badge> badges) {
+        List<Entry> entries = new ArrayList<>(badges.size());
+        for (Badge badge : badges) {
+            if (!Boolean.TRUE.equals(badge.getActive())) {
+                continue;
+            }
+            entries.add(new Entry(entries.size(), badge.getId(), badge.getName(), badge.getDescription(), badge.getType(),
+                    badge.getIconUrl(), badge.getCriteria(), badge.getPointsValue(), badge.getRelatedScenarioId(),
+                    badge.getRelatedTheme(), badge.getCreatedAt(), criterion(badge)));
+        }
+        return new BadgeCatalog(version, entries.toArray(new Entry[0]));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    public Entry get(int index) {
+        return entries[index];
+    }
+
+    /**
+     * All badges ordered by name
+     */
+    public List<Entry> getAll() {
+        return byNameOrder;
+    }
+
+    public Optional<Entry> findById(UUID id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public Optional<Entry> findByName(String name) {
+        return Optional.ofNullable(byName.get(name));
+    }
+
+    public List<Entry> findByType(BadgeType type) {
+        return byType.getOrDefault(type, List.of());
+    }
+
+    public List<Entry> findByRelatedScenario(UUID scenarioId) {
+        return byScenario.getOrDefault(scenarioId, List.of());
+    }
+
+    public List<Entry> findByRelatedTheme(String theme) {
+        return byTheme.getOrDefault(theme, List.of());
+    }
+
+    /**
+     * Points badges whose threshold is reached by the given total, lowest threshold first
+     */
+    public List<Entry> findPointsBadgesReachedBy(int totalPoints) {
+        return findReachedBy(BadgeCriterion.Type.POINTS, totalPoints);
+    }
+
+    /**
+     * Badges of a POINTS, SCENARIOS_PASSED or STREAK_DAYS criterion whose min is reached by value, lowest min first
+     */
+    public List<Entry> findReachedBy(BadgeCriterion.Type type, int value) {
+        Entry[] rules = thresholdRules.get(type);
+        if (rules == null) {
+            return List.of();
+        }
+        return Arrays.asList(rules).subList(0, upperBound(thresholds.get(type), value));
+    }
+
+    /**
+     * Badges for passing scenarios of a theme, lowest min first
+     */
+    public List<Entry> findThemeRules(Theme theme) {
+        return themeRules.getOrDefault(theme, List.of());
+    }
+
+    /**
+     * Badges for scoring on a scenario
+     */
+    public List<Entry> findScenarioRules(UUID scenarioId) {
+        return scenarioRules.getOrDefault(scenarioId, List.of());
+    }
+
+    /**
+     * Map earned badge ids onto catalog indexes; badges outside the catalog are only counted
+     */
+    public EarnedBadges earned(Collection<UUID> earnedBadgeIds) {
+        BitSet bits = new BitSet(entries.length);
+        for (UUID badgeId : earnedBadgeIds) {
+            Entry entry = byId.get(badgeId);
+            if (entry != null) {
+                bits.set(entry.index());
+            }
+        }
+        return new EarnedBadges(version, bits, earnedBadgeIds.size());
+    }
+
+    /**
+     * Badges with invalid criteria stay in the catalog but are never awarded automatically
+     */
+    private static BadgeCriterion criterion(Badge badge) {
+        try {
+            return BadgeCriterion.of(badge);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Number of values <= key in a sorted array
+     */
+    private static int upperBound(int[] sorted, int key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
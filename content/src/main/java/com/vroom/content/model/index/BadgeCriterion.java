@@ -0,0 +1,113 @@
+package com.vroom.content.model.index;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vroom.content.model.entity.Badge;
+import com.vroom.content.model.enums.Theme;
+
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Structured condition for earning a badge, stored as JSON in Badge.criteria, e.g.
+ * {"type":"POINTS","min":100}, {"type":"THEME_PASSED","theme":"HIGHWAY","min":3},
+ * {"type":"SCENARIO_SCORE","scenarioId":"...","min":90} or {"type":"STREAK_DAYS","min":7}
+ * Theme and scenario default to the badge's related theme and scenario
+ */
+public record BadgeCriterion(Type type, int min, Theme theme, UUID scenarioId) {
+
+    public enum Type {
+        /**
+         * Total points at least min
+         */
+        POINTS,
+
+        /**
+         * At least min distinct scenarios passed
+         */
+        SCENARIOS_PASSED,
+
+        /**
+         * At least min distinct scenarios of a theme passed
+         */
+        THEME_PASSED,
+
+        /**
+         * Score at least min on one scenario
+         */
+        SCENARIO_SCORE,
+
+        /**
+         * Active at least min consecutive days
+         */
+        STREAK_DAYS
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /**
+     * Points badges that predate structured criteria are named after their threshold, e.g. "Points 300"
+     */
+    private static final Pattern POINTS_BADGE = Pattern.compile("Points (\\d+)");
+
+    /**
+     * Read a badge's criterion; null when the badge has none or its criteria are free text
+     *
+     * @throws IllegalArgumentException if the criteria are JSON but not a valid criterion
+     */
+    public static BadgeCriterion of(Badge badge) {
+        String criteria = badge.getCriteria();
+        if (criteria == null || !criteria.trim().startsWith("{")) {
+            Matcher matcher = POINTS_BADGE.matcher(badge.getName());
+            return matcher.matches() ? new BadgeCriterion(Type.POINTS, Integer.parseInt(matcher.group(1)), null, null) : null;
+        }
+
+        BadgeCriterion parsed;
+        try {
+            parsed = MAPPER.readValue(criteria, BadgeCriterion.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid criteria for badge '" + badge.getName() + "': " + e.getOriginalMessage());
+        }
+
+        Theme theme = parsed.theme();
+        if (theme == null && badge.isThemeBadge()) {
+            theme = Theme.valueOf(badge.getRelatedTheme());
+        }
+        UUID scenarioId = parsed.scenarioId() != null ? parsed.scenarioId() : badge.getRelatedScenarioId();
+
+        BadgeCriterion criterion = new BadgeCriterion(parsed.type(), parsed.min(), theme, scenarioId);
+        criterion.validate(badge.getName());
+        return criterion;
+    }
+
+    private void validate(String badgeName) {
+        if (type == null) {
+            throw new IllegalArgumentException("Criteria of badge '" + badgeName + "' have no type");
+        }
+        if (min < 1 && type != Type.SCENARIO_SCORE) {
+            throw new IllegalArgumentException("Criteria of badge '" + badgeName + "' need a positive min");
+        }
+        if (type == Type.THEME_PASSED && theme == null) {
+            throw new IllegalArgumentException("Criteria of badge '" + badgeName + "' need a theme");
+        }
+        if (type == Type.SCENARIO_SCORE && scenarioId == null) {
+            throw new IllegalArgumentException("Criteria of badge '" + badgeName + "' need a scenarioId");
+        }
+    }
+
+    /**
+     * Short text stored with an awarded badge
+     */
+    public String describe() {
+        return switch (type) {
+            case POINTS -> "Reached " + min + " points";
+            case SCENARIOS_PASSED -> "Passed " + min + " scenarios";
+            case THEME_PASSED -> "Passed " + min + " " + theme.getDisplayName() + " scenarios";
+            case SCENARIO_SCORE -> "Scored " + min + " or more on a scenario";
+            case STREAK_DAYS -> "Practiced " + min + " days in a row";
+        };
+    }
+}
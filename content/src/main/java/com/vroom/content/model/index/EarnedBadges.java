@@ -0,0 +1,45 @@
+package com.vroom.content.model.index;
+
+import java.util.BitSet;
+
+/**
+ * A student's earned badges as a bitset over the indexes of one badge catalog snapshot
+ * Not thread-safe; meant to be loaded once per request
+ */
+public final class EarnedBadges {
+
+    private final long catalogVersion;
+    private final BitSet bits;
+    private int total;
+
+    EarnedBadges(long catalogVersion, BitSet bits, int total) {
+        this.catalogVersion = catalogVersion;
+        this.bits = bits;
+        this.total = total;
+    }
+
+    public boolean contains(BadgeCatalog.Entry badge) {
+        return bits.get(badge.index());
+    }
+
+    /**
+     * Record a newly awarded badge
+     */
+    public void add(BadgeCatalog.Entry badge) {
+        if (!bits.get(badge.index())) {
+            bits.set(badge.index());
+            total++;
+        }
+    }
+
+    /**
+     * Number of earned badges, including badges no longer in the catalog
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+}
@@ -0,0 +1,141 @@
+package com.vroom.content.model.index;
+
+import com.vroom.content.model.entity.InteractionPoint;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable, timestamp-sorted view of a scenario's interaction points
+ * Backed by parallel primitive arrays so seek lookups are a binary search with no allocation
+ */
+public final class InteractionPointTimeline {
+
+    public static final int NONE = -1;
+
+    private static final InteractionPointTimeline EMPTY =
+            new InteractionPointTimeline(new int[0], new UUID[0], new boolean[0], new UUID[0]);
+
+    private final int[] timestamps;
+    private final UUID[] ids;
+    private final boolean[] mandatory;
+    private final UUID[] questionIds;
+
+    /**
+     * For every index, the index of the first mandatory point at or after it (or NONE)
+     */
+    private final int[] nextMandatory;
+
+    private InteractionPointTimeline(int[] timestamps, UUID[] ids, boolean[] mandatory, UUID[] questionIds) {
+        this.timestamps = timestamps;
+        this.ids = ids;
+        this.mandatory = mandatory;
+        this.questionIds = questionIds;
+
+        this.nextMandatory = new int[timestamps.length];
+        int next = NONE;
+        for (int i = timestamps.length - 1; i >= 0; i--) {
+            if (mandatory[i]) {
+                next = i;
+            }
+            nextMandatory[i] = next;
+        }
+    }
+
+    public static InteractionPointTimeline empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build a timeline from interaction points in any order
+     */
+    public static InteractionPointTimeline of(List<InteractionPoint> interactionPoints) {
+        if (interactionPoints.isEmpty()) {
+            return EMPTY;
+        }
+
+        InteractionPoint[] sorted = interactionPoints.toArray(new InteractionPoint[0]);
+        Arrays.sort(sorted, Comparator.comparing(InteractionPoint::getTimestampSeconds));
+
+        int n = sorted.length;
+        int[] timestamps = new int[n];
+        UUID[] ids = new UUID[n];
+        boolean[] mandatory = new boolean[n];
+        UUID[] questionIds = new UUID[n];
+
+        for (int i = 0; i < n; i++) {
+            InteractionPoint point = sorted[i];
+            timestamps[i] = point.getTimestampSeconds();
+            ids[i] = point.getId();
+            mandatory[i] = !Boolean.FALSE.equals(point.getMandatory());
+            questionIds[i] = point.getQuestionId();
+        }
+
+        return new InteractionPointTimeline(timestamps, ids, mandatory, questionIds);
+    }
+
+    public int size() {
+        return timestamps.length;
+    }
+
+    public boolean isEmpty() {
+        return timestamps.length == 0;
+    }
+
+    /**
+     * Index of the first point at or after the given second, or NONE
+     */
+    public int next(int seconds, boolean mandatoryOnly) {
+        int index = lowerBound(seconds);
+        if (index == timestamps.length) {
+            return NONE;
+        }
+        return mandatoryOnly ? nextMandatory[index] : index;
+    }
+
+    /**
+     * Index range [from, to) of points whose timestamp lies within [fromSeconds, toSeconds]
+     */
+    public int[] range(int fromSeconds, int toSeconds) {
+        if (fromSeconds > toSeconds) {
+            return new int[]{0, 0};
+        }
+        int end = toSeconds == Integer.MAX_VALUE ? timestamps.length : lowerBound(toSeconds + 1);
+        return new int[]{lowerBound(fromSeconds), end};
+    }
+
+    public int getTimestampSeconds(int index) {
+        return timestamps[index];
+    }
+
+    public UUID getId(int index) {
+        return ids[index];
+    }
+
+    public boolean isMandatory(int index) {
+        return mandatory[index];
+    }
+
+    public UUID getQuestionId(int index) {
+        return questionIds[index];
+    }
+
+    /**
+     * First index whose timestamp is >= seconds
+     */
+    private int lowerBound(int seconds) {
+        int low = 0;
+        int high = timestamps.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] < seconds) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,187 @@
+package com.vroom.content.model.index;
+
+import java.util.*;
+
+/**
+ * Immutable snapshot of the scenario prerequisite DAG
+ * Every scenario is assigned a dense index and its transitive prerequisites
+ * are precomputed as a bitset, so unlock checks are pure bit operations
+ */
+public final class PrerequisiteGraph {
+
+    private static final BitSet EMPTY = new BitSet(0);
+
+    private final long version;
+    private final Map<UUID, Integer> indexById;
+    private final UUID[] ids;
+    private final BitSet[] closure;
+
+    private PrerequisiteGraph(long version, Map<UUID, Integer> indexById, UUID[] ids, BitSet[] closure) {
+        this.version = version;
+        this.indexById = indexById;
+        this.ids = ids;
+        this.closure = closure;
+    }
+
+    /**
+     * Build the graph from scenario ids and their direct prerequisites
+     * Prerequisites pointing at unknown scenarios are ignored
+     *
+     * @throws IllegalStateException if the prerequisites contain a cycle
+     */
+    public static PrerequisiteGraph build(long version, Collection<UUID> scenarioIds, Map<UUID, Set<UUID>> prerequisites) {
+        UUID[] ids = scenarioIds.toArray(new UUID[0]);
+        Map<UUID, Integer> indexById = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            indexById.put(ids[i], i);
+        }
+
+        int n = ids.length;
+        int[][] direct = new int[n][];
+        int[] pendingPrerequisites = new int[n];
+        List<List<Integer>> dependents = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            dependents.add(new ArrayList<>());
+        }
+
+        for (int i = 0; i < n; i++) {
+            Set<UUID> prereqs = prerequisites.getOrDefault(ids[i], Set.of());
+            int[] edges = new int[prereqs.size()];
+            int count = 0;
+            for (UUID prerequisiteId : prereqs) {
+                Integer p = indexById.get(prerequisiteId);
+                if (p != null) {
+                    edges[count++] = p;
+                    dependents.get(p).add(i);
+                }
+            }
+            direct[i] = Arrays.copyOf(edges, count);
+            pendingPrerequisites[i] = count;
+        }
+
+        // Kahn's algorithm: prerequisites are always resolved before their dependents
+        BitSet[] closure = new BitSet[n];
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            if (pendingPrerequisites[i] == 0) {
+                ready.add(i);
+            }
+        }
+
+        int resolved = 0;
+        while (!ready.isEmpty()) {
+            int current = ready.poll();
+            BitSet bits = new BitSet(n);
+            for (int p : direct[current]) {
+                bits.set(p);
+                bits.or(closure[p]);
+            }
+            closure[current] = bits;
+            resolved++;
+
+            for (int dependent : dependents.get(current)) {
+                if (--pendingPrerequisites[dependent] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (resolved != n) {
+            throw new IllegalStateException("Scenario prerequisites contain a cycle");
+        }
+
+        return new PrerequisiteGraph(version, Collections.unmodifiableMap(indexById), ids, closure);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean contains(UUID scenarioId) {
+        return indexById.containsKey(scenarioId);
+    }
+
+    /**
+     * Whether the scenario requires anything to be passed before it can be started
+     */
+    public boolean hasPrerequisites(UUID scenarioId) {
+        Integer index = indexById.get(scenarioId);
+        return index != null && !closure[index].isEmpty();
+    }
+
+    /**
+     * Transitive prerequisites of a scenario
+     */
+    public Set<UUID> getTransitivePrerequisites(UUID scenarioId) {
+        return toIds(closureOf(scenarioId));
+    }
+
+    /**
+     * Whether {@code prerequisiteId} is (transitively) required by {@code scenarioId}
+     */
+    public boolean requires(UUID scenarioId, UUID prerequisiteId) {
+        Integer p = indexById.get(prerequisiteId);
+        return p != null && closureOf(scenarioId).get(p);
+    }
+
+    /**
+     * Translate a set of scenario ids into a bitset over this graph's indices
+     */
+    public BitSet toBitSet(Collection<UUID> scenarioIds) {
+        BitSet bits = new BitSet(ids.length);
+        for (UUID id : scenarioIds) {
+            Integer index = indexById.get(id);
+            if (index != null) {
+                bits.set(index);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * A scenario is unlocked when all of its transitive prerequisites are passed
+     */
+    public boolean isUnlocked(UUID scenarioId, BitSet passed) {
+        BitSet required = closureOf(scenarioId);
+        if (required.isEmpty()) {
+            return true;
+        }
+        BitSet missing = (BitSet) required.clone();
+        missing.andNot(passed);
+        return missing.isEmpty();
+    }
+
+    /**
+     * All scenarios unlocked for the given passed set
+     */
+    public Set<UUID> getUnlocked(BitSet passed) {
+        Set<UUID> unlocked = new HashSet<>();
+        BitSet missing = new BitSet(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            missing.clear();
+            missing.or(closure[i]);
+            missing.andNot(passed);
+            if (missing.isEmpty()) {
+                unlocked.add(ids[i]);
+            }
+        }
+        return unlocked;
+    }
+
+    private BitSet closureOf(UUID scenarioId) {
+        Integer index = indexById.get(scenarioId);
+        return index != null ? closure[index] : EMPTY;
+    }
+
+    private Set<UUID> toIds(BitSet bits) {
+        Set<UUID> result = new HashSet<>();
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            result.add(ids[i]);
+        }
+        return result;
+    }
+}
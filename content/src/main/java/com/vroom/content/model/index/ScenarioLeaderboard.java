@@ -0,0 +1,139 @@
+package com.vroom.content.model.index;
+
+import com.vroom.content.dto.ScenarioDTO;
+import com.vroom.content.model.enums.Difficulty;
+import com.vroom.content.model.enums.Theme;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Ranked views of published scenarios by average score and by completion count
+ * Every scenario sits in a global board, its theme board, its difficulty board and its theme+difficulty board,
+ * so a top-K read for any filter combination walks the first K entries of one sorted set
+ * Writers are serialized; readers never block
+ */
+public final class ScenarioLeaderboard {
+
+    public enum Ranking {
+        TOP_RATED,
+        POPULAR
+    }
+
+    private static final Comparator<ScenarioDTO> BY_ID = Comparator.comparing(ScenarioDTO::getId);
+
+    private static final Comparator<ScenarioDTO> BY_AVERAGE_SCORE =
+            Comparator.comparing(ScenarioDTO::getAverageScore, Comparator.reverseOrder()).thenComparing(BY_ID);
+
+    private static final Comparator<ScenarioDTO> BY_COMPLETION_COUNT =
+            Comparator.comparing(ScenarioDTO::getCompletionCount, Comparator.reverseOrder()).thenComparing(BY_ID);
+
+    private final Map<UUID, ScenarioDTO> entries = new ConcurrentHashMap<>();
+    private final Map<BoardKey, NavigableSet<ScenarioDTO>> boards = new ConcurrentHashMap<>();
+
+    /**
+     * Top entries of a ranking, optionally restricted to a theme and/or difficulty
+     */
+    public List<ScenarioDTO> top(Ranking ranking, Theme theme, Difficulty difficulty, int limit) {
+        NavigableSet<ScenarioDTO> board = boards.get(new BoardKey(ranking, theme, difficulty));
+        if (board == null) {
+            return List.of();
+        }
+
+        List<ScenarioDTO> result = new ArrayList<>(Math.min(limit, board.size()));
+        Iterator<ScenarioDTO> iterator = board.iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    /**
+     * Insert or replace a published scenario
+     */
+    public synchronized void put(ScenarioDTO scenario) {
+        remove(scenario.getId());
+
+        entries.put(scenario.getId(), scenario);
+        for (BoardKey key : keys(Ranking.POPULAR, scenario)) {
+            boards.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>(BY_COMPLETION_COUNT)).add(scenario);
+        }
+        if (scenario.getAverageScore() != null) {
+            for (BoardKey key : keys(Ranking.TOP_RATED, scenario)) {
+                boards.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>(BY_AVERAGE_SCORE)).add(scenario);
+            }
+        }
+    }
+
+    /**
+     * Re-rank a scenario after its statistics changed
+     * Returns false when the scenario is not on the boards
+     */
+    public synchronized boolean updateStatistics(UUID scenarioId, Integer completionCount, Double averageScore) {
+        ScenarioDTO current = entries.get(scenarioId);
+        if (current == null) {
+            return false;
+        }
+        if (Objects.equals(current.getCompletionCount(), completionCount)
+                && Objects.equals(current.getAverageScore(), averageScore)) {
+            return true;
+        }
+
+        put(current.toBuilder()
+                .completionCount(completionCount)
+                .averageScore(averageScore)
+                .build());
+        return true;
+    }
+
+    public synchronized void remove(UUID scenarioId) {
+        ScenarioDTO previous = entries.remove(scenarioId);
+        if (previous == null) {
+            return;
+        }
+
+        for (Ranking ranking : Ranking.values()) {
+            // Unscored scenarios were never put on the top-rated boards, whose comparator cannot order them
+            if (ranking == Ranking.TOP_RATED && previous.getAverageScore() == null) {
+                continue;
+            }
+            for (BoardKey key : keys(ranking, previous)) {
+                NavigableSet<ScenarioDTO> board = boards.get(key);
+                if (board != null) {
+                    board.remove(previous);
+                }
+            }
+        }
+    }
+
+    public ScenarioDTO get(UUID scenarioId) {
+        return entries.get(scenarioId);
+    }
+
+    public Iterable<UUID> ids() {
+        return List.copyOf(entries.keySet());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static List<BoardKey> keys(Ranking ranking, ScenarioDTO scenario) {
+        return List.of(
+                new BoardKey(ranking, null, null),
+                new BoardKey(ranking, scenario.getTheme(), null),
+                new BoardKey(ranking, null, scenario.getDifficulty()),
+                new BoardKey(ranking, scenario.getTheme(), scenario.getDifficulty()));
+    }
+
+    private record BoardKey(Ranking ranking, Theme theme, Difficulty difficulty) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.vroom.content.model.index;
+
+/**
+ * Number of questions of a scenario and the points they are worth together
+ */
+public record ScenarioQuestionTotals(int questionCount, int totalPoints) {
+
+    public static final ScenarioQuestionTotals NONE = new ScenarioQuestionTotals(0, 0);
+}
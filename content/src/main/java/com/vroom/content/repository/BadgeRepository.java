@@ -42,18 +42,6 @@ public interface BadgeRepository extends JpaRepository<Badge, UUID> {
      */
     List<Badge> findByRelatedThemeAndActiveTrue(String theme);
 
-    /**
-     * Find most earned badges
-     */
-    @Query("SELECT b FROM Badge b WHERE b.active = true ORDER BY b.earnedCount DESC")
-    List<Badge> findMostEarnedBadges();
-
-    /**
-     * Find rare badges (least earned)
-     */
-    @Query("SELECT b FROM Badge b WHERE b.active = true AND b.earnedCount > 0 ORDER BY b.earnedCount ASC")
-    List<Badge> findRareBadges();
-
     /**
      * Find badges by minimum point value
      */
@@ -81,4 +69,10 @@ public interface BadgeRepository extends JpaRepository<Badge, UUID> {
      * Check if badge name exists
      */
     boolean existsByName(String name);
-}
\ No newline at end of file
+
+    /**
+     * Get (badge count, latest change) to detect badge changes cheaply
+     */
+    @Query("SELECT COUNT(b), MAX(COALESCE(b.updatedAt, b.createdAt)) FROM Badge b")
+    List<Object[]> getCatalogFingerprint();
+}
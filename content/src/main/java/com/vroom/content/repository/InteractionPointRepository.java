@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -86,4 +87,14 @@ public interface InteractionPointRepository extends JpaRepository<InteractionPoi
      * Find interaction points by question ID
      */
     List<InteractionPoint> findByQuestionId(UUID questionId);
-}
\ No newline at end of file
+
+    /**
+     * Find interaction points by bulk import key
+     */
+    List<InteractionPoint> findByExternalKeyIn(Collection<String> externalKeys);
+
+    /**
+     * Find interaction points of several scenarios, ordered by timestamp
+     */
+    List<InteractionPoint> findByScenarioIdInOrderByTimestampSecondsAsc(Collection<UUID> scenarioIds);
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -78,6 +79,12 @@ public interface QuestionRepository extends JpaRepository<Question, UUID> {
     @Query("SELECT SUM(q.points) FROM Question q WHERE q.scenarioId = :scenarioId")
     Integer getTotalPointsForScenario(@Param("scenarioId") UUID scenarioId);
 
+    /**
+     * Count questions and sum their points for a scenario: (count, points)
+     */
+    @Query("SELECT COUNT(q), COALESCE(SUM(q.points), 0) FROM Question q WHERE q.scenarioId = :scenarioId")
+    List<Object[]> getTotalsForScenario(@Param("scenarioId") UUID scenarioId);
+
     /**
      * Find most answered questions
      */
@@ -88,4 +95,22 @@ public interface QuestionRepository extends JpaRepository<Question, UUID> {
      * Delete all questions for a scenario
      */
     void deleteByScenarioId(UUID scenarioId);
-}
\ No newline at end of file
+
+    /**
+     * Find questions by bulk import key with their answers in one query
+     */
+    @Query("SELECT DISTINCT q FROM Question q LEFT JOIN FETCH q.answers WHERE q.externalKey IN :externalKeys")
+    List<Question> findWithAnswersByExternalKeyIn(@Param("externalKeys") Collection<String> externalKeys);
+
+    /**
+     * Find questions by id with their answers in one query
+     */
+    @Query("SELECT DISTINCT q FROM Question q LEFT JOIN FETCH q.answers WHERE q.id IN :ids")
+    List<Question> findWithAnswersByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Find questions of several scenarios with their answers in one query
+     */
+    @Query("SELECT DISTINCT q FROM Question q LEFT JOIN FETCH q.answers WHERE q.scenarioId IN :scenarioIds ORDER BY q.orderIndex ASC")
+    List<Question> findWithAnswersByScenarioIdIn(@Param("scenarioIds") Collection<UUID> scenarioIds);
+}
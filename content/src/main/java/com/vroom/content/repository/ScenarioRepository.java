@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -144,8 +145,42 @@ public interface ScenarioRepository extends JpaRepository<Scenario, UUID> {
     @Query("SELECT s FROM Scenario s WHERE s.published = true ORDER BY s.publishedAt DESC")
     List<Scenario> findRecentlyPublished(Pageable pageable);
 
+    /**
+     * Get the ids of all scenarios
+     */
+    @Query("SELECT s.id FROM Scenario s")
+    List<UUID> findAllIds();
+
+    /**
+     * Get all (scenario id, prerequisite id) pairs from scenario_prerequisites
+     */
+    @Query("SELECT s.id, p FROM Scenario s JOIN s.prerequisiteIds p")
+    List<Object[]> findAllPrerequisiteEdges();
+
     /**
      * Check if scenario has video
      */
     boolean existsByIdAndVideoIdIsNotNull(UUID id);
-}
\ No newline at end of file
+
+    /**
+     * Find scenarios by bulk import key
+     */
+    List<Scenario> findByExternalKeyIn(Collection<String> externalKeys);
+
+    /**
+     * Keyset page of scenarios ordered by id, used to stream the whole catalog
+     */
+    List<Scenario> findByIdGreaterThanOrderByIdAsc(UUID id, Pageable pageable);
+
+    /**
+     * Get (id, external key) pairs for the given scenarios
+     */
+    @Query("SELECT s.id, s.externalKey FROM Scenario s WHERE s.id IN :ids")
+    List<Object[]> findExternalKeys(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Get (id, completion count, average score) of all published scenarios
+     */
+    @Query("SELECT s.id, s.completionCount, s.averageScore FROM Scenario s WHERE s.published = true")
+    List<Object[]> findPublishedStatistics();
+}
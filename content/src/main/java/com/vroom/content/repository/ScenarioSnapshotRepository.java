@@ -0,0 +1,30 @@
+package com.vroom.content.repository;
+
+import com.vroom.content.model.entity.ScenarioSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for ScenarioSnapshot entity operations
+ */
+@Repository
+public interface ScenarioSnapshotRepository extends JpaRepository<ScenarioSnapshot, UUID> {
+
+    /**
+     * Find a snapshot by the hash of its content
+     */
+    Optional<ScenarioSnapshot> findFirstByContentHash(String contentHash);
+
+    /**
+     * Find a scenario's snapshot by version
+     */
+    Optional<ScenarioSnapshot> findByScenarioIdAndVersion(UUID scenarioId, Integer version);
+
+    /**
+     * Find a scenario's latest snapshot
+     */
+    Optional<ScenarioSnapshot> findFirstByScenarioIdOrderByVersionDesc(UUID scenarioId);
+}
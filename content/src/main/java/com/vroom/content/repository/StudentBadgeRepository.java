@@ -2,6 +2,7 @@ package com.vroom.content.repository;
 
 import com.vroom.content.model.entity.StudentBadge;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -22,6 +23,19 @@ public interface StudentBadgeRepository extends JpaRepository<StudentBadge, UUID
      */
     List<StudentBadge> findByStudentIdOrderByEarnedAtDesc(UUID studentId);
 
+    /**
+     * Find all badges for a student joined with their badge, as (Badge, earnedAt, earnedDescription) rows
+     */
+    @Query("SELECT b, sb.earnedAt, sb.earnedDescription FROM StudentBadge sb JOIN Badge b ON b.id = sb.badgeId " +
+            "WHERE sb.studentId = :studentId ORDER BY sb.earnedAt DESC")
+    List<Object[]> findWithBadgeByStudentId(@Param("studentId") UUID studentId);
+
+    /**
+     * Get the earned fields of a student's badges, as (badgeId, earnedAt, earnedDescription) rows
+     */
+    @Query("SELECT sb.badgeId, sb.earnedAt, sb.earnedDescription FROM StudentBadge sb WHERE sb.studentId = :studentId")
+    List<Object[]> findEarnedByStudentId(@Param("studentId") UUID studentId);
+
     /**
      * Find displayed badges for a student
      */
@@ -53,6 +67,19 @@ public interface StudentBadgeRepository extends JpaRepository<StudentBadge, UUID
      */
     List<StudentBadge> findByStudentIdAndNotifiedFalse(UUID studentId);
 
+    /**
+     * Mark a student's badge as notified
+     */
+    @Modifying
+    @Query("UPDATE StudentBadge sb SET sb.notified = true WHERE sb.studentId = :studentId AND sb.badgeId = :badgeId")
+    int markNotified(@Param("studentId") UUID studentId, @Param("badgeId") UUID badgeId);
+
+    /**
+     * Get the ids of the badges earned by a student
+     */
+    @Query("SELECT sb.badgeId FROM StudentBadge sb WHERE sb.studentId = :studentId")
+    List<UUID> findBadgeIdsByStudentId(@Param("studentId") UUID studentId);
+
     /**
      * Count badges earned by student
      */
@@ -0,0 +1,18 @@
+package com.vroom.content.service;
+
+import com.vroom.content.model.index.BadgeCatalog;
+import com.vroom.content.model.index.EarnedBadges;
+
+import java.util.UUID;
+
+/**
+ * Service interface for the in-memory badge catalog
+ */
+public interface BadgeCatalogService {
+
+    BadgeCatalog getCatalog();
+
+    EarnedBadges getEarnedBadges(UUID studentId);
+
+    void invalidate();
+}
@@ -0,0 +1,93 @@
+package com.vroom.content.service;
+
+import com.vroom.content.model.index.BadgeCatalog;
+import com.vroom.content.model.index.EarnedBadges;
+import com.vroom.content.repository.BadgeRepository;
+import com.vroom.content.repository.StudentBadgeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service maintaining an immutable snapshot of the active badges
+ * The snapshot is rebuilt lazily after invalidation, and whenever the badges table changes
+ * (checked periodically, so badges edited outside the application are picked up too)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BadgeCatalogServiceImpl implements BadgeCatalogService {
+
+    private final BadgeRepository badgeRepository;
+    private final StudentBadgeRepository studentBadgeRepository;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile BadgeCatalog catalog;
+    private volatile Object[] loadedFingerprint;
+
+    /**
+     * Get the current catalog, loading it if needed
+     */
+    public BadgeCatalog getCatalog() {
+        BadgeCatalog current = catalog;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = catalog;
+            if (current == null) {
+                long loadedGeneration = generation.get();
+                Object[] fingerprint = fingerprint();
+                current = BadgeCatalog.build(loadedGeneration, badgeRepository.findAll());
+                // Only publish the snapshot if nothing changed while it was loading
+                if (generation.get() == loadedGeneration) {
+                    catalog = current;
+                    loadedFingerprint = fingerprint;
+                }
+                log.debug("Loaded badge catalog with {} active badges", current.size());
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Load a student's earned badges against the current catalog
+     */
+    public EarnedBadges getEarnedBadges(UUID studentId) {
+        return getCatalog().earned(studentBadgeRepository.findBadgeIdsByStudentId(studentId));
+    }
+
+    /**
+     * Drop the current snapshot so the next read rebuilds it
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        catalog = null;
+    }
+
+    /**
+     * Invalidate the snapshot when badges were added, removed or modified since it was loaded
+     */
+    @Scheduled(fixedDelayString = "${badge.catalog.check-interval-ms:60000}")
+    public void checkForChanges() {
+        Object[] fingerprint = loadedFingerprint;
+        if (catalog == null || fingerprint == null) {
+            return;
+        }
+
+        if (!Arrays.equals(fingerprint, fingerprint())) {
+            log.info("Badges changed, reloading badge catalog");
+            invalidate();
+        }
+    }
+
+    private Object[] fingerprint() {
+        return badgeRepository.getCatalogFingerprint().get(0);
+    }
+}
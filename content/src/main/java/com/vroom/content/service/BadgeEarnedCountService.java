@@ -0,0 +1,22 @@
+package com.vroom.content.service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service interface for badge earned counters
+ */
+public interface BadgeEarnedCountService {
+
+    void recordEarned(UUID badgeId);
+
+    long getEarnedCount(UUID badgeId);
+
+    List<UUID> getMostEarned(int limit);
+
+    List<UUID> getRare(int limit);
+
+    void flush();
+
+    void reconcile();
+}
@@ -0,0 +1,206 @@
+package com.vroom.content.service;
+
+import com.vroom.content.model.index.BadgeCatalog;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service keeping badge earned counts without contending on the badge rows
+ * Awards add to striped in-memory counters; deltas are flushed in one batch of atomic increments,
+ * and the stored counts are periodically reconciled with the awarded student badges.
+ * Earned counts and the most-earned/rare rankings are read from a snapshot of the stored counts plus pending deltas
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BadgeEarnedCountServiceImpl implements BadgeEarnedCountService {
+
+    private static final String INCREMENT_SQL = "UPDATE badges SET earned_count = earned_count + ? WHERE id = ?";
+    private static final String CORRECT_SQL = "UPDATE badges SET earned_count = ? WHERE id = ?";
+    private static final String COUNT_AWARDED_SQL = "SELECT badge_id, COUNT(*) AS earned FROM student_badges GROUP BY badge_id";
+
+    private final BadgeCatalogService badgeCatalogService;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<UUID, LongAdder> pending = new ConcurrentHashMap<>();
+    private volatile Map<UUID, Long> stored;
+
+    /**
+     * Count an award once the current transaction commits
+     */
+    public void recordEarned(UUID badgeId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(badgeId);
+                }
+            });
+        } else {
+            increment(badgeId);
+        }
+    }
+
+    /**
+     * Get the number of times a badge was earned, including awards not flushed yet
+     */
+    public long getEarnedCount(UUID badgeId) {
+        LongAdder delta = pending.get(badgeId);
+        return getStored().getOrDefault(badgeId, 0L) + (delta != null ? delta.sum() : 0);
+    }
+
+    /**
+     * Get the ids of the most earned active badges
+     */
+    public List<UUID> getMostEarned(int limit) {
+        return rank(false, limit);
+    }
+
+    /**
+     * Get the ids of the least earned active badges that were earned at least once
+     */
+    public List<UUID> getRare(int limit) {
+        return rank(true, limit);
+    }
+
+    /**
+     * Write accumulated deltas as atomic increments, one batch for all badges
+     * Badge updatedAt is left alone so the badge catalog is not reloaded for count changes
+     */
+    @Scheduled(fixedDelayString = "${badge.earned-count.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<UUID, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                batch.add(new Object[]{delta, entry.getKey()});
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, batch);
+            if (stored != null) {
+                Map<UUID, Long> updated = new HashMap<>(stored);
+                for (Object[] row : batch) {
+                    updated.merge((UUID) row[1], (Long) row[0], Long::sum);
+                }
+                stored = updated;
+            }
+            log.debug("Flushed earned counts of {} badges", batch.size());
+        } catch (RuntimeException e) {
+            // Keep the deltas for the next flush
+            for (Object[] row : batch) {
+                pending.computeIfAbsent((UUID) row[1], id -> new LongAdder()).add((Long) row[0]);
+            }
+            log.error("Failed to flush badge earned counts", e);
+        }
+    }
+
+    /**
+     * Recount every badge from the awarded student badges in one grouped query and correct stored counts that drifted
+     * An award committed between the flush and its recount is counted twice until the next reconcile
+     */
+    @Scheduled(initialDelayString = "${badge.earned-count.reconcile-interval-ms:600000}",
+            fixedDelayString = "${badge.earned-count.reconcile-interval-ms:600000}")
+    public synchronized void reconcile() {
+        flush();
+
+        Map<UUID, Long> awarded = new HashMap<>();
+        for (Map<String, Object> row : jdbcTemplate.queryForList(COUNT_AWARDED_SQL)) {
+            awarded.put((UUID) row.get("badge_id"), ((Number) row.get("earned")).longValue());
+        }
+
+        Map<UUID, Long> counts = new HashMap<>();
+        List<Object[]> corrections = new ArrayList<>();
+        loadStored().forEach((id, storedCount) -> {
+            long actual = awarded.getOrDefault(id, 0L);
+            counts.put(id, actual);
+            if (actual != storedCount) {
+                corrections.add(new Object[]{actual, id});
+            }
+        });
+
+        if (!corrections.isEmpty()) {
+            jdbcTemplate.batchUpdate(CORRECT_SQL, corrections);
+            log.info("Corrected earned counts of {} badges", corrections.size());
+        }
+        stored = counts;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void increment(UUID badgeId) {
+        pending.computeIfAbsent(badgeId, id -> new LongAdder()).increment();
+    }
+
+    private Map<UUID, Long> getStored() {
+        Map<UUID, Long> current = stored;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (stored == null) {
+                // Write pending deltas first so they are not counted twice
+                flush();
+                stored = loadStored();
+            }
+            return stored;
+        }
+    }
+
+    private Map<UUID, Long> loadStored() {
+        Map<UUID, Long> counts = new HashMap<>();
+        for (Map<String, Object> badge : jdbcTemplate.queryForList("SELECT id, earned_count FROM badges")) {
+            counts.put((UUID) badge.get("id"), ((Number) badge.get("earned_count")).longValue());
+        }
+        return counts;
+    }
+
+    /**
+     * Rank the active badges by earned count, most earned first or, for rare badges, least earned first
+     */
+    private List<UUID> rank(boolean rare, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+
+        BadgeCatalog catalog = badgeCatalogService.getCatalog();
+        List<Map.Entry<UUID, Long>> counts = new ArrayList<>(catalog.size());
+        for (int i = 0; i < catalog.size(); i++) {
+            UUID id = catalog.get(i).id();
+            long count = getEarnedCount(id);
+            if (!rare || count > 0) {
+                counts.add(Map.entry(id, count));
+            }
+        }
+
+        Comparator<Map.Entry<UUID, Long>> byCount = Map.Entry.comparingByValue();
+        counts.sort(rare ? byCount : byCount.reversed());
+        return counts.stream()
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
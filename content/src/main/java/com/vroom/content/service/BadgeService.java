@@ -16,12 +16,21 @@ public interface BadgeService {
 
     List<BadgeDTO> getStudentBadges(UUID studentId);
 
+    List<BadgeDTO> getBadgesForStudent(UUID studentId);
+
+    List<BadgeDTO> getMostEarnedBadges(int limit);
+
+    List<BadgeDTO> getRareBadges(int limit);
+
     BadgeDTO awardBadgeToStudent(
             UUID studentId,
             UUID badgeId,
             String earnedDescription,
-            UUID scenarioId,
-            String studentName,
-            String studentEmail
+            UUID scenarioId
     );
+
+    /**
+     * Email a student about an earned badge and mark it notified, called once the award committed
+     */
+    void notifyBadgeEarned(UUID studentId, UUID badgeId, String studentName, String studentEmail);
 }
@@ -3,17 +3,24 @@ package com.vroom.content.service;
 import com.vroom.content.dto.BadgeDTO;
 import com.vroom.content.model.entity.Badge;
 import com.vroom.content.model.entity.StudentBadge;
+import com.vroom.content.model.index.BadgeCatalog;
 import com.vroom.content.repository.BadgeRepository;
 import com.vroom.content.repository.StudentBadgeRepository;
 import com.vroom.notification.service.EmailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for badge management operations
@@ -26,6 +33,10 @@ public class BadgeServiceImpl implements BadgeService {
     private final BadgeRepository badgeRepository;
     private final StudentBadgeRepository studentBadgeRepository;
     private final EmailService emailService;
+    private final ResponseCache responseCache;
+    private final BadgeEarnedCountService badgeEarnedCountService;
+    private final BadgeCatalogService badgeCatalogService;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Get all active badges
@@ -57,17 +68,63 @@ public class BadgeServiceImpl implements BadgeService {
     public List<BadgeDTO> getStudentBadges(UUID studentId) {
         log.debug("Fetching badges for student: {}", studentId);
 
-        return studentBadgeRepository.findByStudentIdOrderByEarnedAtDesc(studentId)
+        return studentBadgeRepository.findWithBadgeByStudentId(studentId)
                 .stream()
-                .map(this::mapStudentBadgeToDTO)
+                .map(row -> {
+                    BadgeDTO dto = mapToDTO((Badge) row[0]);
+                    dto.setEarnedAt((LocalDateTime) row[1]);
+                    dto.setEarnedDescription((String) row[2]);
+                    dto.setIsEarned(true);
+                    return dto;
+                })
                 .toList();
     }
 
+    /**
+     * Get all active badges with the student's earned fields filled in
+     * Badges come from the cached catalog, only the student's earned rows are queried
+     */
+    public List<BadgeDTO> getBadgesForStudent(UUID studentId) {
+        log.debug("Fetching badge catalog for student: {}", studentId);
+
+        Map<UUID, Object[]> earned = studentBadgeRepository.findEarnedByStudentId(studentId)
+                .stream()
+                .collect(Collectors.toMap(row -> (UUID) row[0], Function.identity()));
+
+        return badgeCatalogService.getCatalog().getAll()
+                .stream()
+                .map(entry -> {
+                    BadgeDTO dto = mapToDTO(entry);
+                    Object[] row = earned.get(entry.id());
+                    if (row != null) {
+                        dto.setEarnedAt((LocalDateTime) row[1]);
+                        dto.setEarnedDescription((String) row[2]);
+                        dto.setIsEarned(true);
+                    }
+                    return dto;
+                })
+                .toList();
+    }
+
+    /**
+     * Get the most earned active badges
+     */
+    public List<BadgeDTO> getMostEarnedBadges(int limit) {
+        return findInOrder(badgeEarnedCountService.getMostEarned(limit));
+    }
+
+    /**
+     * Get the least earned active badges that were earned at least once
+     */
+    public List<BadgeDTO> getRareBadges(int limit) {
+        return findInOrder(badgeEarnedCountService.getRare(limit));
+    }
+
     /**
      * Award badge to student
      */
     @Transactional
-    public BadgeDTO awardBadgeToStudent(UUID studentId, UUID badgeId, String earnedDescription, UUID scenarioId, String studentName, String studentEmail) {
+    public BadgeDTO awardBadgeToStudent(UUID studentId, UUID badgeId, String earnedDescription, UUID scenarioId) {
         log.info("Awarding badge {} to student {}", badgeId, studentId);
 
         // Check if student already has this badge
@@ -91,11 +148,30 @@ public class BadgeServiceImpl implements BadgeService {
 
         studentBadgeRepository.save(studentBadge);
 
-        // Update badge earned count
-        badge.incrementEarnedCount();
-        badgeRepository.save(badge);
+        // Counted in memory and flushed in batches, the badge row is not touched
+        badgeEarnedCountService.recordEarned(badgeId);
+        responseCache.invalidateAfterCommit(ResponseCache.ACTIVE_BADGES);
+
+        // The email is sent by notifyBadgeEarned once this transaction committed
+        log.info("Badge awarded successfully to student {}", studentId);
+
+        BadgeDTO dto = mapToDTO(badge);
+        dto.setEarnedAt(studentBadge.getEarnedAt());
+        dto.setEarnedDescription(studentBadge.getEarnedDescription());
+        dto.setIsEarned(true);
+
+        return dto;
+    }
+
+    /**
+     * Runs outside of a transaction so the email never holds one open, only marking the badge notified writes
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void notifyBadgeEarned(UUID studentId, UUID badgeId, String studentName, String studentEmail) {
+        Badge badge = badgeRepository.findById(badgeId)
+                .orElseThrow(() -> new RuntimeException("Badge not found with id: " + badgeId));
 
-        // Send notification email
         try {
             emailService.sendBadgeEarnedEmail(
                     studentEmail,
@@ -103,20 +179,12 @@ public class BadgeServiceImpl implements BadgeService {
                     badge.getName(),
                     badge.getDescription()
             );
-            studentBadge.markAsNotified();
-            studentBadgeRepository.save(studentBadge);
         } catch (Exception e) {
             log.error("Failed to send badge earned email", e);
+            return;
         }
 
-        log.info("Badge awarded successfully to student {}", studentId);
-
-        BadgeDTO dto = mapToDTO(badge);
-        dto.setEarnedAt(studentBadge.getEarnedAt());
-        dto.setEarnedDescription(studentBadge.getEarnedDescription());
-        dto.setIsEarned(true);
-
-        return dto;
+        transactionTemplate.executeWithoutResult(status -> studentBadgeRepository.markNotified(studentId, badgeId));
     }
 
     /**
@@ -132,7 +200,7 @@ public class BadgeServiceImpl implements BadgeService {
                 .criteria(badge.getCriteria())
                 .pointsValue(badge.getPointsValue())
                 .active(badge.getActive())
-                .earnedCount(badge.getEarnedCount())
+                .earnedCount((int) badgeEarnedCountService.getEarnedCount(badge.getId()))
                 .relatedScenarioId(badge.getRelatedScenarioId())
                 .relatedTheme(badge.getRelatedTheme())
                 .createdAt(badge.getCreatedAt())
@@ -140,15 +208,32 @@ public class BadgeServiceImpl implements BadgeService {
                 .build();
     }
 
-    private BadgeDTO mapStudentBadgeToDTO(StudentBadge studentBadge) {
-        Badge badge = badgeRepository.findById(studentBadge.getBadgeId())
-                .orElseThrow(() -> new RuntimeException("Badge not found"));
+    private BadgeDTO mapToDTO(BadgeCatalog.Entry entry) {
+        return BadgeDTO.builder()
+                .id(entry.id())
+                .name(entry.name())
+                .description(entry.description())
+                .type(entry.type())
+                .iconUrl(entry.iconUrl())
+                .criteria(entry.criteria())
+                .pointsValue(entry.pointsValue())
+                .active(true)
+                .earnedCount((int) badgeEarnedCountService.getEarnedCount(entry.id()))
+                .relatedScenarioId(entry.relatedScenarioId())
+                .relatedTheme(entry.relatedTheme())
+                .createdAt(entry.createdAt())
+                .isEarned(false)
+                .build();
+    }
 
-        BadgeDTO dto = mapToDTO(badge);
-        dto.setEarnedAt(studentBadge.getEarnedAt());
-        dto.setEarnedDescription(studentBadge.getEarnedDescription());
-        dto.setIsEarned(true);
+    private List<BadgeDTO> findInOrder(List<UUID> ids) {
+        Map<UUID, Badge> badges = badgeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Badge::getId, Function.identity()));
 
-        return dto;
+        return ids.stream()
+                .map(badges::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToDTO)
+                .toList();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,81 @@
+package com.vroom.content.service;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON response body, kept both plain and gzip-compressed, with a content-hash ETag
+ */
+public record CachedResponse(byte[] json, byte[] gzip, String etag) {
+
+    /**
+     * Wrap a serialized body, compressing it and hashing it for the ETag
+     */
+    public static CachedResponse of(byte[] json) {
+        return new CachedResponse(json, gzip(json), "\"" + HexFormat.of().formatHex(sha256(json), 0, 16) + "\"");
+    }
+
+    /**
+     * SHA-256 of the bytes
+     */
+    public static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Build the response for a request: 304 when the client already has this version,
+     * otherwise the stored bytes, gzip-encoded when the client accepts it
+     */
+    public ResponseEntity<byte[]> toResponseEntity(String ifNoneMatch, String acceptEncoding) {
+        return toResponseEntity(ifNoneMatch, acceptEncoding, CacheControl.noCache());
+    }
+
+    /**
+     * Build the response with the given caching policy
+     */
+    public ResponseEntity<byte[]> toResponseEntity(String ifNoneMatch, String acceptEncoding, CacheControl cacheControl) {
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        boolean compressed = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (compressed) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(compressed ? gzip : json);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
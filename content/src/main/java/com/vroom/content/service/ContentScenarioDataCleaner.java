@@ -0,0 +1,60 @@
+package com.vroom.content.service;
+
+import com.vroom.content.repository.InteractionPointRepository;
+import com.vroom.content.repository.QuestionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+/**
+ * Deletes the content owned by a scenario: questions, answers, interaction points and collections
+ * Earned badges are kept, only their reference to the scenario is cleared
+ */
+@Component
+@Order(200)
+@RequiredArgsConstructor
+@Slf4j
+public class ContentScenarioDataCleaner implements ScenarioDataCleaner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final QuestionRepository questionRepository;
+    private final InteractionPointRepository interactionPointRepository;
+
+    @Override
+    public long countRows(UUID scenarioId) {
+        return questionRepository.countByScenarioId(scenarioId) + interactionPointRepository.countByScenarioId(scenarioId);
+    }
+
+    @Override
+    public void deleteScenarioData(UUID scenarioId, ScenarioDeletionJob job) {
+        transactionTemplate.executeWithoutResult(status -> {
+            job.step("badges");
+            update(job, "UPDATE student_badges SET earned_in_scenario_id = NULL WHERE earned_in_scenario_id = ?", scenarioId);
+            update(job, "UPDATE badges SET related_scenario_id = NULL WHERE related_scenario_id = ?", scenarioId);
+
+            job.step("questions");
+            update(job, "DELETE FROM answers WHERE question_id IN (SELECT id FROM questions WHERE scenario_id = ?)", scenarioId);
+            update(job, "DELETE FROM interaction_points WHERE scenario_id = ?", scenarioId);
+            update(job, "DELETE FROM questions WHERE scenario_id = ?", scenarioId);
+
+            job.step("snapshots");
+            update(job, "DELETE FROM scenario_snapshots WHERE scenario_id = ?", scenarioId);
+
+            job.step("scenario collections");
+            update(job, "DELETE FROM scenario_tags WHERE scenario_id = ?", scenarioId);
+            update(job, "DELETE FROM scenario_objectives WHERE scenario_id = ?", scenarioId);
+            update(job, "DELETE FROM scenario_prerequisites WHERE scenario_id = ? OR prerequisite_id = ?", scenarioId, scenarioId);
+        });
+        log.debug("Deleted content of scenario {}", scenarioId);
+    }
+
+    private void update(ScenarioDeletionJob job, String sql, Object... args) {
+        job.addDeletedRows(jdbcTemplate.update(sql, args));
+    }
+}
@@ -2,6 +2,7 @@ package com.vroom.content.service;
 
 import com.vroom.content.dto.CreateInteractionPointRequest;
 import com.vroom.content.dto.InteractionPointDTO;
+import com.vroom.content.model.index.InteractionPointTimeline;
 
 import java.util.List;
 import java.util.UUID;
@@ -20,4 +21,10 @@ public interface InteractionPointService {
     InteractionPointDTO getInteractionPointById(UUID id);
 
     void deleteInteractionPoint(UUID id);
+
+    InteractionPointDTO getNextInteractionPoint(UUID scenarioId, int seconds, boolean mandatoryOnly);
+
+    List<InteractionPointDTO> getInteractionPointsBetween(UUID scenarioId, int fromSeconds, int toSeconds, boolean mandatoryOnly);
+
+    InteractionPointTimeline getTimeline(UUID scenarioId);
 }
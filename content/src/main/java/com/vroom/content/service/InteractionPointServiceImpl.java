@@ -1,14 +1,23 @@
 package com.vroom.content.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.vroom.content.dto.CreateInteractionPointRequest;
 import com.vroom.content.dto.InteractionPointDTO;
+import com.vroom.content.event.ScenarioChangedEvent;
 import com.vroom.content.model.entity.InteractionPoint;
+import com.vroom.content.model.index.InteractionPointTimeline;
 import com.vroom.content.repository.InteractionPointRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,6 +31,11 @@ public class InteractionPointServiceImpl implements InteractionPointService {
 
     private final InteractionPointRepository interactionPointRepository;
 
+    private final Cache<UUID, InteractionPointTimeline> timelines = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
     /**
      * Create a new interaction point for a scenario
      */
@@ -48,6 +62,8 @@ public class InteractionPointServiceImpl implements InteractionPointService {
         InteractionPoint saved = interactionPointRepository.save(interactionPoint);
         log.info("Interaction point created successfully: {}", saved.getId());
 
+        invalidateTimeline(scenarioId);
+
         return mapToDTO(saved);
     }
 
@@ -78,6 +94,8 @@ public class InteractionPointServiceImpl implements InteractionPointService {
         InteractionPoint saved = interactionPointRepository.save(interactionPoint);
         log.info("Interaction point updated successfully: {}", saved.getId());
 
+        invalidateTimeline(scenarioId);
+
         return mapToDTO(saved);
     }
 
@@ -112,10 +130,75 @@ public class InteractionPointServiceImpl implements InteractionPointService {
     public void deleteInteractionPoint(UUID id) {
         log.info("Deleting interaction point: {}", id);
 
-        interactionPointRepository.deleteById(id);
+        interactionPointRepository.findById(id).ifPresent(interactionPoint -> {
+            interactionPointRepository.delete(interactionPoint);
+            invalidateTimeline(interactionPoint.getScenarioId());
+        });
         log.info("Interaction point deleted successfully: {}", id);
     }
 
+    /**
+     * Get the first interaction point at or after the given second, or null if there is none
+     */
+    public InteractionPointDTO getNextInteractionPoint(UUID scenarioId, int seconds, boolean mandatoryOnly) {
+        InteractionPointTimeline timeline = getTimeline(scenarioId);
+
+        int index = timeline.next(seconds, mandatoryOnly);
+        return index == InteractionPointTimeline.NONE ? null : mapToDTO(scenarioId, timeline, index);
+    }
+
+    /**
+     * Get interaction points between two seconds (inclusive), e.g. the points skipped by a seek
+     */
+    public List<InteractionPointDTO> getInteractionPointsBetween(UUID scenarioId, int fromSeconds, int toSeconds, boolean mandatoryOnly) {
+        if (fromSeconds > toSeconds) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+
+        InteractionPointTimeline timeline = getTimeline(scenarioId);
+        int[] range = timeline.range(fromSeconds, toSeconds);
+
+        List<InteractionPointDTO> result = new ArrayList<>(range[1] - range[0]);
+        for (int i = range[0]; i < range[1]; i++) {
+            if (!mandatoryOnly || timeline.isMandatory(i)) {
+                result.add(mapToDTO(scenarioId, timeline, i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the cached timeline of a scenario, building it on first access
+     */
+    public InteractionPointTimeline getTimeline(UUID scenarioId) {
+        return timelines.get(scenarioId, id -> {
+            log.debug("Building interaction point timeline for scenario: {}", id);
+            return InteractionPointTimeline.of(interactionPointRepository.findByScenarioIdOrderByTimestampSecondsAsc(id));
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScenarioChanged(ScenarioChangedEvent event) {
+        // Bulk imports and deletions change interaction points without going through this service
+        timelines.invalidate(event.getScenarioId());
+    }
+
+    /**
+     * Drop a scenario's timeline once the current transaction commits
+     */
+    private void invalidateTimeline(UUID scenarioId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    timelines.invalidate(scenarioId);
+                }
+            });
+        } else {
+            timelines.invalidate(scenarioId);
+        }
+    }
+
     /**
      * Map entity to DTO
      */
@@ -132,4 +215,19 @@ public class InteractionPointServiceImpl implements InteractionPointService {
                 .mandatory(interactionPoint.getMandatory())
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Map a timeline entry to a lightweight DTO (no title/description)
+     */
+    private InteractionPointDTO mapToDTO(UUID scenarioId, InteractionPointTimeline timeline, int index) {
+        int seconds = timeline.getTimestampSeconds(index);
+        return InteractionPointDTO.builder()
+                .id(timeline.getId(index))
+                .scenarioId(scenarioId)
+                .questionId(timeline.getQuestionId(index))
+                .timestampSeconds(seconds)
+                .timestampFormatted(InteractionPoint.formatTimestamp(seconds))
+                .mandatory(timeline.isMandatory(index))
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.vroom.content.service;
+
+import com.vroom.content.model.index.PrerequisiteGraph;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Service interface for the scenario prerequisite graph
+ */
+public interface PrerequisiteGraphService {
+
+    PrerequisiteGraph getGraph();
+
+    void validatePrerequisites(UUID scenarioId, Set<UUID> prerequisiteIds);
+
+    void invalidate();
+}
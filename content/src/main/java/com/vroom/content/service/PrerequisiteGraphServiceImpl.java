@@ -0,0 +1,106 @@
+package com.vroom.content.service;
+
+import com.vroom.content.event.ScenarioChangedEvent;
+import com.vroom.content.model.index.PrerequisiteGraph;
+import com.vroom.content.repository.ScenarioRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service maintaining an in-memory snapshot of the scenario prerequisite DAG
+ * The snapshot is rebuilt lazily after any scenario change has been committed
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PrerequisiteGraphServiceImpl implements PrerequisiteGraphService {
+
+    private final ScenarioRepository scenarioRepository;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile PrerequisiteGraph graph;
+
+    /**
+     * Get the current graph, loading it from scenario_prerequisites if needed
+     */
+    public PrerequisiteGraph getGraph() {
+        PrerequisiteGraph current = graph;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = graph;
+            if (current == null) {
+                long loadedGeneration = generation.get();
+                current = loadGraph(loadedGeneration);
+                // Only publish the snapshot if nothing changed while it was loading
+                if (generation.get() == loadedGeneration) {
+                    graph = current;
+                }
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Validate prerequisites before they are stored on a scenario
+     * Rejects self references, unknown scenarios and anything that would close a cycle
+     */
+    public void validatePrerequisites(UUID scenarioId, Set<UUID> prerequisiteIds) {
+        if (prerequisiteIds == null || prerequisiteIds.isEmpty()) {
+            return;
+        }
+
+        PrerequisiteGraph current = getGraph();
+        for (UUID prerequisiteId : prerequisiteIds) {
+            if (prerequisiteId.equals(scenarioId)) {
+                throw new IllegalArgumentException("Scenario cannot be its own prerequisite");
+            }
+            if (!current.contains(prerequisiteId)) {
+                throw new IllegalArgumentException("Prerequisite scenario not found: " + prerequisiteId);
+            }
+            if (scenarioId != null && current.requires(prerequisiteId, scenarioId)) {
+                throw new IllegalArgumentException("Prerequisite " + prerequisiteId + " would create a cycle");
+            }
+        }
+    }
+
+    /**
+     * Drop the current snapshot so the next read rebuilds it
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        graph = null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScenarioChanged(ScenarioChangedEvent event) {
+        log.debug("Invalidating prerequisite graph after {}", event);
+        invalidate();
+    }
+
+    private PrerequisiteGraph loadGraph(long version) {
+        List<UUID> scenarioIds = scenarioRepository.findAllIds();
+
+        Map<UUID, Set<UUID>> prerequisites = new HashMap<>();
+        for (Object[] edge : scenarioRepository.findAllPrerequisiteEdges()) {
+            prerequisites.computeIfAbsent((UUID) edge[0], k -> new HashSet<>()).add((UUID) edge[1]);
+        }
+
+        try {
+            PrerequisiteGraph loaded = PrerequisiteGraph.build(version, scenarioIds, prerequisites);
+            log.debug("Loaded prerequisite graph with {} scenarios", loaded.size());
+            return loaded;
+        } catch (IllegalStateException e) {
+            // Concurrent edits slipped a cycle past validation; fail open rather than locking everyone out
+            log.error("Prerequisite graph contains a cycle, prerequisites are not enforced until it is fixed", e);
+            return PrerequisiteGraph.build(version, scenarioIds, Map.of());
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.vroom.content.service;
 
 import com.vroom.content.dto.CreateQuestionRequest;
 import com.vroom.content.dto.QuestionDTO;
+import com.vroom.content.model.index.AnswerKey;
+import com.vroom.content.model.index.ScenarioQuestionTotals;
 
 import java.util.List;
 import java.util.UUID;
@@ -20,4 +22,12 @@ public interface QuestionService {
     QuestionDTO getQuestionById(UUID id);
 
     void deleteQuestion(UUID id);
+
+    AnswerKey getAnswerKey(UUID questionId);
+
+    ScenarioQuestionTotals getScenarioTotals(UUID scenarioId);
+
+    AnswerKey getAnswerKey(UUID scenarioId, Integer snapshotVersion, UUID questionId);
+
+    ScenarioQuestionTotals getScenarioTotals(UUID scenarioId, Integer snapshotVersion);
 }
@@ -1,16 +1,28 @@
 package com.vroom.content.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.vroom.content.dto.*;
+import com.vroom.content.event.ScenarioChangedEvent;
 import com.vroom.content.model.entity.Answer;
 import com.vroom.content.model.entity.Question;
+import com.vroom.content.model.index.AnswerKey;
+import com.vroom.content.model.index.ScenarioQuestionTotals;
 import com.vroom.content.repository.QuestionRepository;
+import com.vroom.content.repository.ScenarioSnapshotRepository;
+import com.vroom.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.List;
-import java.util.UUID;
+import java.time.Duration;
+import java.util.*;
 
 /**
  * Service for question management operations
@@ -21,6 +33,24 @@ import java.util.UUID;
 public class QuestionServiceImpl implements QuestionService {
 
     private final QuestionRepository questionRepository;
+    private final ScenarioSnapshotRepository scenarioSnapshotRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Cache<UUID, AnswerKey> answerKeys = Caffeine.newBuilder()
+            .maximumSize(20_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
+    private final Cache<UUID, ScenarioQuestionTotals> scenarioTotals = Caffeine.newBuilder()
+            .maximumSize(5_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
+    // Snapshots never change, so their keys need no invalidation
+    private final Cache<SnapshotId, SnapshotGrading> snapshotGradings = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
 
     /**
      * Create a new question for a scenario
@@ -58,6 +88,8 @@ public class QuestionServiceImpl implements QuestionService {
         Question savedQuestion = questionRepository.save(question);
         log.info("Question created successfully: {}", savedQuestion.getId());
 
+        invalidateScenarioTotals(scenarioId);
+
         return mapToDTO(savedQuestion);
     }
 
@@ -80,28 +112,79 @@ public class QuestionServiceImpl implements QuestionService {
         question.setTimeLimitSeconds(request.getTimeLimitSeconds());
         question.setOrderIndex(request.getOrderIndex() != null ? request.getOrderIndex() : 0);
 
-        if (question.getAnswers() != null) {
-            question.getAnswers().clear();
+        mergeAnswers(question, request.getAnswers() != null ? request.getAnswers() : List.of());
+
+        Question savedQuestion = questionRepository.save(question);
+        log.info("Question updated successfully: {}", savedQuestion.getId());
+
+        invalidateAnswerKey(questionId);
+        invalidateScenarioTotals(scenarioId);
+
+        return mapToDTO(savedQuestion);
+    }
+
+    /**
+     * Apply the requested answers to a question in place
+     * Existing answers are matched by id, then by position, so their ids (and the
+     * selections students already made) survive the edit. Only new answers are
+     * inserted and only answers missing from the request are deleted.
+     */
+    static void mergeAnswers(Question question, List<CreateAnswerRequest> requested) {
+        List<Answer> existing = new ArrayList<>(question.getAnswers());
+        Map<UUID, Answer> existingById = new HashMap<>();
+        for (Answer answer : existing) {
+            existingById.put(answer.getId(), answer);
         }
 
-        if (request.getAnswers() != null) {
-            for (int i = 0; i < request.getAnswers().size(); i++) {
-                CreateAnswerRequest answerReq = request.getAnswers().get(i);
-                Answer answer = Answer.builder()
-                        .answerText(answerReq.getAnswerText())
-                        .isCorrect(answerReq.getIsCorrect())
-                        .orderIndex(answerReq.getOrderIndex() != null ? answerReq.getOrderIndex() : i)
-                        .explanation(answerReq.getExplanation())
-                        .imageUrl(answerReq.getImageUrl())
-                        .build();
-                question.addAnswer(answer);
+        // First pass: claim answers referenced by id
+        Answer[] matched = new Answer[requested.size()];
+        Set<Answer> claimed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < requested.size(); i++) {
+            UUID answerId = requested.get(i).getId();
+            if (answerId == null) {
+                continue;
             }
+            Answer answer = existingById.get(answerId);
+            if (answer == null) {
+                throw new IllegalArgumentException("Answer " + answerId + " does not belong to question: " + question.getId());
+            }
+            if (!claimed.add(answer)) {
+                throw new IllegalArgumentException("Answer " + answerId + " is referenced more than once");
+            }
+            matched[i] = answer;
         }
 
-        Question savedQuestion = questionRepository.save(question);
-        log.info("Question updated successfully: {}", savedQuestion.getId());
+        // Second pass: answers without id take the remaining existing answers in order
+        Iterator<Answer> unclaimed = existing.stream().filter(a -> !claimed.contains(a)).iterator();
+        for (int i = 0; i < requested.size(); i++) {
+            if (matched[i] == null && requested.get(i).getId() == null && unclaimed.hasNext()) {
+                matched[i] = unclaimed.next();
+                claimed.add(matched[i]);
+            }
+        }
 
-        return mapToDTO(savedQuestion);
+        for (Answer answer : existing) {
+            if (!claimed.contains(answer)) {
+                question.removeAnswer(answer);
+            }
+        }
+
+        for (int i = 0; i < requested.size(); i++) {
+            CreateAnswerRequest answerReq = requested.get(i);
+            Answer answer = matched[i];
+            if (answer == null) {
+                answer = Answer.builder().build();
+                question.addAnswer(answer);
+            }
+            // Unchanged values are not flagged dirty, so untouched answers produce no UPDATE
+            answer.setAnswerText(answerReq.getAnswerText());
+            answer.setIsCorrect(answerReq.getIsCorrect());
+            answer.setOrderIndex(answerReq.getOrderIndex() != null ? answerReq.getOrderIndex() : i);
+            answer.setExplanation(answerReq.getExplanation());
+            answer.setImageUrl(answerReq.getImageUrl());
+        }
+
+        question.getAnswers().sort(Comparator.comparing(Answer::getOrderIndex));
     }
 
     /**
@@ -135,8 +218,107 @@ public class QuestionServiceImpl implements QuestionService {
     public void deleteQuestion(UUID id) {
         log.info("Deleting question: {}", id);
 
+        Optional<UUID> scenarioId = questionRepository.findById(id).map(Question::getScenarioId);
         questionRepository.deleteById(id);
         log.info("Question deleted successfully: {}", id);
+
+        invalidateAnswerKey(id);
+        scenarioId.ifPresent(this::invalidateScenarioTotals);
+    }
+
+    /**
+     * Get the cached answer key of a question, building it on first access
+     */
+    public AnswerKey getAnswerKey(UUID questionId) {
+        AnswerKey key = answerKeys.get(questionId, id -> questionRepository.findById(id)
+                .map(AnswerKey::of)
+                .orElse(null));
+        if (key == null) {
+            throw new ResourceNotFoundException("Question", "id", questionId);
+        }
+        return key;
+    }
+
+    /**
+     * Get the cached question count and total points of a scenario
+     */
+    public ScenarioQuestionTotals getScenarioTotals(UUID scenarioId) {
+        return scenarioTotals.get(scenarioId, id -> questionRepository.getTotalsForScenario(id).stream()
+                .findFirst()
+                .map(row -> new ScenarioQuestionTotals(((Number) row[0]).intValue(), ((Number) row[1]).intValue()))
+                .orElse(ScenarioQuestionTotals.NONE));
+    }
+
+    /**
+     * Get the answer key of a question as frozen in a scenario snapshot, or the live key when snapshotVersion is null
+     * The question must belong to the scenario
+     */
+    public AnswerKey getAnswerKey(UUID scenarioId, Integer snapshotVersion, UUID questionId) {
+        AnswerKey key = snapshotVersion != null
+                ? snapshotGrading(scenarioId, snapshotVersion).keys().get(questionId)
+                : getAnswerKey(questionId);
+        if (key == null || !scenarioId.equals(key.getScenarioId())) {
+            throw new IllegalArgumentException("Question " + questionId + " does not belong to scenario " + scenarioId);
+        }
+        return key;
+    }
+
+    /**
+     * Get the question count and total points of a scenario snapshot, or the live totals when snapshotVersion is null
+     */
+    public ScenarioQuestionTotals getScenarioTotals(UUID scenarioId, Integer snapshotVersion) {
+        return snapshotVersion != null
+                ? snapshotGrading(scenarioId, snapshotVersion).totals()
+                : getScenarioTotals(scenarioId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScenarioChanged(ScenarioChangedEvent event) {
+        // Bulk imports and deletions change questions without going through this service
+        answerKeys.asMap().values().removeIf(key -> event.getScenarioId().equals(key.getScenarioId()));
+        scenarioTotals.invalidate(event.getScenarioId());
+    }
+
+    /**
+     * Drop a question's answer key once the current transaction commits
+     */
+    private void invalidateAnswerKey(UUID questionId) {
+        afterCommit(() -> answerKeys.invalidate(questionId));
+    }
+
+    /**
+     * Drop a scenario's question totals once the current transaction commits
+     */
+    private void invalidateScenarioTotals(UUID scenarioId) {
+        afterCommit(() -> scenarioTotals.invalidate(scenarioId));
+    }
+
+    private SnapshotGrading snapshotGrading(UUID scenarioId, int version) {
+        return snapshotGradings.get(new SnapshotId(scenarioId, version), id -> scenarioSnapshotRepository
+                .findByScenarioIdAndVersion(scenarioId, version)
+                .map(snapshot -> SnapshotGrading.of(scenarioId, readSnapshot(snapshot.getContent())))
+                .orElseThrow(() -> new ResourceNotFoundException("ScenarioSnapshot", "version", version)));
+    }
+
+    private ScenarioSnapshotDTO readSnapshot(String content) {
+        try {
+            return objectMapper.readValue(content, ScenarioSnapshotDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read scenario snapshot", e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     /**
@@ -175,4 +357,29 @@ public class QuestionServiceImpl implements QuestionService {
                 .imageUrl(answer.getImageUrl())
                 .build();
     }
-}
\ No newline at end of file
+
+    private record SnapshotId(UUID scenarioId, int version) {
+    }
+
+    /**
+     * Answer keys and totals of the questions frozen in a snapshot
+     */
+    private record SnapshotGrading(Map<UUID, AnswerKey> keys, ScenarioQuestionTotals totals) {
+
+        static SnapshotGrading of(UUID scenarioId, ScenarioSnapshotDTO snapshot) {
+            List<QuestionDTO> questions = snapshot.getQuestions() != null ? snapshot.getQuestions() : List.of();
+            Map<UUID, AnswerKey> keys = new HashMap<>(questions.size() * 2);
+            int totalPoints = 0;
+            for (QuestionDTO question : questions) {
+                List<UUID> correct = question.getAnswers() == null ? List.of() : question.getAnswers().stream()
+                        .filter(answer -> Boolean.TRUE.equals(answer.getIsCorrect()))
+                        .map(AnswerDTO::getId)
+                        .toList();
+                keys.put(question.getId(), AnswerKey.of(question.getId(), scenarioId, question.getType(),
+                        question.getPoints(), question.getTimeLimitSeconds(), correct));
+                totalPoints += question.getPoints() != null ? question.getPoints() : 0;
+            }
+            return new SnapshotGrading(keys, new ScenarioQuestionTotals(questions.size(), totalPoints));
+        }
+    }
+}
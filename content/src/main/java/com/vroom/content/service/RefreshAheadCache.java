@@ -0,0 +1,75 @@
+package com.vroom.content.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Loading cache with one in-flight load per key, refresh-ahead and jittered expiry
+ * Concurrent misses on a key wait on the same load; entries older than refreshAfter are served
+ * while a single background reload runs; expiry is spread by +/- jitter so entries don't expire together
+ */
+public final class RefreshAheadCache<K, V> {
+
+    private final AsyncLoadingCache<K, V> cache;
+
+    public RefreshAheadCache(long maximumSize, Duration refreshAfter, Duration expireAfter, double jitter,
+                             Function<K, V> loader) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfter(new JitteredExpiry<K, V>(expireAfter.toNanos(), jitter))
+                .buildAsync(loader::apply);
+    }
+
+    /**
+     * Get the cached value, loading it if absent
+     * Exceptions thrown by the loader are rethrown as-is and nothing is cached
+     */
+    public V get(K key) {
+        CompletableFuture<V> future = cache.get(key);
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Drop the failed load right away so the next caller retries
+            cache.asMap().remove(key, future);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void invalidate(K key) {
+        cache.synchronous().invalidate(key);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    private record JitteredExpiry<K, V>(long expireNanos, double jitter) implements Expiry<K, V> {
+
+        @Override
+        public long expireAfterCreate(K key, V value, long currentTime) {
+            double factor = 1 + jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+            return (long) (expireNanos * factor);
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
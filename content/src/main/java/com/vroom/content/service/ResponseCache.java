@@ -0,0 +1,85 @@
+package com.vroom.content.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vroom.content.event.ScenarioChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Cache of serialized response bodies for hot read endpoints
+ * Bodies are serialized once with the application ObjectMapper and written straight to the response
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ResponseCache {
+
+    public static final String PUBLISHED_SCENARIOS = "scenarios:published";
+    public static final String ACTIVE_BADGES = "badges:active";
+
+    private final ObjectMapper objectMapper;
+
+    private final Cache<String, CachedResponse> responses = Caffeine.newBuilder()
+            .maximumSize(2_000)
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .build();
+
+    public static String scenarioKey(UUID scenarioId) {
+        return "scenario:" + scenarioId;
+    }
+
+    /**
+     * Get the cached response for a key, serializing the body on a miss
+     * Concurrent misses on a key serialize once; exceptions from the supplier propagate and nothing is cached
+     */
+    public CachedResponse get(String key, Supplier<?> body) {
+        return responses.get(key, k -> serialize(body.get()));
+    }
+
+    public void invalidate(String key) {
+        responses.invalidate(key);
+    }
+
+    /**
+     * Invalidate once the current transaction commits, or immediately without one
+     */
+    public void invalidateAfterCommit(String key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(key);
+                }
+            });
+        } else {
+            invalidate(key);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScenarioChanged(ScenarioChangedEvent event) {
+        invalidate(scenarioKey(event.getScenarioId()));
+        if (event.getChangeType() != ScenarioChangedEvent.ChangeType.CREATED) {
+            invalidate(PUBLISHED_SCENARIOS);
+        }
+    }
+
+    private CachedResponse serialize(Object body) {
+        try {
+            return CachedResponse.of(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response body", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.vroom.content.service;
+
+import java.util.UUID;
+
+/**
+ * Deletes the rows a module keeps for a scenario
+ * Cleaners run in {@link org.springframework.core.annotation.Order} before the scenario row itself is removed,
+ * so modules that reference scenarios (e.g. learning) must order themselves before the content cleaner
+ */
+public interface ScenarioDataCleaner {
+
+    /**
+     * Estimate how many rows deleting this scenario's data touches
+     */
+    long countRows(UUID scenarioId);
+
+    /**
+     * Delete this module's data for the scenario, reporting progress as it goes
+     */
+    void deleteScenarioData(UUID scenarioId, ScenarioDeletionJob job);
+}
@@ -0,0 +1,78 @@
+package com.vroom.content.service;
+
+import com.vroom.content.dto.ScenarioDeletionDTO;
+import com.vroom.content.model.enums.DeletionStatus;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a single scenario deletion, updated by the cleaners while they run
+ */
+@Getter
+public class ScenarioDeletionJob {
+
+    private final UUID id = UUID.randomUUID();
+    private final UUID scenarioId;
+    private final boolean async;
+    private final long estimatedRows;
+    private final AtomicLong deletedRows = new AtomicLong();
+
+    private volatile DeletionStatus status = DeletionStatus.PENDING;
+    private volatile String currentStep;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public ScenarioDeletionJob(UUID scenarioId, boolean async, long estimatedRows) {
+        this.scenarioId = scenarioId;
+        this.async = async;
+        this.estimatedRows = estimatedRows;
+    }
+
+    public void start() {
+        startedAt = LocalDateTime.now();
+        status = DeletionStatus.RUNNING;
+    }
+
+    public void step(String step) {
+        currentStep = step;
+    }
+
+    public void addDeletedRows(long rows) {
+        deletedRows.addAndGet(rows);
+    }
+
+    public void complete() {
+        currentStep = null;
+        finishedAt = LocalDateTime.now();
+        status = DeletionStatus.COMPLETED;
+    }
+
+    public void fail(Throwable cause) {
+        error = cause.getMessage();
+        finishedAt = LocalDateTime.now();
+        status = DeletionStatus.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == DeletionStatus.COMPLETED || status == DeletionStatus.FAILED;
+    }
+
+    public ScenarioDeletionDTO toDTO() {
+        return ScenarioDeletionDTO.builder()
+                .jobId(id)
+                .scenarioId(scenarioId)
+                .status(status)
+                .async(async)
+                .currentStep(currentStep)
+                .estimatedRows(estimatedRows)
+                .deletedRows(deletedRows.get())
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .build();
+    }
+}
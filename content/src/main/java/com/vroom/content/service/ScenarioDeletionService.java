@@ -0,0 +1,15 @@
+package com.vroom.content.service;
+
+import com.vroom.content.dto.ScenarioDeletionDTO;
+
+import java.util.UUID;
+
+/**
+ * Service interface for cascading scenario deletion
+ */
+public interface ScenarioDeletionService {
+
+    ScenarioDeletionJob deleteScenario(UUID scenarioId);
+
+    ScenarioDeletionDTO getDeletionStatus(UUID jobId);
+}
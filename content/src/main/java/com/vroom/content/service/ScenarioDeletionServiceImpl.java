@@ -0,0 +1,119 @@
+package com.vroom.content.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vroom.content.dto.ScenarioDeletionDTO;
+import com.vroom.content.event.ScenarioChangedEvent;
+import com.vroom.shared.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * Service deleting a scenario together with everything that references it
+ * Uses set-based SQL per table instead of loading entities; scenarios with a large
+ * learning history are deleted in the background in bounded batches
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScenarioDeletionServiceImpl implements ScenarioDeletionService {
+
+    private final List<ScenarioDataCleaner> cleaners;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor taskExecutor;
+
+    @Value("${scenario.deletion.async-threshold:10000}")
+    private long asyncThreshold;
+
+    private final Cache<UUID, ScenarioDeletionJob> jobs = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterWrite(Duration.ofDays(1))
+            .build();
+
+    /**
+     * Delete a scenario and its data
+     * Must be called inside a transaction; small scenarios are deleted in it, large ones
+     * are unpublished in it and deleted by a background job once it commits
+     */
+    public ScenarioDeletionJob deleteScenario(UUID scenarioId) {
+        long estimatedRows = cleaners.stream().mapToLong(cleaner -> cleaner.countRows(scenarioId)).sum();
+        boolean async = estimatedRows > asyncThreshold;
+
+        ScenarioDeletionJob job = new ScenarioDeletionJob(scenarioId, async, estimatedRows);
+        jobs.put(job.getId(), job);
+
+        if (!async) {
+            job.start();
+            try {
+                deleteAll(job);
+            } catch (RuntimeException e) {
+                job.fail(e);
+                throw e;
+            }
+            job.complete();
+            return job;
+        }
+
+        log.info("Scenario {} has about {} rows of data, deleting in background job {}", scenarioId, estimatedRows, job.getId());
+
+        // Hide the scenario right away, the rows go once this transaction has committed
+        jdbcTemplate.update("UPDATE scenarios SET published = false WHERE id = ?", scenarioId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                taskExecutor.execute(() -> runInBackground(job));
+            }
+        });
+        return job;
+    }
+
+    /**
+     * Get the progress of a deletion job
+     */
+    public ScenarioDeletionDTO getDeletionStatus(UUID jobId) {
+        ScenarioDeletionJob job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("ScenarioDeletion", "id", jobId);
+        }
+        return job.toDTO();
+    }
+
+    private void runInBackground(ScenarioDeletionJob job) {
+        job.start();
+        try {
+            deleteAll(job);
+            job.complete();
+            log.info("Scenario {} deleted by job {} ({} rows)", job.getScenarioId(), job.getId(), job.getDeletedRows().get());
+
+            eventPublisher.publishEvent(new ScenarioChangedEvent(job.getScenarioId(), ScenarioChangedEvent.ChangeType.DELETED));
+        } catch (RuntimeException e) {
+            log.error("Deletion job {} for scenario {} failed", job.getId(), job.getScenarioId(), e);
+            job.fail(e);
+        }
+    }
+
+    private void deleteAll(ScenarioDeletionJob job) {
+        UUID scenarioId = job.getScenarioId();
+        for (ScenarioDataCleaner cleaner : cleaners) {
+            cleaner.deleteScenarioData(scenarioId, job);
+        }
+
+        job.step("scenario");
+        transactionTemplate.executeWithoutResult(status ->
+                job.addDeletedRows(jdbcTemplate.update("DELETE FROM scenarios WHERE id = ?", scenarioId)));
+    }
+}
@@ -0,0 +1,16 @@
+package com.vroom.content.service;
+
+import com.vroom.content.dto.ScenarioDTO;
+import com.vroom.content.model.enums.Difficulty;
+import com.vroom.content.model.enums.Theme;
+
+import java.util.List;
+
+public interface ScenarioLeaderboardService {
+
+    List<ScenarioDTO> getTopRatedScenarios(Theme theme, Difficulty difficulty, int limit);
+
+    List<ScenarioDTO> getMostPopularScenarios(Theme theme, Difficulty difficulty, int limit);
+
+    void reconcile();
+}
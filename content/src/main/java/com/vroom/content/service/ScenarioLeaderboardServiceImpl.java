@@ -0,0 +1,152 @@
+package com.vroom.content.service;
+
+import com.vroom.content.dto.ScenarioDTO;
+import com.vroom.content.event.ScenarioChangedEvent;
+import com.vroom.content.event.ScenarioStatisticsChangedEvent;
+import com.vroom.content.model.enums.Difficulty;
+import com.vroom.content.model.enums.Theme;
+import com.vroom.content.model.index.ScenarioLeaderboard;
+import com.vroom.content.model.index.ScenarioLeaderboard.Ranking;
+import com.vroom.content.repository.ScenarioRepository;
+import com.vroom.shared.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Service serving the top-rated and most-popular scenario rankings from memory
+ * Boards are loaded on first read, re-ranked from statistics events and reconciled with the database periodically
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScenarioLeaderboardServiceImpl implements ScenarioLeaderboardService {
+
+    private final ScenarioService scenarioService;
+    private final ScenarioRepository scenarioRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ScenarioLeaderboard leaderboard = new ScenarioLeaderboard();
+    private volatile boolean loaded;
+
+    /**
+     * Get top rated scenarios (by average score)
+     */
+    public List<ScenarioDTO> getTopRatedScenarios(Theme theme, Difficulty difficulty, int limit) {
+        return top(Ranking.TOP_RATED, theme, difficulty, limit);
+    }
+
+    /**
+     * Get most popular scenarios (by completion count)
+     */
+    public List<ScenarioDTO> getMostPopularScenarios(Theme theme, Difficulty difficulty, int limit) {
+        return top(Ranking.POPULAR, theme, difficulty, limit);
+    }
+
+    /**
+     * Bring the boards in line with the published scenarios and their stored statistics
+     */
+    @Scheduled(fixedDelayString = "${scenario.leaderboard.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        if (!loaded) {
+            return;
+        }
+
+        Set<UUID> published = new HashSet<>();
+        int changed = 0;
+        for (Object[] row : scenarioRepository.findPublishedStatistics()) {
+            UUID id = (UUID) row[0];
+            published.add(id);
+
+            if (!leaderboard.updateStatistics(id, (Integer) row[1], (Double) row[2])) {
+                reload(id);
+                changed++;
+            }
+        }
+
+        for (UUID id : leaderboard.ids()) {
+            if (!published.contains(id)) {
+                leaderboard.remove(id);
+                changed++;
+            }
+        }
+        log.debug("Reconciled scenario leaderboards: {} scenarios, {} added or removed", leaderboard.size(), changed);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onScenarioChanged(ScenarioChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+
+        switch (event.getChangeType()) {
+            case CREATED -> {
+                // New scenarios start unpublished
+            }
+            case UNPUBLISHED, DELETED -> leaderboard.remove(event.getScenarioId());
+            default -> reload(event.getScenarioId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onStatisticsChanged(ScenarioStatisticsChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+
+        for (ScenarioStatisticsChangedEvent.Statistics statistics : event.getStatistics()) {
+            leaderboard.updateStatistics(statistics.getScenarioId(), statistics.getCompletionCount(), statistics.getAverageScore());
+        }
+    }
+
+    private List<ScenarioDTO> top(Ranking ranking, Theme theme, Difficulty difficulty, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        if (!loaded) {
+            load();
+        }
+        return leaderboard.top(ranking, theme, difficulty, limit);
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+
+        List<ScenarioDTO> scenarios = readOnly().execute(status -> scenarioService.getAllPublishedScenarios());
+        scenarios.forEach(leaderboard::put);
+        loaded = true;
+        log.info("Loaded scenario leaderboards with {} published scenarios", scenarios.size());
+    }
+
+    /**
+     * Re-read one scenario, keeping it on the boards only while it is published
+     */
+    private void reload(UUID scenarioId) {
+        try {
+            ScenarioDTO scenario = readOnly().execute(status -> scenarioService.getScenarioById(scenarioId));
+            if (Boolean.TRUE.equals(scenario.getPublished())) {
+                leaderboard.put(scenario);
+            } else {
+                leaderboard.remove(scenarioId);
+            }
+        } catch (ResourceNotFoundException e) {
+            leaderboard.remove(scenarioId);
+        }
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setReadOnly(true);
+        return template;
+    }
+}
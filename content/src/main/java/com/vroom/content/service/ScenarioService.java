@@ -2,6 +2,7 @@ package com.vroom.content.service;
 
 import com.vroom.content.dto.CreateScenarioRequest;
 import com.vroom.content.dto.ScenarioDTO;
+import com.vroom.content.dto.ScenarioDeletionDTO;
 import com.vroom.content.model.enums.Difficulty;
 import com.vroom.content.model.enums.Theme;
 
@@ -32,9 +33,5 @@ public interface ScenarioService {
 
     ScenarioDTO unpublishScenario(UUID id, UUID unpublishedBy);
 
-    void deleteScenario(UUID id);
-
-    List<ScenarioDTO> getTopRatedScenarios(int limit);
-
-    List<ScenarioDTO> getMostPopularScenarios(int limit);
+    ScenarioDeletionDTO deleteScenario(UUID id);
 }
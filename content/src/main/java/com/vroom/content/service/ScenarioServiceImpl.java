@@ -2,6 +2,9 @@ package com.vroom.content.service;
 
 import com.vroom.content.dto.CreateScenarioRequest;
 import com.vroom.content.dto.ScenarioDTO;
+import com.vroom.content.dto.ScenarioDeletionDTO;
+import com.vroom.content.event.ScenarioChangedEvent;
+import com.vroom.content.event.ScenarioChangedEvent.ChangeType;
 import com.vroom.content.model.entity.Scenario;
 import com.vroom.content.model.enums.Difficulty;
 import com.vroom.content.model.enums.Theme;
@@ -12,15 +15,19 @@ import com.vroom.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -34,6 +41,19 @@ public class ScenarioServiceImpl implements ScenarioService {
     private final ScenarioRepository scenarioRepository;
     private final QuestionRepository questionRepository;
     private final InteractionPointRepository interactionPointRepository;
+    private final PrerequisiteGraphService prerequisiteGraphService;
+    private final ScenarioDeletionService scenarioDeletionService;
+    private final ScenarioSnapshotService scenarioSnapshotService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final String PUBLISHED = "published";
+
+    private final RefreshAheadCache<UUID, ScenarioDTO> scenarioCache = new RefreshAheadCache<>(
+            1_000, Duration.ofMinutes(5), Duration.ofMinutes(10), 0.2, this::loadScenario);
+
+    private final RefreshAheadCache<String, List<ScenarioDTO>> publishedListCache = new RefreshAheadCache<>(
+            1, Duration.ofMinutes(5), Duration.ofMinutes(10), 0.2, key -> loadPublishedScenarios());
 
     /**
      * Create a new scenario
@@ -42,6 +62,8 @@ public class ScenarioServiceImpl implements ScenarioService {
     public ScenarioDTO createScenario(CreateScenarioRequest request, UUID createdBy) {
         log.info("Creating new scenario: {}", request.getTitle());
 
+        prerequisiteGraphService.validatePrerequisites(null, request.getPrerequisiteIds());
+
         Scenario scenario = Scenario.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
@@ -63,46 +85,40 @@ public class ScenarioServiceImpl implements ScenarioService {
         Scenario savedScenario = scenarioRepository.save(scenario);
         log.info("Scenario created successfully: {}", savedScenario.getId());
 
+        eventPublisher.publishEvent(new ScenarioChangedEvent(savedScenario.getId(), ChangeType.CREATED));
+
         return mapToDTO(savedScenario);
     }
 
     /**
      * Get scenario by ID
      */
-    @Cacheable(value = "scenarios", key = "#id")
     public ScenarioDTO getScenarioById(UUID id) {
         log.debug("Fetching scenario: {}", id);
 
-        Scenario scenario = scenarioRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Scenario", "id", id));
-
-        return mapToDTO(scenario);
+        return scenarioCache.get(id);
     }
 
     /**
      * Get published scenario by ID (for students)
      */
-    @Cacheable(value = "publishedScenarios", key = "#id")
     public ScenarioDTO getPublishedScenario(UUID id) {
         log.debug("Fetching published scenario: {}", id);
 
-        Scenario scenario = scenarioRepository.findByIdAndPublishedTrue(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Scenario", "id", id));
-
-        return mapToDTO(scenario);
+        ScenarioDTO scenario = scenarioCache.get(id);
+        if (!Boolean.TRUE.equals(scenario.getPublished())) {
+            throw new ResourceNotFoundException("Scenario", "id", id);
+        }
+        return scenario;
     }
 
     /**
      * Get all published scenarios
      */
-    @Cacheable(value = "publishedScenariosList")
     public List<ScenarioDTO> getAllPublishedScenarios() {
         log.debug("Fetching all published scenarios");
 
-        return scenarioRepository.findByPublishedTrueOrderByCreatedAtDesc()
-                .stream()
-                .map(this::mapToDTO)
-                .toList();
+        return publishedListCache.get(PUBLISHED);
     }
 
     /**
@@ -157,7 +173,6 @@ public class ScenarioServiceImpl implements ScenarioService {
      * Update scenario
      */
     @Transactional
-    @CacheEvict(value = {"scenarios", "publishedScenarios", "publishedScenariosList"}, allEntries = true)
     public ScenarioDTO updateScenario(UUID id, CreateScenarioRequest request, UUID updatedBy) {
         log.info("Updating scenario: {}", id);
 
@@ -190,6 +205,7 @@ public class ScenarioServiceImpl implements ScenarioService {
             scenario.setTags(request.getTags());
         }
         if (request.getPrerequisiteIds() != null) {
+            prerequisiteGraphService.validatePrerequisites(id, request.getPrerequisiteIds());
             scenario.setPrerequisiteIds(request.getPrerequisiteIds());
         }
         if (request.getThumbnailUrl() != null) {
@@ -209,6 +225,8 @@ public class ScenarioServiceImpl implements ScenarioService {
         Scenario updatedScenario = scenarioRepository.save(scenario);
         log.info("Scenario updated successfully: {}", id);
 
+        eventPublisher.publishEvent(new ScenarioChangedEvent(id, ChangeType.UPDATED));
+
         return mapToDTO(updatedScenario);
     }
 
@@ -216,7 +234,6 @@ public class ScenarioServiceImpl implements ScenarioService {
      * Publish scenario
      */
     @Transactional
-    @CacheEvict(value = {"scenarios", "publishedScenarios", "publishedScenariosList"}, allEntries = true)
     public ScenarioDTO publishScenario(UUID id, UUID publishedBy) {
         log.info("Publishing scenario: {}", id);
 
@@ -224,9 +241,12 @@ public class ScenarioServiceImpl implements ScenarioService {
                 .orElseThrow(() -> new RuntimeException("Scenario not found with id: " + id));
 
         scenario.publish(publishedBy);
+        scenario.useSnapshot(scenarioSnapshotService.freeze(mapToDTO(scenario), publishedBy));
         Scenario published = scenarioRepository.save(scenario);
 
         log.info("Scenario published successfully: {}", id);
+
+        eventPublisher.publishEvent(new ScenarioChangedEvent(id, ChangeType.PUBLISHED));
         return mapToDTO(published);
     }
 
@@ -234,7 +254,6 @@ public class ScenarioServiceImpl implements ScenarioService {
      * Unpublish scenario
      */
     @Transactional
-    @CacheEvict(value = {"scenarios", "publishedScenarios", "publishedScenariosList"}, allEntries = true)
     public ScenarioDTO unpublishScenario(UUID id, UUID unpublishedBy) {
         log.info("Unpublishing scenario: {}", id);
 
@@ -245,6 +264,8 @@ public class ScenarioServiceImpl implements ScenarioService {
         Scenario unpublished = scenarioRepository.save(scenario);
 
         log.info("Scenario unpublished successfully: {}", id);
+
+        eventPublisher.publishEvent(new ScenarioChangedEvent(id, ChangeType.UNPUBLISHED));
         return mapToDTO(unpublished);
     }
 
@@ -252,46 +273,59 @@ public class ScenarioServiceImpl implements ScenarioService {
      * Delete scenario
      */
     @Transactional
-    @CacheEvict(value = {"scenarios", "publishedScenarios", "publishedScenariosList"}, allEntries = true)
-    public void deleteScenario(UUID id) {
+    public ScenarioDeletionDTO deleteScenario(UUID id) {
         log.info("Deleting scenario: {}", id);
 
         if (!scenarioRepository.existsById(id)) {
             throw new ResourceNotFoundException("Scenario", "id", id);
         }
 
-        // Delete related interaction points and questions
-        interactionPointRepository.deleteByScenarioId(id);
-        questionRepository.deleteByScenarioId(id);
+        ScenarioDeletionJob deletion = scenarioDeletionService.deleteScenario(id);
 
-        scenarioRepository.deleteById(id);
-        log.info("Scenario deleted successfully: {}", id);
+        if (deletion.isAsync()) {
+            // The scenario is only unpublished for now, the deletion job announces the delete itself
+            log.info("Scenario deletion scheduled: {} (job {})", id, deletion.getId());
+            eventPublisher.publishEvent(new ScenarioChangedEvent(id, ChangeType.UNPUBLISHED));
+        } else {
+            log.info("Scenario deleted successfully: {}", id);
+            eventPublisher.publishEvent(new ScenarioChangedEvent(id, ChangeType.DELETED));
+        }
+
+        return deletion.toDTO();
     }
 
     /**
-     * Get top rated scenarios
+     * Drop cached reads of a scenario once its change is committed
+     * Runs before other listeners so they reload fresh data
      */
-    public List<ScenarioDTO> getTopRatedScenarios(int limit) {
-        log.debug("Fetching top {} rated scenarios", limit);
-
-        Pageable pageable = PageRequest.of(0, limit);
-        return scenarioRepository.findTopRatedScenarios(pageable)
-                .stream()
-                .map(this::mapToDTO)
-                .toList();
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onScenarioChanged(ScenarioChangedEvent event) {
+        scenarioCache.invalidate(event.getScenarioId());
+        if (event.getChangeType() != ChangeType.CREATED) {
+            publishedListCache.invalidateAll();
+        }
     }
 
-    /**
-     * Get most popular scenarios
-     */
-    public List<ScenarioDTO> getMostPopularScenarios(int limit) {
-        log.debug("Fetching top {} popular scenarios", limit);
+    private ScenarioDTO loadScenario(UUID id) {
+        return readOnly().execute(status -> {
+            Scenario scenario = scenarioRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Scenario", "id", id));
+            return mapToDTO(scenario);
+        });
+    }
 
-        Pageable pageable = PageRequest.of(0, limit);
-        return scenarioRepository.findMostPopularScenarios(pageable)
+    private List<ScenarioDTO> loadPublishedScenarios() {
+        return readOnly().execute(status -> scenarioRepository.findByPublishedTrueOrderByCreatedAtDesc()
                 .stream()
                 .map(this::mapToDTO)
-                .toList();
+                .toList());
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setReadOnly(true);
+        return template;
     }
 
     /**
@@ -307,10 +341,10 @@ public class ScenarioServiceImpl implements ScenarioService {
                 .videoId(scenario.getVideoId())
                 .durationSeconds(scenario.getDurationSeconds())
                 .estimatedMinutes(scenario.getEstimatedMinutes())
-                .tags(scenario.getTags())
-                .prerequisiteIds(scenario.getPrerequisiteIds())
+                .tags(copyOf(scenario.getTags()))
+                .prerequisiteIds(copyOf(scenario.getPrerequisiteIds()))
                 .thumbnailUrl(scenario.getThumbnailUrl())
-                .learningObjectives(scenario.getLearningObjectives())
+                .learningObjectives(copyOf(scenario.getLearningObjectives()))
                 .maxPoints(scenario.getMaxPoints())
                 .passingScore(scenario.getPassingScore())
                 .published(scenario.getPublished())
@@ -320,8 +354,17 @@ public class ScenarioServiceImpl implements ScenarioService {
                 .createdBy(scenario.getCreatedBy())
                 .createdAt(scenario.getCreatedAt())
                 .publishedAt(scenario.getPublishedAt())
+                .snapshotVersion(scenario.getSnapshotVersion())
+                .snapshotHash(scenario.getSnapshotHash())
                 .questionCount((int) questionRepository.countByScenarioId(scenario.getId()))
                 .interactionPointCount((int) interactionPointRepository.countByScenarioId(scenario.getId()))
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Detached copy of an element collection, so cached DTOs never touch a closed session
+     */
+    private static <T> Set<T> copyOf(Set<T> values) {
+        return values != null ? new HashSet<>(values) : null;
+    }
+}
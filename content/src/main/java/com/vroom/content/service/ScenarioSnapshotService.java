@@ -0,0 +1,18 @@
+package com.vroom.content.service;
+
+import com.vroom.content.dto.ScenarioDTO;
+import com.vroom.content.model.entity.ScenarioSnapshot;
+
+import java.util.UUID;
+
+/**
+ * Service interface for immutable scenario snapshots
+ */
+public interface ScenarioSnapshotService {
+
+    ScenarioSnapshot freeze(ScenarioDTO scenario, UUID publishedBy);
+
+    CachedResponse getSnapshot(String contentHash);
+
+    CachedResponse getSnapshot(UUID scenarioId, int version);
+}
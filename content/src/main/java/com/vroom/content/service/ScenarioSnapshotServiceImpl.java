@@ -0,0 +1,160 @@
+package com.vroom.content.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vroom.content.dto.AnswerDTO;
+import com.vroom.content.dto.QuestionDTO;
+import com.vroom.content.dto.ScenarioDTO;
+import com.vroom.content.dto.ScenarioSnapshotDTO;
+import com.vroom.content.model.entity.ScenarioSnapshot;
+import com.vroom.content.repository.ScenarioSnapshotRepository;
+import com.vroom.shared.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Service freezing published scenarios into immutable, content-hashed snapshots
+ * Snapshots never change, so their serialized bodies are cached without expiry or invalidation.
+ * The stored content keeps the answer key for grading; the served body leaves it out.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScenarioSnapshotServiceImpl implements ScenarioSnapshotService {
+
+    private final ScenarioSnapshotRepository scenarioSnapshotRepository;
+    private final QuestionService questionService;
+    private final InteractionPointService interactionPointService;
+    private final ObjectMapper objectMapper;
+
+    private final Cache<String, CachedResponse> snapshots = Caffeine.newBuilder()
+            .maximumSize(500)
+            .build();
+
+    /**
+     * Freeze the scenario with its current questions, answers and interaction points
+     * Publishing unchanged content reuses the latest snapshot instead of adding a version
+     */
+    @Transactional
+    public ScenarioSnapshot freeze(ScenarioDTO scenario, UUID publishedBy) {
+        String content = serialize(ScenarioSnapshotDTO.builder()
+                .scenarioId(scenario.getId())
+                .scenario(frozen(scenario))
+                .questions(frozen(questionService.getQuestionsByScenario(scenario.getId())))
+                .interactionPoints(interactionPointService.getInteractionPointsByScenario(scenario.getId()))
+                .build());
+        String hash = HexFormat.of().formatHex(CachedResponse.sha256(content.getBytes(StandardCharsets.UTF_8)));
+
+        ScenarioSnapshot latest = scenarioSnapshotRepository.findFirstByScenarioIdOrderByVersionDesc(scenario.getId())
+                .orElse(null);
+        if (latest != null && latest.getContentHash().equals(hash)) {
+            log.debug("Scenario {} unchanged since snapshot version {}", scenario.getId(), latest.getVersion());
+            return latest;
+        }
+
+        ScenarioSnapshot snapshot = scenarioSnapshotRepository.save(ScenarioSnapshot.builder()
+                .scenarioId(scenario.getId())
+                .version(latest != null ? latest.getVersion() + 1 : 1)
+                .contentHash(hash)
+                .content(content)
+                .publishedBy(publishedBy)
+                .build());
+        log.info("Froze scenario {} as snapshot version {} ({})", scenario.getId(), snapshot.getVersion(), hash);
+        return snapshot;
+    }
+
+    /**
+     * Get a snapshot body by content hash
+     */
+    public CachedResponse getSnapshot(String contentHash) {
+        return snapshots.get(contentHash, hash -> scenarioSnapshotRepository.findFirstByContentHash(hash)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("ScenarioSnapshot", "hash", hash)));
+    }
+
+    /**
+     * Get a snapshot body by scenario and version
+     */
+    public CachedResponse getSnapshot(UUID scenarioId, int version) {
+        ScenarioSnapshot snapshot = scenarioSnapshotRepository.findByScenarioIdAndVersion(scenarioId, version)
+                .orElseThrow(() -> new ResourceNotFoundException("ScenarioSnapshot", "version", version));
+        return snapshots.get(snapshot.getContentHash(), hash -> toResponse(snapshot));
+    }
+
+    /**
+     * Public body of a snapshot: its content without answer correctness and explanations
+     */
+    private CachedResponse toResponse(ScenarioSnapshot snapshot) {
+        ScenarioSnapshotDTO content = read(snapshot.getContent());
+        if (content.getQuestions() != null) {
+            for (QuestionDTO question : content.getQuestions()) {
+                question.setExplanation(null);
+                if (question.getAnswers() != null) {
+                    for (AnswerDTO answer : question.getAnswers()) {
+                        answer.setIsCorrect(null);
+                        answer.setExplanation(null);
+                    }
+                }
+            }
+        }
+        return CachedResponse.of(serialize(content).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Scenario without statistics and publishing state, with sets sorted so equal content serializes equally
+     */
+    private static ScenarioDTO frozen(ScenarioDTO scenario) {
+        return scenario.toBuilder()
+                .tags(sorted(scenario.getTags()))
+                .prerequisiteIds(sorted(scenario.getPrerequisiteIds()))
+                .learningObjectives(sorted(scenario.getLearningObjectives()))
+                .published(null)
+                .completionCount(null)
+                .averageScore(null)
+                .averageCompletionTime(null)
+                .publishedAt(null)
+                .snapshotVersion(null)
+                .snapshotHash(null)
+                .build();
+    }
+
+    private static List<QuestionDTO> frozen(List<QuestionDTO> questions) {
+        for (QuestionDTO question : questions) {
+            question.setAttemptCount(null);
+            question.setCorrectCount(null);
+            question.setSuccessRate(null);
+        }
+        return questions;
+    }
+
+    private static <T extends Comparable<T>> Set<T> sorted(Set<T> values) {
+        return values != null ? new TreeSet<>(values) : null;
+    }
+
+    private ScenarioSnapshotDTO read(String content) {
+        try {
+            return objectMapper.readValue(content, ScenarioSnapshotDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read scenario snapshot", e);
+        }
+    }
+
+    private String serialize(ScenarioSnapshotDTO snapshot) {
+        try {
+            return objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize scenario snapshot", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.vroom.content.service;
+
+import com.vroom.content.dto.ImportReportDTO;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.UUID;
+
+/**
+ * Service interface for bulk scenario import and export
+ */
+public interface ScenarioTransferService {
+
+    void exportNdjson(OutputStream out);
+
+    void exportZip(OutputStream out);
+
+    ImportReportDTO importNdjson(InputStream in, UUID importedBy);
+
+    ImportReportDTO importZip(InputStream in, UUID importedBy);
+}
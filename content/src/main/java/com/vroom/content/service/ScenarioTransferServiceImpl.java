@@ -0,0 +1,886 @@
+package com.vroom.content.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vroom.content.dto.*;
+import com.vroom.content.dto.TransferRecordDTO.RecordType;
+import com.vroom.content.event.ScenarioChangedEvent;
+import com.vroom.content.event.ScenarioChangedEvent.ChangeType;
+import com.vroom.content.model.entity.Answer;
+import com.vroom.content.model.entity.InteractionPoint;
+import com.vroom.content.model.entity.Question;
+import com.vroom.content.model.entity.Scenario;
+import com.vroom.content.repository.InteractionPointRepository;
+import com.vroom.content.repository.QuestionRepository;
+import com.vroom.content.repository.ScenarioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Service for bulk scenario import and export as NDJSON (optionally zipped)
+ * Export pages through scenarios by id and streams one record per line; import reads
+ * line by line and saves records in chunked transactions, so neither side holds the catalog in memory;
+ * lines longer than a record can be are rejected without being buffered.
+ * Records are matched by external key, so re-running an import updates instead of duplicating.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScenarioTransferServiceImpl implements ScenarioTransferService {
+
+    private static final int EXPORT_PAGE_SIZE = 100;
+    private static final int IMPORT_CHUNK_SIZE = 100;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final int MAX_RECORD_LENGTH = 256 * 1024;
+    private static final String ZIP_ENTRY_NAME = "scenarios.ndjson";
+
+    private final ScenarioRepository scenarioRepository;
+    private final QuestionRepository questionRepository;
+    private final InteractionPointRepository interactionPointRepository;
+    private final PrerequisiteGraphService prerequisiteGraphService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    /**
+     * Export every scenario with its questions and interaction points as NDJSON
+     */
+    public void exportNdjson(OutputStream out) {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            writeCatalog(generator);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export scenarios", e);
+        }
+    }
+
+    /**
+     * Export the catalog as a zip bundle containing a single NDJSON entry
+     */
+    public void exportZip(OutputStream out) {
+        try {
+            ZipOutputStream zip = new ZipOutputStream(out);
+            zip.putNextEntry(new ZipEntry(ZIP_ENTRY_NAME));
+            exportNdjson(zip);
+            zip.closeEntry();
+            zip.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export scenarios", e);
+        }
+    }
+
+    /**
+     * Import scenarios, questions and interaction points from NDJSON
+     * Scenario records must come before the questions and points that reference them
+     */
+    public ImportReportDTO importNdjson(InputStream in, UUID importedBy) {
+        ImportContext context = new ImportContext(importedBy);
+        readRecords("ndjson", in, context);
+        linkPrerequisites(context);
+        return context.finish();
+    }
+
+    /**
+     * Import every .ndjson entry of a zip bundle, in bundle order
+     */
+    public ImportReportDTO importZip(InputStream in, UUID importedBy) {
+        ImportContext context = new ImportContext(importedBy);
+        try {
+            ZipInputStream zip = new ZipInputStream(in);
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (!entry.isDirectory() && entry.getName().endsWith(".ndjson")) {
+                    readRecords(entry.getName(), zip, context);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import bundle", e);
+        }
+        linkPrerequisites(context);
+        return context.finish();
+    }
+
+    private void writeCatalog(JsonGenerator generator) throws IOException {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+
+        UUID after = new UUID(0, 0);
+        long exported = 0;
+        while (true) {
+            UUID cursor = after;
+            List<TransferRecordDTO> records = new ArrayList<>();
+            UUID last = inTransaction(readOnly, status -> {
+                List<Scenario> page = scenarioRepository.findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, EXPORT_PAGE_SIZE));
+                if (page.isEmpty()) {
+                    return null;
+                }
+                collectPage(page, records);
+                return page.get(page.size() - 1).getId();
+            });
+            if (last == null) {
+                break;
+            }
+
+            for (TransferRecordDTO record : records) {
+                objectMapper.writeValue(generator, record);
+            }
+            generator.flush();
+            exported += records.size();
+            after = last;
+        }
+        log.info("Exported {} scenario records", exported);
+    }
+
+    private void collectPage(List<Scenario> page, List<TransferRecordDTO> records) {
+        List<UUID> scenarioIds = page.stream().map(Scenario::getId).toList();
+
+        Map<UUID, String> scenarioKeys = new HashMap<>();
+        page.forEach(scenario -> scenarioKeys.put(scenario.getId(), keyOf(scenario.getExternalKey(), scenario.getId())));
+
+        Set<UUID> foreignPrerequisites = page.stream()
+                .flatMap(scenario -> scenario.getPrerequisiteIds().stream())
+                .filter(id -> !scenarioKeys.containsKey(id))
+                .collect(Collectors.toSet());
+        if (!foreignPrerequisites.isEmpty()) {
+            for (Object[] row : scenarioRepository.findExternalKeys(foreignPrerequisites)) {
+                scenarioKeys.put((UUID) row[0], keyOf((String) row[1], (UUID) row[0]));
+            }
+        }
+
+        Map<UUID, List<Question>> questionsByScenario = questionRepository.findWithAnswersByScenarioIdIn(scenarioIds)
+                .stream()
+                .collect(Collectors.groupingBy(Question::getScenarioId, LinkedHashMap::new, Collectors.toList()));
+        Map<UUID, String> questionKeys = new HashMap<>();
+        questionsByScenario.values().forEach(questions -> questions.forEach(question ->
+                questionKeys.put(question.getId(), keyOf(question.getExternalKey(), question.getId()))));
+
+        Map<UUID, List<InteractionPoint>> pointsByScenario = interactionPointRepository.findByScenarioIdInOrderByTimestampSecondsAsc(scenarioIds)
+                .stream()
+                .collect(Collectors.groupingBy(InteractionPoint::getScenarioId, LinkedHashMap::new, Collectors.toList()));
+
+        for (Scenario scenario : page) {
+            String scenarioKey = scenarioKeys.get(scenario.getId());
+            records.add(scenarioRecord(scenario, scenarioKey, scenarioKeys));
+
+            for (Question question : questionsByScenario.getOrDefault(scenario.getId(), List.of())) {
+                records.add(questionRecord(question, scenarioKey, questionKeys.get(question.getId())));
+            }
+            for (InteractionPoint point : pointsByScenario.getOrDefault(scenario.getId(), List.of())) {
+                String questionKey = questionKeys.getOrDefault(point.getQuestionId(), point.getQuestionId().toString());
+                records.add(interactionPointRecord(point, scenarioKey, questionKey));
+            }
+        }
+    }
+
+    private TransferRecordDTO scenarioRecord(Scenario scenario, String key, Map<UUID, String> scenarioKeys) {
+        CreateScenarioRequest data = CreateScenarioRequest.builder()
+                .title(scenario.getTitle())
+                .description(scenario.getDescription())
+                .difficulty(scenario.getDifficulty())
+                .theme(scenario.getTheme())
+                .videoId(scenario.getVideoId())
+                .durationSeconds(scenario.getDurationSeconds() != null && scenario.getDurationSeconds() > 0 ? scenario.getDurationSeconds() : null)
+                .estimatedMinutes(scenario.getEstimatedMinutes())
+                .tags(new TreeSet<>(scenario.getTags()))
+                .thumbnailUrl(scenario.getThumbnailUrl())
+                .learningObjectives(new TreeSet<>(scenario.getLearningObjectives()))
+                .maxPoints(scenario.getMaxPoints())
+                .passingScore(scenario.getPassingScore())
+                .build();
+
+        List<String> prerequisiteKeys = scenario.getPrerequisiteIds().isEmpty() ? null : scenario.getPrerequisiteIds()
+                .stream()
+                .map(id -> scenarioKeys.getOrDefault(id, id.toString()))
+                .sorted()
+                .toList();
+
+        return TransferRecordDTO.builder()
+                .type(RecordType.SCENARIO)
+                .key(key)
+                .prerequisiteKeys(prerequisiteKeys)
+                .data(toData(data))
+                .build();
+    }
+
+    private TransferRecordDTO questionRecord(Question question, String scenarioKey, String key) {
+        List<CreateAnswerRequest> answers = question.getAnswers().stream()
+                .map(answer -> CreateAnswerRequest.builder()
+                        .answerText(answer.getAnswerText())
+                        .isCorrect(answer.getIsCorrect())
+                        .orderIndex(answer.getOrderIndex())
+                        .explanation(answer.getExplanation())
+                        .imageUrl(answer.getImageUrl())
+                        .build())
+                .toList();
+
+        CreateQuestionRequest data = CreateQuestionRequest.builder()
+                .type(question.getType())
+                .questionText(question.getQuestionText())
+                .hint(question.getHint())
+                .explanation(question.getExplanation())
+                .points(question.getPoints())
+                .timeLimitSeconds(question.getTimeLimitSeconds())
+                .orderIndex(question.getOrderIndex())
+                .answers(answers)
+                .build();
+
+        return TransferRecordDTO.builder()
+                .type(RecordType.QUESTION)
+                .key(key)
+                .scenarioKey(scenarioKey)
+                .data(toData(data))
+                .build();
+    }
+
+    private TransferRecordDTO interactionPointRecord(InteractionPoint point, String scenarioKey, String questionKey) {
+        CreateInteractionPointRequest data = CreateInteractionPointRequest.builder()
+                .timestampSeconds(point.getTimestampSeconds())
+                .title(point.getTitle())
+                .description(point.getDescription())
+                .orderIndex(point.getOrderIndex())
+                .mandatory(point.getMandatory())
+                .build();
+
+        return TransferRecordDTO.builder()
+                .type(RecordType.INTERACTION_POINT)
+                .key(keyOf(point.getExternalKey(), point.getId()))
+                .scenarioKey(scenarioKey)
+                .questionKey(questionKey)
+                .data(toData(data))
+                .build();
+    }
+
+    /**
+     * Convert a request DTO to the record payload, leaving out null fields
+     */
+    private JsonNode toData(Object data) {
+        JsonNode node = objectMapper.valueToTree(data);
+        pruneNulls(node);
+        return node;
+    }
+
+    private static void pruneNulls(JsonNode node) {
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                JsonNode value = fields.next().getValue();
+                if (value.isNull()) {
+                    fields.remove();
+                } else {
+                    pruneNulls(value);
+                }
+            }
+        } else if (node.isArray()) {
+            node.forEach(ScenarioTransferServiceImpl::pruneNulls);
+        }
+    }
+
+    private static String keyOf(String externalKey, UUID id) {
+        return externalKey != null ? externalKey : id.toString();
+    }
+
+    private void readRecords(String source, InputStream in, ImportContext context) {
+        // The reader is deliberately not closed, zip entries share the underlying stream
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<ParsedRecord> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+
+        try {
+            StringBuilder buffer = new StringBuilder();
+            long length;
+            int lineNumber = 0;
+            while ((length = readLine(reader, buffer)) >= 0) {
+                lineNumber++;
+                String line = buffer.toString();
+                if (line.isBlank()) {
+                    continue;
+                }
+                context.report.setTotalRecords(context.report.getTotalRecords() + 1);
+
+                if (length > MAX_RECORD_LENGTH) {
+                    context.fail(source, lineNumber, null, "Record is longer than " + MAX_RECORD_LENGTH + " characters");
+                } else {
+                    try {
+                        chunk.add(new ParsedRecord(source, lineNumber, objectMapper.readValue(line, TransferRecordDTO.class)));
+                    } catch (JsonProcessingException e) {
+                        context.fail(source, lineNumber, null, "Malformed record: " + e.getOriginalMessage());
+                    }
+                }
+
+                if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                    processChunk(chunk, context);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import stream", e);
+        }
+        processChunk(chunk, context);
+    }
+
+    /**
+     * Read the next line into the buffer, keeping at most MAX_RECORD_LENGTH of its characters
+     * Returns the full length of the line, or -1 at the end of the stream
+     */
+    private static long readLine(Reader reader, StringBuilder buffer) throws IOException {
+        buffer.setLength(0);
+        long length = 0;
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (length++ < MAX_RECORD_LENGTH) {
+                buffer.append((char) c);
+            }
+        }
+        if (c == -1 && length == 0) {
+            return -1;
+        }
+        if (length <= MAX_RECORD_LENGTH && !buffer.isEmpty() && buffer.charAt(buffer.length() - 1) == '\r') {
+            buffer.setLength(buffer.length() - 1);
+            length--;
+        }
+        return length;
+    }
+
+    /**
+     * Save a chunk in one transaction; if the database rejects it, retry record by record
+     * so one bad row only fails itself
+     */
+    private void processChunk(List<ParsedRecord> chunk, ImportContext context) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            context.commit(inTransaction(transactionTemplate, status -> applyAll(chunk, context)));
+        } catch (RuntimeException e) {
+            log.warn("Import chunk of {} records failed ({}), retrying one by one", chunk.size(), e.getMessage());
+            for (ParsedRecord record : chunk) {
+                try {
+                    context.commit(inTransaction(transactionTemplate, status -> applyAll(List.of(record), context)));
+                } catch (RuntimeException ex) {
+                    context.fail(record.source(), record.line(), record.dto().getKey(), rootMessage(ex));
+                }
+            }
+        }
+    }
+
+    /**
+     * Apply records against the rows they reference, loaded up front; no query runs between the saves,
+     * so the transaction is written by the single flush at commit
+     */
+    private Batch applyAll(List<ParsedRecord> records, ImportContext context) {
+        Batch batch = new Batch(loadRows(records, context));
+        records.forEach(record -> apply(record, batch, context));
+        return batch;
+    }
+
+    private void apply(ParsedRecord record, Batch batch, ImportContext context) {
+        try {
+            TransferRecordDTO dto = record.dto();
+            requireKey(dto.getKey(), "key");
+            if (dto.getType() == null) {
+                throw new RecordRejectedException("type is required");
+            }
+
+            switch (dto.getType()) {
+                case SCENARIO -> applyScenario(record, batch, context);
+                case QUESTION -> applyQuestion(record, batch);
+                case INTERACTION_POINT -> applyInteractionPoint(record, batch);
+            }
+        } catch (RecordRejectedException | IllegalArgumentException e) {
+            batch.errors.add(new ImportErrorDTO(record.source(), record.line(), record.dto().getKey(), e.getMessage()));
+        }
+    }
+
+    private void applyScenario(ParsedRecord record, Batch batch, ImportContext context) {
+        TransferRecordDTO dto = record.dto();
+        CreateScenarioRequest request = readData(dto, CreateScenarioRequest.class);
+        request.setPrerequisiteIds(null);
+        validate(request);
+
+        Scenario scenario = batch.rows.scenarios.get(dto.getKey());
+        boolean created = scenario == null;
+
+        if (created) {
+            scenario = Scenario.builder()
+                    .externalKey(dto.getKey())
+                    .createdBy(context.importedBy)
+                    .published(false)
+                    .build();
+        } else {
+            if (scenario.getExternalKey() == null && !dto.getKey().equals(scenario.getId().toString())) {
+                scenario.setExternalKey(dto.getKey());
+            }
+            scenario.setLastModifiedBy(context.importedBy);
+        }
+
+        scenario.setTitle(request.getTitle());
+        scenario.setDescription(request.getDescription());
+        scenario.setDifficulty(request.getDifficulty());
+        scenario.setTheme(request.getTheme());
+        scenario.setVideoId(request.getVideoId());
+        scenario.setDurationSeconds(request.getDurationSeconds() != null ? request.getDurationSeconds() : 0);
+        if (request.getEstimatedMinutes() != null) {
+            scenario.setEstimatedMinutes(request.getEstimatedMinutes());
+        } else if (request.getDurationSeconds() != null) {
+            scenario.setEstimatedMinutes((int) Math.ceil(request.getDurationSeconds() / 60.0));
+        }
+        scenario.setTags(request.getTags() != null ? new HashSet<>(request.getTags()) : new HashSet<>());
+        scenario.setThumbnailUrl(request.getThumbnailUrl());
+        scenario.setLearningObjectives(request.getLearningObjectives() != null ? new HashSet<>(request.getLearningObjectives()) : new HashSet<>());
+        scenario.setMaxPoints(request.getMaxPoints() != null ? request.getMaxPoints() : 100);
+        scenario.setPassingScore(request.getPassingScore() != null ? request.getPassingScore() : 70);
+
+        Scenario saved = scenarioRepository.save(scenario);
+
+        batch.rows.scenarios.put(dto.getKey(), saved);
+        batch.scenarioKeys.put(dto.getKey(), saved.getId());
+        batch.changed(saved.getId(), created ? ChangeType.CREATED : ChangeType.UPDATED);
+        if (created) {
+            batch.created++;
+        } else {
+            batch.updated++;
+        }
+        if (dto.getPrerequisiteKeys() != null) {
+            batch.prerequisites.put(saved.getId(), record);
+        }
+    }
+
+    private void applyQuestion(ParsedRecord record, Batch batch) {
+        TransferRecordDTO dto = record.dto();
+        UUID scenarioId = requireScenario(dto.getScenarioKey(), batch);
+
+        CreateQuestionRequest request = readData(dto, CreateQuestionRequest.class);
+        validate(request);
+        request.getAnswers().forEach(this::validate);
+
+        Question question = batch.rows.questions.get(dto.getKey());
+        boolean created = question == null;
+
+        if (created) {
+            question = Question.builder()
+                    .externalKey(dto.getKey())
+                    .scenarioId(scenarioId)
+                    .build();
+            for (int i = 0; i < request.getAnswers().size(); i++) {
+                CreateAnswerRequest answerReq = request.getAnswers().get(i);
+                question.addAnswer(Answer.builder()
+                        .answerText(answerReq.getAnswerText())
+                        .isCorrect(answerReq.getIsCorrect())
+                        .orderIndex(answerReq.getOrderIndex() != null ? answerReq.getOrderIndex() : i)
+                        .explanation(answerReq.getExplanation())
+                        .imageUrl(answerReq.getImageUrl())
+                        .build());
+            }
+        } else {
+            if (!scenarioId.equals(question.getScenarioId())) {
+                throw new RecordRejectedException("Question " + dto.getKey() + " belongs to another scenario");
+            }
+            QuestionServiceImpl.mergeAnswers(question, request.getAnswers());
+        }
+
+        question.setType(request.getType());
+        question.setQuestionText(request.getQuestionText());
+        question.setHint(request.getHint());
+        question.setExplanation(request.getExplanation());
+        question.setPoints(request.getPoints() != null ? request.getPoints() : 10);
+        question.setTimeLimitSeconds(request.getTimeLimitSeconds());
+        question.setOrderIndex(request.getOrderIndex() != null ? request.getOrderIndex() : 0);
+
+        Question saved = questionRepository.save(question);
+
+        batch.rows.questions.put(dto.getKey(), saved);
+        batch.questionKeys.put(dto.getKey(), saved.getId());
+        batch.changed(scenarioId, ChangeType.UPDATED);
+        if (created) {
+            batch.created++;
+        } else {
+            batch.updated++;
+        }
+    }
+
+    private void applyInteractionPoint(ParsedRecord record, Batch batch) {
+        TransferRecordDTO dto = record.dto();
+        UUID scenarioId = requireScenario(dto.getScenarioKey(), batch);
+
+        requireKey(dto.getQuestionKey(), "questionKey");
+        Question question = batch.rows.questions.get(dto.getQuestionKey());
+        if (question == null) {
+            throw new RecordRejectedException("Unknown question: " + dto.getQuestionKey());
+        }
+
+        CreateInteractionPointRequest request = readData(dto, CreateInteractionPointRequest.class);
+        request.setQuestionId(question.getId());
+        validate(request);
+
+        InteractionPoint point = batch.rows.points.get(dto.getKey());
+        boolean created = point == null;
+
+        if (created) {
+            point = InteractionPoint.builder()
+                    .externalKey(dto.getKey())
+                    .scenarioId(scenarioId)
+                    .build();
+        } else if (!scenarioId.equals(point.getScenarioId())) {
+            throw new RecordRejectedException("Interaction point " + dto.getKey() + " belongs to another scenario");
+        }
+
+        Map<Integer, InteractionPoint> timeline = batch.rows.pointsByTimestamp.computeIfAbsent(scenarioId, id -> new HashMap<>());
+        InteractionPoint other = timeline.get(request.getTimestampSeconds());
+        if (other != null && other != point) {
+            throw new RecordRejectedException("Interaction point already exists at timestamp: " + request.getTimestampSeconds());
+        }
+        if (!created) {
+            timeline.remove(point.getTimestampSeconds(), point);
+        }
+
+        point.setQuestionId(question.getId());
+        point.setTimestampSeconds(request.getTimestampSeconds());
+        point.setTitle(request.getTitle());
+        point.setDescription(request.getDescription());
+        point.setOrderIndex(request.getOrderIndex() != null ? request.getOrderIndex() : 0);
+        point.setMandatory(request.getMandatory() != null ? request.getMandatory() : true);
+
+        InteractionPoint saved = interactionPointRepository.save(point);
+
+        batch.rows.points.put(dto.getKey(), saved);
+        timeline.put(saved.getTimestampSeconds(), saved);
+        batch.changed(scenarioId, ChangeType.UPDATED);
+        if (created) {
+            batch.created++;
+        } else {
+            batch.updated++;
+        }
+    }
+
+    /**
+     * Prerequisites may point at scenarios later in the file, so they are linked once everything is imported
+     */
+    private void linkPrerequisites(ImportContext context) {
+        if (context.prerequisites.isEmpty()) {
+            return;
+        }
+        prerequisiteGraphService.invalidate();
+
+        // Keys of scenarios outside the import are resolved together
+        Set<String> outsideKeys = new HashSet<>();
+        context.prerequisites.values().forEach(record -> record.dto().getPrerequisiteKeys().stream()
+                .filter(key -> key != null && !context.scenarioKeys.containsKey(key))
+                .forEach(outsideKeys::add));
+        Map<String, UUID> outsideIds = new HashMap<>();
+        if (!outsideKeys.isEmpty()) {
+            inTransaction(transactionTemplate, status -> {
+                loadScenarios(outsideKeys, context).forEach((key, scenario) -> outsideIds.put(key, scenario.getId()));
+                return null;
+            });
+        }
+
+        context.prerequisites.forEach((scenarioId, record) -> {
+            TransferRecordDTO dto = record.dto();
+            try {
+                Set<UUID> prerequisiteIds = new HashSet<>();
+                for (String key : dto.getPrerequisiteKeys()) {
+                    UUID prerequisiteId = context.scenarioKeys.getOrDefault(key, outsideIds.get(key));
+                    if (prerequisiteId == null) {
+                        throw new IllegalArgumentException("Unknown prerequisite scenario: " + key);
+                    }
+                    prerequisiteIds.add(prerequisiteId);
+                }
+
+                inTransaction(transactionTemplate, status -> {
+                    prerequisiteGraphService.validatePrerequisites(scenarioId, prerequisiteIds);
+                    scenarioRepository.findById(scenarioId).ifPresent(scenario -> {
+                        scenario.getPrerequisiteIds().clear();
+                        scenario.getPrerequisiteIds().addAll(prerequisiteIds);
+                    });
+                    return null;
+                });
+                prerequisiteGraphService.invalidate();
+                eventPublisher.publishEvent(new ScenarioChangedEvent(scenarioId, ChangeType.UPDATED));
+            } catch (RuntimeException e) {
+                context.error(record.source(), record.line(), dto.getKey(), "Prerequisites not linked: " + rootMessage(e));
+            }
+        });
+    }
+
+    /**
+     * Run one page or chunk in a transaction and detach the entities it loaded
+     * Under open-in-view every transaction of a request joins the request's persistence context, which
+     * would otherwise keep the whole catalog managed and dirty-check all of it on every commit
+     */
+    private <T> T inTransaction(TransactionTemplate template, TransactionCallback<T> action) {
+        try {
+            return template.execute(action);
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    private UUID requireScenario(String scenarioKey, Batch batch) {
+        requireKey(scenarioKey, "scenarioKey");
+        Scenario scenario = batch.rows.scenarios.get(scenarioKey);
+        if (scenario == null) {
+            throw new RecordRejectedException("Unknown scenario: " + scenarioKey);
+        }
+        return scenario.getId();
+    }
+
+    /**
+     * Load the existing rows referenced by a list of records, with one or two queries per entity type
+     */
+    private ChunkRows loadRows(List<ParsedRecord> records, ImportContext context) {
+        Set<String> scenarioKeys = new HashSet<>();
+        Set<String> questionKeys = new HashSet<>();
+        Set<String> pointKeys = new HashSet<>();
+        Set<String> pointScenarioKeys = new HashSet<>();
+        for (ParsedRecord record : records) {
+            TransferRecordDTO dto = record.dto();
+            if (dto.getType() == null || dto.getKey() == null) {
+                continue;
+            }
+            switch (dto.getType()) {
+                case SCENARIO -> scenarioKeys.add(dto.getKey());
+                case QUESTION -> {
+                    questionKeys.add(dto.getKey());
+                    addKey(scenarioKeys, dto.getScenarioKey());
+                }
+                case INTERACTION_POINT -> {
+                    pointKeys.add(dto.getKey());
+                    addKey(scenarioKeys, dto.getScenarioKey());
+                    addKey(questionKeys, dto.getQuestionKey());
+                    addKey(pointScenarioKeys, dto.getScenarioKey());
+                }
+            }
+        }
+
+        ChunkRows rows = new ChunkRows(
+                loadScenarios(scenarioKeys, context),
+                loadRows(questionKeys, context.questionKeys, questionRepository::findWithAnswersByExternalKeyIn,
+                        questionRepository::findWithAnswersByIdIn, Question::getId, Question::getExternalKey),
+                loadRows(pointKeys, Map.of(), interactionPointRepository::findByExternalKeyIn,
+                        interactionPointRepository::findAllById, InteractionPoint::getId, InteractionPoint::getExternalKey));
+
+        // Existing points of the scenarios that get points, to reject a second point at the same timestamp
+        Set<UUID> pointScenarioIds = pointScenarioKeys.stream()
+                .map(rows.scenarios::get)
+                .filter(Objects::nonNull)
+                .map(Scenario::getId)
+                .collect(Collectors.toSet());
+        if (!pointScenarioIds.isEmpty()) {
+            for (InteractionPoint point : interactionPointRepository.findByScenarioIdInOrderByTimestampSecondsAsc(pointScenarioIds)) {
+                rows.pointsByTimestamp.computeIfAbsent(point.getScenarioId(), id -> new HashMap<>())
+                        .put(point.getTimestampSeconds(), point);
+            }
+        }
+        return rows;
+    }
+
+    private Map<String, Scenario> loadScenarios(Set<String> keys, ImportContext context) {
+        return loadRows(keys, context.scenarioKeys, scenarioRepository::findByExternalKeyIn,
+                scenarioRepository::findAllById, Scenario::getId, Scenario::getExternalKey);
+    }
+
+    /**
+     * Load rows by key: keys seen earlier in this import by their id, then the external key column,
+     * then the key read as the id of an existing row (how records that were never imported are exported)
+     */
+    private static <T> Map<String, T> loadRows(Set<String> keys, Map<String, UUID> importKeys,
+                                               Function<Collection<String>, List<T>> byExternalKeys,
+                                               Function<Collection<UUID>, List<T>> byIds,
+                                               Function<T, UUID> idOf, Function<T, String> externalKeyOf) {
+        Map<String, T> rows = new HashMap<>();
+        if (keys.isEmpty()) {
+            return rows;
+        }
+
+        Map<String, UUID> ids = new HashMap<>();
+        List<String> unresolved = new ArrayList<>();
+        for (String key : keys) {
+            UUID id = importKeys.get(key);
+            if (id != null) {
+                ids.put(key, id);
+            } else {
+                unresolved.add(key);
+            }
+        }
+
+        if (!unresolved.isEmpty()) {
+            byExternalKeys.apply(unresolved).forEach(row -> rows.put(externalKeyOf.apply(row), row));
+            unresolved.stream()
+                    .filter(key -> !rows.containsKey(key))
+                    .forEach(key -> parseUuid(key).ifPresent(id -> ids.put(key, id)));
+        }
+
+        if (!ids.isEmpty()) {
+            Map<UUID, T> byId = new HashMap<>();
+            byIds.apply(new HashSet<>(ids.values())).forEach(row -> byId.put(idOf.apply(row), row));
+            ids.forEach((key, id) -> {
+                T row = byId.get(id);
+                if (row != null) {
+                    rows.put(key, row);
+                }
+            });
+        }
+        return rows;
+    }
+
+    private static void addKey(Set<String> keys, String key) {
+        if (key != null) {
+            keys.add(key);
+        }
+    }
+
+    private <T> T readData(TransferRecordDTO dto, Class<T> type) {
+        if (dto.getData() == null || dto.getData().isNull()) {
+            throw new RecordRejectedException("data is required");
+        }
+        try {
+            return objectMapper.treeToValue(dto.getData(), type);
+        } catch (JsonProcessingException e) {
+            throw new RecordRejectedException("Invalid data: " + e.getOriginalMessage());
+        }
+    }
+
+    private void validate(Object request) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new RecordRejectedException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private static void requireKey(String key, String field) {
+        if (key == null || key.isBlank()) {
+            throw new RecordRejectedException(field + " is required");
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new RecordRejectedException(field + " cannot exceed " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private static Optional<UUID> parseUuid(String value) {
+        try {
+            return Optional.of(UUID.fromString(value));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private record ParsedRecord(String source, int line, TransferRecordDTO dto) {
+    }
+
+    /**
+     * Rows of one transaction by import key: the existing ones loaded up front and the ones it saved
+     */
+    private record ChunkRows(Map<String, Scenario> scenarios, Map<String, Question> questions,
+                             Map<String, InteractionPoint> points, Map<UUID, Map<Integer, InteractionPoint>> pointsByTimestamp) {
+
+        private ChunkRows(Map<String, Scenario> scenarios, Map<String, Question> questions, Map<String, InteractionPoint> points) {
+            this(scenarios, questions, points, new HashMap<>());
+        }
+    }
+
+    /**
+     * Outcome of one transaction, only merged into the import once it has committed
+     */
+    private static class Batch {
+        private final ChunkRows rows;
+        private final Map<String, UUID> scenarioKeys = new HashMap<>();
+        private final Map<String, UUID> questionKeys = new HashMap<>();
+        private final Map<UUID, ParsedRecord> prerequisites = new LinkedHashMap<>();
+        private final Map<UUID, ChangeType> changedScenarios = new LinkedHashMap<>();
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private long created;
+        private long updated;
+
+        private Batch(ChunkRows rows) {
+            this.rows = rows;
+        }
+
+        private void changed(UUID scenarioId, ChangeType changeType) {
+            changedScenarios.merge(scenarioId, changeType, (existing, added) -> existing == ChangeType.CREATED ? existing : added);
+        }
+    }
+
+    private class ImportContext {
+        private final UUID importedBy;
+        private final ImportReportDTO report = new ImportReportDTO();
+        private final Map<String, UUID> scenarioKeys = new HashMap<>();
+        private final Map<String, UUID> questionKeys = new HashMap<>();
+        private final Map<UUID, ParsedRecord> prerequisites = new LinkedHashMap<>();
+
+        private ImportContext(UUID importedBy) {
+            this.importedBy = importedBy;
+        }
+
+        private void commit(Batch batch) {
+            scenarioKeys.putAll(batch.scenarioKeys);
+            questionKeys.putAll(batch.questionKeys);
+            prerequisites.putAll(batch.prerequisites);
+            report.setCreated(report.getCreated() + batch.created);
+            report.setUpdated(report.getUpdated() + batch.updated);
+            batch.errors.forEach(error -> fail(error.getSource(), error.getLine(), error.getKey(), error.getMessage()));
+            batch.changedScenarios.forEach((scenarioId, changeType) ->
+                    eventPublisher.publishEvent(new ScenarioChangedEvent(scenarioId, changeType)));
+        }
+
+        private void fail(String source, int line, String key, String message) {
+            report.setFailed(report.getFailed() + 1);
+            error(source, line, key, message);
+        }
+
+        private void error(String source, int line, String key, String message) {
+            if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+                report.getErrors().add(new ImportErrorDTO(source, line, key, message));
+            } else {
+                report.setErrorsTruncated(true);
+            }
+        }
+
+        private ImportReportDTO finish() {
+            log.info("Import finished: {} records, {} created, {} updated, {} failed",
+                    report.getTotalRecords(), report.getCreated(), report.getUpdated(), report.getFailed());
+            return report;
+        }
+    }
+
+    private static class RecordRejectedException extends RuntimeException {
+        private RecordRejectedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.vroom.content.model.index;
+
+import com.vroom.content.model.entity.Answer;
+import com.vroom.content.model.entity.Question;
+import com.vroom.content.model.enums.QuestionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerKeyTest {
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+
+    private AnswerKey key() {
+        Question question = Question.builder()
+                .id(UUID.randomUUID())
+                .type(QuestionType.MULTIPLE_CHOICE)
+                .points(15)
+                .build();
+        question.addAnswer(Answer.builder().id(a).isCorrect(true).build());
+        question.addAnswer(Answer.builder().id(b).isCorrect(false).build());
+        question.addAnswer(Answer.builder().id(c).isCorrect(true).build());
+        return AnswerKey.of(question);
+    }
+
+    @Test
+    void isCorrect_requiresExactlyTheCorrectAnswers() {
+        AnswerKey key = key();
+
+        assertTrue(key.isCorrect(Set.of(c, a)));
+        assertFalse(key.isCorrect(Set.of(a)));
+        assertFalse(key.isCorrect(Set.of(a, b)));
+        assertFalse(key.isCorrect(Set.of(a, b, c)));
+        assertFalse(key.isCorrect(Set.of()));
+    }
+
+    @Test
+    void grade_awardsPointsOnlyWhenCorrect() {
+        AnswerKey key = key();
+
+        assertEquals(15, key.grade(Set.of(a, c)));
+        assertEquals(0, key.grade(Set.of(b)));
+        assertEquals(2, key.getCorrectAnswerCount());
+    }
+}
@@ -0,0 +1,113 @@
+package com.vroom.content.model.index;
+
+import com.vroom.content.model.entity.Badge;
+import com.vroom.content.model.enums.BadgeType;
+import com.vroom.content.model.enums.Theme;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BadgeCatalogTest {
+
+    private Badge badge(String name, BadgeType type, boolean active) {
+        return Badge.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .description("Badge " + name)
+                .type(type)
+                .active(active)
+                .build();
+    }
+
+    @Test
+    void findPointsBadgesReachedBy_returnsBadgesUpToTotalInThresholdOrder() {
+        Badge p300 = badge("Points 300", BadgeType.SPECIAL, true);
+        Badge p100 = badge("Points 100", BadgeType.SPECIAL, true);
+        Badge p600 = badge("Points 600", BadgeType.SPECIAL, true);
+        BadgeCatalog catalog = BadgeCatalog.build(1, List.of(p300, p100, p600, badge("First Steps", BadgeType.COMPLETION, true)));
+
+        List<BadgeCatalog.Entry> reached = catalog.findPointsBadgesReachedBy(300);
+
+        assertEquals(List.of(p100.getId(), p300.getId()), reached.stream().map(BadgeCatalog.Entry::id).toList());
+        assertTrue(catalog.findPointsBadgesReachedBy(99).isEmpty());
+        assertEquals(3, catalog.findPointsBadgesReachedBy(5000).size());
+    }
+
+    private Badge rule(String name, String criteria) {
+        Badge badge = badge(name, BadgeType.SKILL_MASTERY, true);
+        badge.setCriteria(criteria);
+        return badge;
+    }
+
+    @Test
+    void build_compilesCriteriaIntoRuleIndexes() {
+        UUID scenarioId = UUID.randomUUID();
+        Badge highway3 = rule("Highway Pro", "{\"type\":\"THEME_PASSED\",\"theme\":\"HIGHWAY\",\"min\":3}");
+        Badge highway1 = rule("Highway Rookie", "{\"type\":\"THEME_PASSED\",\"theme\":\"HIGHWAY\",\"min\":1}");
+        Badge ace = rule("Ace", "{\"type\":\"SCENARIO_SCORE\",\"scenarioId\":\"" + scenarioId + "\",\"min\":90}");
+        Badge streak = rule("Week Streak", "{\"type\":\"STREAK_DAYS\",\"min\":7}");
+        Badge invalid = rule("Broken", "{\"type\":\"THEME_PASSED\",\"min\":3}");
+        Badge text = rule("Described", "Complete every scenario");
+        BadgeCatalog catalog = BadgeCatalog.build(1, List.of(highway3, highway1, ace, streak, invalid, text));
+
+        assertEquals(List.of(highway1.getId(), highway3.getId()),
+                catalog.findThemeRules(Theme.HIGHWAY).stream().map(BadgeCatalog.Entry::id).toList());
+        assertEquals(ace.getId(), catalog.findScenarioRules(scenarioId).get(0).id());
+        assertTrue(catalog.findReachedBy(BadgeCriterion.Type.STREAK_DAYS, 6).isEmpty());
+        assertEquals(1, catalog.findReachedBy(BadgeCriterion.Type.STREAK_DAYS, 7).size());
+        assertNull(catalog.findByName("Broken").orElseThrow().criterion());
+        assertNull(catalog.findByName("Described").orElseThrow().criterion());
+    }
+
+    @Test
+    void build_fillsCriteriaFromBadgeRelationsAndLegacyNames() {
+        UUID scenarioId = UUID.randomUUID();
+        Badge theme = rule("Parking Pro", "{\"type\":\"THEME_PASSED\",\"min\":2}");
+        theme.setRelatedTheme(Theme.PARKING.name());
+        Badge score = rule("Perfect Park", "{\"type\":\"SCENARIO_SCORE\",\"min\":100}");
+        score.setRelatedScenarioId(scenarioId);
+        Badge points = badge("Points 500", BadgeType.SPECIAL, true);
+        BadgeCatalog catalog = BadgeCatalog.build(1, List.of(theme, score, points));
+
+        assertEquals(theme.getId(), catalog.findThemeRules(Theme.PARKING).get(0).id());
+        assertEquals(score.getId(), catalog.findScenarioRules(scenarioId).get(0).id());
+        assertTrue(catalog.findReachedBy(BadgeCriterion.Type.POINTS, 499).isEmpty());
+        assertEquals(points.getId(), catalog.findReachedBy(BadgeCriterion.Type.POINTS, 500).get(0).id());
+    }
+
+    @Test
+    void build_skipsInactiveBadgesAndIndexesByNameAndType() {
+        Badge active = badge("First Steps", BadgeType.COMPLETION, true);
+        Badge inactive = badge("Retired", BadgeType.COMPLETION, false);
+        BadgeCatalog catalog = BadgeCatalog.build(1, List.of(active, inactive));
+
+        assertEquals(1, catalog.size());
+        assertEquals(active.getId(), catalog.findByName("First Steps").orElseThrow().id());
+        assertTrue(catalog.findByName("Retired").isEmpty());
+        assertEquals(1, catalog.findByType(BadgeType.COMPLETION).size());
+        assertTrue(catalog.findByType(BadgeType.STREAK).isEmpty());
+    }
+
+    @Test
+    void earned_tracksCatalogBadgesAndCountsOthers() {
+        Badge p100 = badge("Points 100", BadgeType.SPECIAL, true);
+        Badge p300 = badge("Points 300", BadgeType.SPECIAL, true);
+        BadgeCatalog catalog = BadgeCatalog.build(1, List.of(p100, p300));
+        BadgeCatalog.Entry first = catalog.findById(p100.getId()).orElseThrow();
+        BadgeCatalog.Entry second = catalog.findById(p300.getId()).orElseThrow();
+
+        EarnedBadges earned = catalog.earned(List.of(p100.getId(), UUID.randomUUID()));
+
+        assertTrue(earned.contains(first));
+        assertFalse(earned.contains(second));
+        assertEquals(2, earned.getTotal());
+
+        earned.add(second);
+        earned.add(second);
+        assertTrue(earned.contains(second));
+        assertEquals(3, earned.getTotal());
+    }
+}
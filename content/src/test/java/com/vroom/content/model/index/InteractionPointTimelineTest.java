@@ -0,0 +1,55 @@
+package com.vroom.content.model.index;
+
+import com.vroom.content.model.entity.InteractionPoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InteractionPointTimelineTest {
+
+    private InteractionPoint point(int seconds, boolean mandatory) {
+        return InteractionPoint.builder()
+                .id(UUID.randomUUID())
+                .questionId(UUID.randomUUID())
+                .timestampSeconds(seconds)
+                .mandatory(mandatory)
+                .build();
+    }
+
+    @Test
+    void of_sortsByTimestamp() {
+        InteractionPointTimeline timeline = InteractionPointTimeline.of(List.of(
+                point(90, true), point(10, false), point(45, true)));
+
+        assertEquals(10, timeline.getTimestampSeconds(0));
+        assertEquals(45, timeline.getTimestampSeconds(1));
+        assertEquals(90, timeline.getTimestampSeconds(timeline.size() - 1));
+    }
+
+    @Test
+    void next_whenMandatoryOnly_skipsOptionalPoints() {
+        InteractionPointTimeline timeline = InteractionPointTimeline.of(List.of(
+                point(10, false), point(45, true), point(90, true)));
+
+        assertEquals(10, timeline.getTimestampSeconds(timeline.next(0, false)));
+        assertEquals(45, timeline.getTimestampSeconds(timeline.next(0, true)));
+        assertEquals(45, timeline.getTimestampSeconds(timeline.next(45, true)));
+        assertEquals(InteractionPointTimeline.NONE, timeline.next(91, false));
+    }
+
+    @Test
+    void range_isInclusiveOnBothEnds() {
+        InteractionPointTimeline timeline = InteractionPointTimeline.of(List.of(
+                point(10, true), point(45, true), point(90, true)));
+
+        int[] range = timeline.range(10, 45);
+        assertEquals(0, range[0]);
+        assertEquals(2, range[1]);
+
+        int[] none = timeline.range(46, 89);
+        assertEquals(none[0], none[1]);
+    }
+}
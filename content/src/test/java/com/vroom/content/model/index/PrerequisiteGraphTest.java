@@ -0,0 +1,51 @@
+package com.vroom.content.model.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrerequisiteGraphTest {
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+
+    @Test
+    void build_computesTransitivePrerequisites() {
+        PrerequisiteGraph graph = PrerequisiteGraph.build(1, List.of(a, b, c), Map.of(
+                b, Set.of(a),
+                c, Set.of(b)));
+
+        assertEquals(Set.of(a, b), graph.getTransitivePrerequisites(c));
+        assertTrue(graph.requires(c, a));
+        assertFalse(graph.requires(a, c));
+        assertFalse(graph.hasPrerequisites(a));
+    }
+
+    @Test
+    void isUnlocked_requiresWholeChainToBePassed() {
+        PrerequisiteGraph graph = PrerequisiteGraph.build(1, List.of(a, b, c), Map.of(
+                b, Set.of(a),
+                c, Set.of(b)));
+
+        BitSet onlyB = graph.toBitSet(Set.of(b));
+        assertFalse(graph.isUnlocked(c, onlyB));
+
+        BitSet aAndB = graph.toBitSet(Set.of(a, b));
+        assertTrue(graph.isUnlocked(c, aAndB));
+        assertEquals(Set.of(a, b), graph.getUnlocked(graph.toBitSet(Set.of(a))));
+    }
+
+    @Test
+    void build_whenCycle_throwsIllegalStateException() {
+        assertThrows(IllegalStateException.class, () -> PrerequisiteGraph.build(1, List.of(a, b), Map.of(
+                a, Set.of(b),
+                b, Set.of(a))));
+    }
+}
@@ -0,0 +1,88 @@
+package com.vroom.content.model.index;
+
+import com.vroom.content.dto.ScenarioDTO;
+import com.vroom.content.model.enums.Difficulty;
+import com.vroom.content.model.enums.Theme;
+import com.vroom.content.model.index.ScenarioLeaderboard.Ranking;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioLeaderboardTest {
+
+    private ScenarioDTO scenario(Theme theme, Difficulty difficulty, int completions, Double averageScore) {
+        return ScenarioDTO.builder()
+                .id(UUID.randomUUID())
+                .theme(theme)
+                .difficulty(difficulty)
+                .completionCount(completions)
+                .averageScore(averageScore)
+                .build();
+    }
+
+    private List<UUID> ids(List<ScenarioDTO> scenarios) {
+        return scenarios.stream().map(ScenarioDTO::getId).toList();
+    }
+
+    @Test
+    void top_ordersByRankingAndFiltersByThemeAndDifficulty() {
+        ScenarioLeaderboard leaderboard = new ScenarioLeaderboard();
+        ScenarioDTO highway = scenario(Theme.HIGHWAY, Difficulty.BEGINNER, 5, 90.0);
+        ScenarioDTO urban = scenario(Theme.URBAN_DRIVING, Difficulty.BEGINNER, 20, 70.0);
+        ScenarioDTO unrated = scenario(Theme.HIGHWAY, Difficulty.INTERMEDIATE, 1, null);
+        leaderboard.put(highway);
+        leaderboard.put(urban);
+        leaderboard.put(unrated);
+
+        assertEquals(List.of(highway.getId(), urban.getId()), ids(leaderboard.top(Ranking.TOP_RATED, null, null, 10)));
+        assertEquals(List.of(urban.getId(), highway.getId(), unrated.getId()), ids(leaderboard.top(Ranking.POPULAR, null, null, 10)));
+        assertEquals(List.of(highway.getId(), unrated.getId()), ids(leaderboard.top(Ranking.POPULAR, Theme.HIGHWAY, null, 10)));
+        assertEquals(List.of(unrated.getId()), ids(leaderboard.top(Ranking.POPULAR, Theme.HIGHWAY, Difficulty.INTERMEDIATE, 10)));
+        assertEquals(1, leaderboard.top(Ranking.POPULAR, null, null, 1).size());
+    }
+
+    @Test
+    void updateStatistics_reRanksScenario() {
+        ScenarioLeaderboard leaderboard = new ScenarioLeaderboard();
+        ScenarioDTO first = scenario(Theme.HIGHWAY, Difficulty.BEGINNER, 10, 80.0);
+        ScenarioDTO second = scenario(Theme.HIGHWAY, Difficulty.BEGINNER, 5, 60.0);
+        leaderboard.put(first);
+        leaderboard.put(second);
+
+        assertTrue(leaderboard.updateStatistics(second.getId(), 15, 95.0));
+
+        assertEquals(List.of(second.getId(), first.getId()), ids(leaderboard.top(Ranking.POPULAR, null, null, 10)));
+        assertEquals(List.of(second.getId(), first.getId()), ids(leaderboard.top(Ranking.TOP_RATED, Theme.HIGHWAY, null, 10)));
+        assertEquals(15, leaderboard.get(second.getId()).getCompletionCount());
+        assertFalse(leaderboard.updateStatistics(UUID.randomUUID(), 1, 50.0));
+    }
+
+    @Test
+    void updateStatistics_ranksAScenarioScoredForTheFirstTime() {
+        ScenarioLeaderboard leaderboard = new ScenarioLeaderboard();
+        ScenarioDTO scored = scenario(Theme.HIGHWAY, Difficulty.BEGINNER, 4, 70.0);
+        ScenarioDTO unscored = scenario(Theme.HIGHWAY, Difficulty.BEGINNER, 0, null);
+        leaderboard.put(scored);
+        leaderboard.put(unscored);
+
+        assertTrue(leaderboard.updateStatistics(unscored.getId(), 1, 90.0));
+
+        assertEquals(List.of(unscored.getId(), scored.getId()), ids(leaderboard.top(Ranking.TOP_RATED, null, null, 10)));
+    }
+
+    @Test
+    void remove_takesScenarioOffEveryBoard() {
+        ScenarioLeaderboard leaderboard = new ScenarioLeaderboard();
+        ScenarioDTO scenario = scenario(Theme.HIGHWAY, Difficulty.BEGINNER, 3, 75.0);
+        leaderboard.put(scenario);
+
+        leaderboard.remove(scenario.getId());
+
+        assertTrue(leaderboard.top(Ranking.TOP_RATED, null, null, 10).isEmpty());
+        assertTrue(leaderboard.top(Ranking.POPULAR, Theme.HIGHWAY, Difficulty.BEGINNER, 10).isEmpty());
+        assertEquals(0, leaderboard.size());
+    }
+}
@@ -0,0 +1,138 @@
+package com.vroom.content.service;
+
+import com.vroom.content.model.entity.Badge;
+import com.vroom.content.model.enums.BadgeType;
+import com.vroom.content.model.index.BadgeCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BadgeEarnedCountServiceImplTest {
+
+    private static final String STORED_SQL = "SELECT id, earned_count FROM badges";
+
+    @Mock
+    private BadgeCatalogService badgeCatalogService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private BadgeEarnedCountServiceImpl service;
+
+    private UUID first;
+    private UUID second;
+    private UUID third;
+
+    @BeforeEach
+    void setUp() {
+        first = UUID.randomUUID();
+        second = UUID.randomUUID();
+        third = UUID.randomUUID();
+    }
+
+    @Test
+    void flush_writesPendingAwardsAsOneBatchOfIncrements() {
+        service.recordEarned(first);
+        service.recordEarned(first);
+        service.recordEarned(second);
+
+        service.flush();
+        service.flush();
+
+        List<Object[]> batch = capturedBatch("UPDATE badges SET earned_count = earned_count + ?");
+        assertEquals(Map.of(first, 2L, second, 1L), toMap(batch));
+    }
+
+    @Test
+    void flush_keepsDeltasOfAFailedBatchForTheNextRun() {
+        service.recordEarned(first);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new RuntimeException("database down"))
+                .thenReturn(new int[] {1});
+
+        service.flush();
+        service.recordEarned(first);
+        service.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture());
+        assertEquals(Map.of(first, 2L), toMap(batches.getAllValues().get(1)));
+    }
+
+    @Test
+    void reconcile_recountsEveryBadgeInOneQueryAndCorrectsDrift() {
+        when(jdbcTemplate.queryForList(STORED_SQL)).thenReturn(List.of(
+                Map.of("id", first, "earned_count", 5),
+                Map.of("id", second, "earned_count", 1),
+                Map.of("id", third, "earned_count", 2)));
+        when(jdbcTemplate.queryForList(startsWith("SELECT badge_id, COUNT(*)"))).thenReturn(List.of(
+                Map.of("badge_id", first, "earned", 4L),
+                Map.of("badge_id", third, "earned", 2L)));
+
+        service.reconcile();
+
+        verify(jdbcTemplate, times(1)).queryForList(startsWith("SELECT badge_id, COUNT(*)"));
+        List<Object[]> corrections = capturedBatch("UPDATE badges SET earned_count = ? WHERE id = ?");
+        assertEquals(Map.of(first, 4L, second, 0L), toMap(corrections));
+        assertEquals(4, service.getEarnedCount(first));
+        assertEquals(0, service.getEarnedCount(second));
+    }
+
+    @Test
+    void ranking_ordersActiveBadgesByStoredAndPendingCounts() {
+        when(badgeCatalogService.getCatalog()).thenReturn(BadgeCatalog.build(1, List.of(
+                badge(first), badge(second), badge(third))));
+        when(jdbcTemplate.queryForList(STORED_SQL)).thenReturn(List.of(
+                Map.of("id", first, "earned_count", 5),
+                Map.of("id", second, "earned_count", 0),
+                Map.of("id", third, "earned_count", 2)));
+        assertEquals(2, service.getEarnedCount(third));
+        for (int i = 0; i < 4; i++) {
+            service.recordEarned(third);
+        }
+
+        assertEquals(List.of(third, first), service.getMostEarned(2));
+        assertEquals(List.of(first, third), service.getRare(5));
+        assertThrows(IllegalArgumentException.class, () -> service.getRare(0));
+    }
+
+    private Badge badge(UUID id) {
+        return Badge.builder()
+                .id(id)
+                .name("Badge " + id)
+                .description("Badge " + id)
+                .type(BadgeType.COMPLETION)
+                .active(true)
+                .build();
+    }
+
+    private List<Object[]> capturedBatch(String sqlPrefix) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith(sqlPrefix), batch.capture());
+        return batch.getValue();
+    }
+
+    private static Map<UUID, Long> toMap(List<Object[]> batch) {
+        return batch.stream().collect(Collectors.toMap(row -> (UUID) row[1], row -> ((Number) row[0]).longValue()));
+    }
+}
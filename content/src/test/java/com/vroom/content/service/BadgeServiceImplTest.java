@@ -1,7 +1,9 @@
 package com.vroom.content.service;
 
+import com.vroom.content.dto.BadgeDTO;
 import com.vroom.content.model.entity.Badge;
 import com.vroom.content.model.enums.BadgeType;
+import com.vroom.content.model.index.BadgeCatalog;
 import com.vroom.content.repository.BadgeRepository;
 import com.vroom.content.repository.StudentBadgeRepository;
 import com.vroom.notification.service.EmailService;
@@ -11,9 +13,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,6 +38,18 @@ class BadgeServiceImplTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private ResponseCache responseCache;
+
+    @Mock
+    private BadgeEarnedCountService badgeEarnedCountService;
+
+    @Mock
+    private BadgeCatalogService badgeCatalogService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private BadgeServiceImpl service;
 
@@ -51,9 +70,7 @@ class BadgeServiceImplTest {
                 studentId,
                 badgeId,
                 "desc",
-                UUID.randomUUID(),
-                "Student",
-                "student@example.com"
+                UUID.randomUUID()
         ));
 
         verify(badgeRepository, never()).findById(any());
@@ -61,36 +78,19 @@ class BadgeServiceImplTest {
     }
 
     @Test
-    void awardBadgeToStudent_whenEmailSendFails_stillAwardsAndReturnsEarnedDto() {
+    void awardBadgeToStudent_savesTheBadgeWithoutEmailingBeforeCommit() {
         UUID scenarioId = UUID.randomUUID();
 
         when(studentBadgeRepository.existsByStudentIdAndBadgeId(studentId, badgeId)).thenReturn(false);
-
-        Badge badge = Badge.builder()
-                .id(badgeId)
-                .name("Highway Master")
-                .description("Mastered highway driving")
-                .type(BadgeType.SKILL_MASTERY)
-                .earnedCount(0)
-                .active(true)
-                .build();
-
-        when(badgeRepository.findById(badgeId)).thenReturn(Optional.of(badge));
-
+        when(badgeRepository.findById(badgeId)).thenReturn(Optional.of(highwayMaster()));
         when(studentBadgeRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(badgeRepository.save(any(Badge.class))).thenAnswer(inv -> inv.getArgument(0));
-
-        doThrow(new RuntimeException("SMTP down"))
-                .when(emailService)
-                .sendBadgeEarnedEmail(any(), any(), any(), any());
+        when(badgeEarnedCountService.getEarnedCount(badgeId)).thenReturn(1L);
 
         var dto = service.awardBadgeToStudent(
                 studentId,
                 badgeId,
                 "Completed scenario",
-                scenarioId,
-                "Student Name",
-                "student@example.com"
+                scenarioId
         );
 
         assertTrue(dto.getIsEarned());
@@ -100,7 +100,67 @@ class BadgeServiceImplTest {
         assertEquals("Completed scenario", dto.getEarnedDescription());
 
         verify(studentBadgeRepository, times(1)).save(any());
-        verify(badgeRepository, times(1)).save(badge);
-        verify(emailService, times(1)).sendBadgeEarnedEmail(any(), any(), any(), any());
+        verify(badgeEarnedCountService, times(1)).recordEarned(badgeId);
+        verify(badgeRepository, never()).save(any());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void notifyBadgeEarned_marksTheBadgeNotifiedOnceEmailed() {
+        when(badgeRepository.findById(badgeId)).thenReturn(Optional.of(highwayMaster()));
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        service.notifyBadgeEarned(studentId, badgeId, "Student Name", "student@example.com");
+
+        verify(emailService).sendBadgeEarnedEmail("student@example.com", "Student Name", "Highway Master", "Mastered highway driving");
+        verify(studentBadgeRepository).markNotified(studentId, badgeId);
+    }
+
+    @Test
+    void notifyBadgeEarned_whenEmailSendFails_leavesTheBadgeUnnotified() {
+        when(badgeRepository.findById(badgeId)).thenReturn(Optional.of(highwayMaster()));
+        doThrow(new RuntimeException("SMTP down"))
+                .when(emailService)
+                .sendBadgeEarnedEmail(any(), any(), any(), any());
+
+        service.notifyBadgeEarned(studentId, badgeId, "Student Name", "student@example.com");
+
+        verifyNoInteractions(transactionTemplate);
+        verify(studentBadgeRepository, never()).markNotified(any(), any());
+    }
+
+    private Badge highwayMaster() {
+        return Badge.builder()
+                .id(badgeId)
+                .name("Highway Master")
+                .description("Mastered highway driving")
+                .type(BadgeType.SKILL_MASTERY)
+                .earnedCount(0)
+                .active(true)
+                .build();
+    }
+
+    @Test
+    void getBadgesForStudent_marksEarnedCatalogBadgesWithoutLoadingBadgesPerRow() {
+        Badge earned = Badge.builder().id(badgeId).name("Highway Master").description("Mastered highway driving")
+                .type(BadgeType.SKILL_MASTERY).active(true).build();
+        Badge other = Badge.builder().id(UUID.randomUUID()).name("City Driver").description("Drove through the city")
+                .type(BadgeType.COMPLETION).active(true).build();
+        when(badgeCatalogService.getCatalog()).thenReturn(BadgeCatalog.build(1, List.of(earned, other)));
+
+        LocalDateTime earnedAt = LocalDateTime.now();
+        List<Object[]> rows = List.<Object[]>of(new Object[]{badgeId, earnedAt, "Completed scenario"});
+        when(studentBadgeRepository.findEarnedByStudentId(studentId)).thenReturn(rows);
+
+        List<BadgeDTO> badges = service.getBadgesForStudent(studentId);
+
+        assertEquals(List.of("City Driver", "Highway Master"), badges.stream().map(BadgeDTO::getName).toList());
+        assertFalse(badges.get(0).getIsEarned());
+        assertTrue(badges.get(1).getIsEarned());
+        assertEquals(earnedAt, badges.get(1).getEarnedAt());
+        verify(badgeRepository, never()).findById(any());
     }
 }
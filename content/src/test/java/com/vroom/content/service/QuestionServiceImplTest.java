@@ -0,0 +1,173 @@
+package com.vroom.content.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vroom.content.dto.AnswerDTO;
+import com.vroom.content.dto.CreateAnswerRequest;
+import com.vroom.content.dto.CreateQuestionRequest;
+import com.vroom.content.dto.QuestionDTO;
+import com.vroom.content.dto.ScenarioSnapshotDTO;
+import com.vroom.content.model.entity.Answer;
+import com.vroom.content.model.entity.Question;
+import com.vroom.content.model.entity.ScenarioSnapshot;
+import com.vroom.content.model.enums.QuestionType;
+import com.vroom.content.repository.QuestionRepository;
+import com.vroom.content.repository.ScenarioSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionServiceImplTest {
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private ScenarioSnapshotRepository scenarioSnapshotRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private QuestionServiceImpl service;
+
+    private UUID scenarioId;
+    private UUID questionId;
+    private Question question;
+    private Answer first;
+    private Answer second;
+
+    @BeforeEach
+    void setUp() {
+        scenarioId = UUID.randomUUID();
+        questionId = UUID.randomUUID();
+
+        question = Question.builder()
+                .id(questionId)
+                .scenarioId(scenarioId)
+                .type(QuestionType.MULTIPLE_CHOICE)
+                .questionText("What does a red light mean?")
+                .build();
+
+        first = Answer.builder().id(UUID.randomUUID()).answerText("Stop").isCorrect(true).orderIndex(0).build();
+        second = Answer.builder().id(UUID.randomUUID()).answerText("Go").isCorrect(false).orderIndex(1).build();
+        question.addAnswer(first);
+        question.addAnswer(second);
+
+        lenient().when(questionRepository.findById(questionId)).thenReturn(Optional.of(question));
+        lenient().when(questionRepository.save(any(Question.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    private CreateQuestionRequest request(List<CreateAnswerRequest> answers) {
+        return CreateQuestionRequest.builder()
+                .type(QuestionType.MULTIPLE_CHOICE)
+                .questionText("What does a red light mean?")
+                .answers(answers)
+                .build();
+    }
+
+    @Test
+    void updateQuestion_whenAnswersMatchedById_keepsAnswerIdentities() {
+        var dto = service.updateQuestion(scenarioId, questionId, request(List.of(
+                CreateAnswerRequest.builder().id(second.getId()).answerText("Go faster").isCorrect(false).orderIndex(0).build(),
+                CreateAnswerRequest.builder().id(first.getId()).answerText("Stop").isCorrect(true).orderIndex(1).build())));
+
+        assertEquals(2, question.getAnswers().size());
+        assertSame(second, question.getAnswers().get(0));
+        assertSame(first, question.getAnswers().get(1));
+        assertEquals("Go faster", second.getAnswerText());
+        assertEquals(second.getId(), dto.getAnswers().get(0).getId());
+    }
+
+    @Test
+    void updateQuestion_whenAnswersWithoutIds_matchesByPositionAndRemovesExtra() {
+        service.updateQuestion(scenarioId, questionId, request(List.of(
+                CreateAnswerRequest.builder().answerText("Stop now").isCorrect(true).build())));
+
+        assertEquals(1, question.getAnswers().size());
+        assertSame(first, question.getAnswers().get(0));
+        assertEquals("Stop now", first.getAnswerText());
+        assertNull(second.getQuestion());
+    }
+
+    @Test
+    void updateQuestion_whenNewAnswerAdded_insertsOnlyThatAnswer() {
+        service.updateQuestion(scenarioId, questionId, request(List.of(
+                CreateAnswerRequest.builder().id(first.getId()).answerText("Stop").isCorrect(true).build(),
+                CreateAnswerRequest.builder().id(second.getId()).answerText("Go").isCorrect(false).build(),
+                CreateAnswerRequest.builder().answerText("Slow down").isCorrect(false).build())));
+
+        assertEquals(3, question.getAnswers().size());
+        assertSame(first, question.getAnswers().get(0));
+        assertSame(second, question.getAnswers().get(1));
+        assertNull(question.getAnswers().get(2).getId());
+    }
+
+    @Test
+    void updateQuestion_whenAnswerIdBelongsToAnotherQuestion_throwsIllegalArgumentException() {
+        CreateQuestionRequest request = request(List.of(
+                CreateAnswerRequest.builder().id(UUID.randomUUID()).answerText("Stop").isCorrect(true).build()));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.updateQuestion(scenarioId, questionId, request));
+        verify(questionRepository, never()).save(any());
+    }
+
+    @Test
+    void getAnswerKey_isCachedUntilTheQuestionIsUpdated() {
+        assertTrue(service.getAnswerKey(questionId).isCorrect(Set.of(first.getId())));
+        service.getAnswerKey(questionId);
+        verify(questionRepository, times(1)).findById(questionId);
+
+        service.updateQuestion(scenarioId, questionId, request(List.of(
+                CreateAnswerRequest.builder().id(first.getId()).answerText("Stop").isCorrect(false).build(),
+                CreateAnswerRequest.builder().id(second.getId()).answerText("Go").isCorrect(true).build())));
+
+        assertTrue(service.getAnswerKey(questionId).isCorrect(Set.of(second.getId())));
+    }
+
+    @Test
+    void getAnswerKey_whenQuestionBelongsToAnotherScenario_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getAnswerKey(UUID.randomUUID(), null, questionId));
+    }
+
+    @Test
+    void getAnswerKey_withSnapshotVersion_gradesAgainstTheFrozenAnswers() throws Exception {
+        // The live question now marks "Stop" correct, version 2 froze "Go" as the correct answer
+        String content = objectMapper.writeValueAsString(ScenarioSnapshotDTO.builder()
+                .scenarioId(scenarioId)
+                .questions(List.of(QuestionDTO.builder()
+                        .id(questionId)
+                        .scenarioId(scenarioId)
+                        .type(QuestionType.MULTIPLE_CHOICE)
+                        .points(15)
+                        .answers(List.of(
+                                AnswerDTO.builder().id(first.getId()).isCorrect(false).build(),
+                                AnswerDTO.builder().id(second.getId()).isCorrect(true).build()))
+                        .build()))
+                .build());
+        when(scenarioSnapshotRepository.findByScenarioIdAndVersion(scenarioId, 2)).thenReturn(Optional.of(
+                ScenarioSnapshot.builder().scenarioId(scenarioId).version(2).content(content).build()));
+
+        assertTrue(service.getAnswerKey(scenarioId, 2, questionId).isCorrect(Set.of(second.getId())));
+        assertEquals(15, service.getScenarioTotals(scenarioId, 2).totalPoints());
+        assertEquals(1, service.getScenarioTotals(scenarioId, 2).questionCount());
+        assertThrows(IllegalArgumentException.class, () -> service.getAnswerKey(scenarioId, 2, UUID.randomUUID()));
+        verify(scenarioSnapshotRepository, times(1)).findByScenarioIdAndVersion(scenarioId, 2);
+        verify(questionRepository, never()).findById(any());
+    }
+}
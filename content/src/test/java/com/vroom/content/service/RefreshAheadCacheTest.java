@@ -0,0 +1,80 @@
+package com.vroom.content.service;
+
+import com.vroom.shared.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshAheadCacheTest {
+
+    @Test
+    void get_whenConcurrentMisses_runsOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        RefreshAheadCache<String, String> cache = new RefreshAheadCache<>(
+                10, Duration.ofMinutes(5), Duration.ofMinutes(10), 0.2, key -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return key.toUpperCase();
+                });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> cache.get("list"), executor));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (CompletableFuture<String> result : results) {
+                assertEquals("LIST", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_whenLoaderThrows_rethrowsAndDoesNotCache() {
+        AtomicInteger loads = new AtomicInteger();
+        RefreshAheadCache<String, String> cache = new RefreshAheadCache<>(
+                10, Duration.ofMinutes(5), Duration.ofMinutes(10), 0.2, key -> {
+                    loads.incrementAndGet();
+                    throw new ResourceNotFoundException("Scenario", "id", key);
+                });
+
+        assertThrows(ResourceNotFoundException.class, () -> cache.get("missing"));
+        assertThrows(ResourceNotFoundException.class, () -> cache.get("missing"));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_forcesReload() {
+        AtomicInteger loads = new AtomicInteger();
+        RefreshAheadCache<String, Integer> cache = new RefreshAheadCache<>(
+                10, Duration.ofMinutes(5), Duration.ofMinutes(10), 0.2, key -> loads.incrementAndGet());
+
+        assertEquals(1, cache.get("key"));
+        assertEquals(1, cache.get("key"));
+
+        cache.invalidate("key");
+
+        assertEquals(2, cache.get("key"));
+    }
+}
@@ -14,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -34,6 +35,18 @@ class ScenarioServiceImplTest {
     @Mock
     private InteractionPointRepository interactionPointRepository;
 
+    @Mock
+    private PrerequisiteGraphService prerequisiteGraphService;
+
+    @Mock
+    private ScenarioDeletionService scenarioDeletionService;
+
+    @Mock
+    private ScenarioSnapshotService scenarioSnapshotService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ScenarioServiceImpl service;
 
@@ -126,5 +139,6 @@ class ScenarioServiceImplTest {
         verify(interactionPointRepository, never()).deleteByScenarioId(any());
         verify(questionRepository, never()).deleteByScenarioId(any());
         verify(scenarioRepository, never()).deleteById(any());
+        verify(scenarioDeletionService, never()).deleteScenario(any());
     }
 }
@@ -0,0 +1,117 @@
+package com.vroom.content.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vroom.content.dto.AnswerDTO;
+import com.vroom.content.dto.QuestionDTO;
+import com.vroom.content.dto.ScenarioDTO;
+import com.vroom.content.model.entity.ScenarioSnapshot;
+import com.vroom.content.repository.ScenarioSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScenarioSnapshotServiceImplTest {
+
+    @Mock
+    private ScenarioSnapshotRepository scenarioSnapshotRepository;
+
+    @Mock
+    private QuestionService questionService;
+
+    @Mock
+    private InteractionPointService interactionPointService;
+
+    private ScenarioSnapshotServiceImpl service;
+
+    private UUID scenarioId;
+
+    @BeforeEach
+    void setUp() {
+        service = new ScenarioSnapshotServiceImpl(scenarioSnapshotRepository, questionService, interactionPointService,
+                new ObjectMapper().findAndRegisterModules());
+        scenarioId = UUID.randomUUID();
+
+        when(questionService.getQuestionsByScenario(scenarioId)).thenReturn(List.of());
+        when(interactionPointService.getInteractionPointsByScenario(scenarioId)).thenReturn(List.of());
+        lenient().when(scenarioSnapshotRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    private ScenarioDTO scenario(String title, int completionCount) {
+        return ScenarioDTO.builder()
+                .id(scenarioId)
+                .title(title)
+                .tags(Set.of("night", "rain", "highway"))
+                .completionCount(completionCount)
+                .build();
+    }
+
+    @Test
+    void freeze_whenFirstPublish_createsVersionOne() {
+        when(scenarioSnapshotRepository.findFirstByScenarioIdOrderByVersionDesc(scenarioId)).thenReturn(Optional.empty());
+
+        ScenarioSnapshot snapshot = service.freeze(scenario("Highway at night", 3), UUID.randomUUID());
+
+        assertEquals(1, snapshot.getVersion());
+        assertEquals(64, snapshot.getContentHash().length());
+        assertFalse(snapshot.getContent().contains("\"completionCount\":3"));
+    }
+
+    @Test
+    void freeze_whenOnlyStatisticsChanged_reusesLatestSnapshot() {
+        when(scenarioSnapshotRepository.findFirstByScenarioIdOrderByVersionDesc(scenarioId)).thenReturn(Optional.empty());
+        ScenarioSnapshot first = service.freeze(scenario("Highway at night", 3), UUID.randomUUID());
+
+        when(scenarioSnapshotRepository.findFirstByScenarioIdOrderByVersionDesc(scenarioId)).thenReturn(Optional.of(first));
+        ScenarioSnapshot second = service.freeze(scenario("Highway at night", 40), UUID.randomUUID());
+
+        assertSame(first, second);
+        verify(scenarioSnapshotRepository, times(1)).save(any());
+    }
+
+    @Test
+    void freeze_whenContentChanged_addsNextVersion() {
+        ScenarioSnapshot latest = ScenarioSnapshot.builder().scenarioId(scenarioId).version(4).contentHash("old").build();
+        when(scenarioSnapshotRepository.findFirstByScenarioIdOrderByVersionDesc(scenarioId)).thenReturn(Optional.of(latest));
+
+        service.freeze(scenario("Highway in the rain", 0), UUID.randomUUID());
+
+        ArgumentCaptor<ScenarioSnapshot> saved = ArgumentCaptor.forClass(ScenarioSnapshot.class);
+        verify(scenarioSnapshotRepository).save(saved.capture());
+        assertEquals(5, saved.getValue().getVersion());
+        assertNotEquals("old", saved.getValue().getContentHash());
+    }
+
+    @Test
+    void getSnapshot_servesTheContentWithoutTheAnswerKey() {
+        when(questionService.getQuestionsByScenario(scenarioId)).thenReturn(List.of(QuestionDTO.builder()
+                .id(UUID.randomUUID())
+                .questionText("What does a red light mean?")
+                .explanation("Red always means stop")
+                .answers(List.of(AnswerDTO.builder().id(UUID.randomUUID()).answerText("Stop").isCorrect(true).build()))
+                .build()));
+        when(scenarioSnapshotRepository.findFirstByScenarioIdOrderByVersionDesc(scenarioId)).thenReturn(Optional.empty());
+        ScenarioSnapshot snapshot = service.freeze(scenario("Highway at night", 0), UUID.randomUUID());
+        when(scenarioSnapshotRepository.findFirstByContentHash(snapshot.getContentHash())).thenReturn(Optional.of(snapshot));
+
+        String body = new String(service.getSnapshot(snapshot.getContentHash()).json(), StandardCharsets.UTF_8);
+
+        assertTrue(snapshot.getContent().contains("\"isCorrect\":true"));
+        assertTrue(body.contains("\"answerText\":\"Stop\""));
+        assertFalse(body.contains("\"isCorrect\":true"));
+        assertFalse(body.contains("Red always means stop"));
+    }
+}
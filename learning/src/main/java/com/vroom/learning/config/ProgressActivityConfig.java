@@ -0,0 +1,21 @@
+package com.vroom.learning.config;
+
+import com.vroom.shared.touch.TouchBuffer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Write-behind buffers for student progress activity timestamps
+ */
+@Configuration
+public class ProgressActivityConfig {
+
+    /**
+     * Last access time of student scenarios, keyed by progress id
+     */
+    @Bean
+    public TouchBuffer lastAccessedTouchBuffer(JdbcTemplate jdbcTemplate) {
+        return new TouchBuffer(jdbcTemplate, "student_scenarios", "last_accessed_at");
+    }
+}
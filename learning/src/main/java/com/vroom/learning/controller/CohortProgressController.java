@@ -0,0 +1,42 @@
+package com.vroom.learning.controller;
+
+import com.vroom.learning.service.CohortProgressService;
+import com.vroom.security.util.SecurityUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.UUID;
+
+/**
+ * REST controller for instructor cohort progress
+ */
+@RestController
+@RequestMapping("/api/instructor/cohort")
+@RequiredArgsConstructor
+@Tag(name = "Cohort Progress", description = "Progress of an instructor's assigned students")
+public class CohortProgressController {
+
+    private final CohortProgressService cohortProgressService;
+
+    /**
+     * Get the progress matrix of my assigned students
+     */
+    @GetMapping("/progress")
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
+    @Operation(summary = "Get cohort progress", description = "Stream a students x scenarios matrix of status, best score and attempts; "
+            + "admins get every student unless instructorId is given")
+    public ResponseEntity<StreamingResponseBody> getCohortProgress(@RequestParam(required = false) UUID instructorId) {
+        UUID cohortInstructorId = SecurityUtils.hasRole("ADMIN") ? instructorId : SecurityUtils.getCurrentUserId();
+
+        StreamingResponseBody body = out -> cohortProgressService.writeMatrix(cohortInstructorId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+}
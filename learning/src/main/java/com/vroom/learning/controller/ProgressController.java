@@ -1,11 +1,21 @@
 package com.vroom.learning.controller;
 
 import com.vroom.learning.dto.AssignmentDTO;
+import com.vroom.learning.dto.HeartbeatRequest;
+import com.vroom.learning.dto.PointsSummaryDTO;
 import com.vroom.learning.dto.ProgressDTO;
+import com.vroom.learning.dto.ProgressSummaryDTO;
+import com.vroom.learning.dto.SubmitAnswerBatchRequest;
+import com.vroom.learning.dto.SubmitAnswerBatchResponse;
 import com.vroom.learning.dto.SubmitAnswerRequest;
 import com.vroom.learning.dto.SubmitAnswerResponse;
+import com.vroom.learning.service.IdempotencyService;
 import com.vroom.learning.service.InstructorAssignmentService;
+import com.vroom.learning.service.PointsLedgerService;
 import com.vroom.learning.service.ProgressService;
+import com.vroom.learning.service.ScenarioUnlockService;
+import com.vroom.learning.service.StudentProgressSummaryService;
+import com.vroom.learning.service.WatchTimeService;
 import com.vroom.security.model.entity.Student;
 import com.vroom.security.repository.StudentRepository;
 import com.vroom.security.util.SecurityUtils;
@@ -15,11 +25,14 @@ import jakarta.validation.Valid;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -32,9 +45,16 @@ import java.util.UUID;
 @Tag(name = "Progress", description = "Student progress tracking")
 public class ProgressController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final ProgressService progressService;
+    private final IdempotencyService idempotencyService;
     private final StudentRepository studentRepository;
     private final InstructorAssignmentService assignmentService;
+    private final ScenarioUnlockService scenarioUnlockService;
+    private final PointsLedgerService pointsLedgerService;
+    private final WatchTimeService watchTimeService;
+    private final StudentProgressSummaryService summaryService;
 
     /**
      * Start a scenario
@@ -42,11 +62,14 @@ public class ProgressController {
     @PostMapping("/scenarios/{scenarioId}/start")
     @PreAuthorize("hasRole('STUDENT')")
     @Operation(summary = "Start scenario", description = "Begin a scenario")
-    public ResponseEntity<ProgressDTO> startScenario(@PathVariable UUID scenarioId) {
+    public ResponseEntity<ProgressDTO> startScenario(
+            @PathVariable UUID scenarioId,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
 
         UUID studentId = SecurityUtils.getCurrentUserId();
 
-        ProgressDTO progress = progressService.startScenario(studentId, scenarioId);
+        ProgressDTO progress = idempotencyService.execute(studentId, idempotencyKey, "start", scenarioId, ProgressDTO.class,
+                () -> progressService.startScenario(studentId, scenarioId));
         return ResponseEntity.ok(progress);
     }
 
@@ -56,11 +79,31 @@ public class ProgressController {
     @PostMapping("/answers")
     @PreAuthorize("hasRole('STUDENT')")
     @Operation(summary = "Submit answer", description = "Submit answer to a question")
-    public ResponseEntity<SubmitAnswerResponse> submitAnswer(@Valid @RequestBody SubmitAnswerRequest request) {
+    public ResponseEntity<SubmitAnswerResponse> submitAnswer(
+            @Valid @RequestBody SubmitAnswerRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+
+        UUID studentId = SecurityUtils.getCurrentUserId();
+
+        SubmitAnswerResponse response = idempotencyService.execute(studentId, idempotencyKey, "answer", request,
+                SubmitAnswerResponse.class, () -> progressService.submitAnswer(studentId, request));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Submit answers recorded offline
+     */
+    @PostMapping("/answers/batch")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "Submit answers", description = "Submit an ordered batch of answers; resubmitted client answer ids are ignored")
+    public ResponseEntity<SubmitAnswerBatchResponse> submitAnswers(
+            @Valid @RequestBody SubmitAnswerBatchRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
 
         UUID studentId = SecurityUtils.getCurrentUserId();
 
-        SubmitAnswerResponse response = progressService.submitAnswer(studentId, request);
+        SubmitAnswerBatchResponse response = idempotencyService.execute(studentId, idempotencyKey, "answers", request,
+                SubmitAnswerBatchResponse.class, () -> progressService.submitAnswers(studentId, request));
         return ResponseEntity.ok(response);
     }
 
@@ -69,18 +112,29 @@ public class ProgressController {
      */
     @PostMapping("/scenarios/{scenarioId}/complete")
     @PreAuthorize("hasRole('STUDENT')")
-    @Operation(summary = "Complete scenario", description = "Mark scenario as complete")
+    @Operation(summary = "Complete scenario", description = "Mark scenario as complete; the attempt is graded from its submitted answers")
     public ResponseEntity<ProgressDTO> completeScenario(
             @PathVariable UUID scenarioId,
-            @RequestParam Double score,
-            @RequestParam Integer pointsEarned) {
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
 
         UUID studentId = SecurityUtils.getCurrentUserId();
 
-        ProgressDTO progress = progressService.completeScenario(studentId, scenarioId, score, pointsEarned);
+        ProgressDTO progress = idempotencyService.execute(studentId, idempotencyKey, "complete", scenarioId, ProgressDTO.class,
+                () -> progressService.completeScenario(studentId, scenarioId));
         return ResponseEntity.ok(progress);
     }
 
+    /**
+     * Report watch time of the scenario player
+     */
+    @PostMapping("/heartbeat")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "Player heartbeat", description = "Report seconds watched and the playback position, applied in the background")
+    public ResponseEntity<Void> heartbeat(@Valid @RequestBody HeartbeatRequest request) {
+        watchTimeService.heartbeat(SecurityUtils.getCurrentUserId(), request);
+        return ResponseEntity.accepted().build();
+    }
+
     /**
      * Get my progress
      */
@@ -95,6 +149,34 @@ public class ProgressController {
         return ResponseEntity.ok(progress);
     }
 
+    /**
+     * Get my points
+     */
+    @GetMapping("/my-points")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "Get my points", description = "Get my total points and the points gained since a date (default: start of this week)")
+    public ResponseEntity<PointsSummaryDTO> getMyPoints(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since) {
+
+        UUID studentId = SecurityUtils.getCurrentUserId();
+
+        PointsSummaryDTO points = pointsLedgerService.getSummary(studentId, since);
+        return ResponseEntity.ok(points);
+    }
+
+    /**
+     * Get my dashboard summary
+     */
+    @GetMapping("/summary")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "Get progress summary", description = "Get dashboard totals, per-theme completion and streaks")
+    public ResponseEntity<ProgressSummaryDTO> getSummary() {
+        UUID studentId = SecurityUtils.getCurrentUserId();
+
+        ProgressSummaryDTO summary = summaryService.getSummary(studentId);
+        return ResponseEntity.ok(summary);
+    }
+
     /**
      * Get progress for specific scenario
      */
@@ -109,6 +191,20 @@ public class ProgressController {
         return progress != null ? ResponseEntity.ok(progress) : ResponseEntity.notFound().build();
     }
 
+    /**
+     * Get scenarios whose prerequisites are all passed
+     */
+    @GetMapping("/unlocked-scenarios")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "Get unlocked scenarios", description = "Get ids of scenarios I am allowed to start")
+    public ResponseEntity<Set<UUID>> getUnlockedScenarios() {
+
+        UUID studentId = SecurityUtils.getCurrentUserId();
+
+        Set<UUID> unlocked = scenarioUnlockService.getUnlockedScenarios(studentId);
+        return ResponseEntity.ok(unlocked);
+    }
+
     @GetMapping("/student/{studentId}")
     @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
     public ResponseEntity<List<ProgressDTO>> getStudentProgress(@PathVariable UUID studentId) {
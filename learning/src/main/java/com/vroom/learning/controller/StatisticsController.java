@@ -0,0 +1,60 @@
+package com.vroom.learning.controller;
+
+import com.vroom.learning.dto.ProgressSummaryRebuildDTO;
+import com.vroom.learning.dto.StatisticsBackfillDTO;
+import com.vroom.learning.service.ScenarioStatisticsService;
+import com.vroom.learning.service.StudentProgressSummaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for scenario and question statistics maintenance
+ */
+@RestController
+@RequestMapping("/api/admin/statistics")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Statistics", description = "Scenario and question statistics maintenance")
+public class StatisticsController {
+
+    private final ScenarioStatisticsService statisticsService;
+    private final StudentProgressSummaryService summaryService;
+
+    /**
+     * Flush pending statistics deltas
+     */
+    @PostMapping("/flush")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Flush statistics", description = "Write pending statistics deltas immediately (Admin only)")
+    public ResponseEntity<Void> flush() {
+        statisticsService.flush();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Recompute statistics from history
+     */
+    @PostMapping("/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Backfill statistics", description = "Recompute scenario and question statistics from answer and progress history (Admin only)")
+    public ResponseEntity<StatisticsBackfillDTO> backfill() {
+        StatisticsBackfillDTO result = statisticsService.backfill();
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Regenerate student progress summaries from history
+     */
+    @PostMapping("/progress-summaries/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild progress summaries", description = "Regenerate every student progress summary from progress and answer history (Admin only)")
+    public ResponseEntity<ProgressSummaryRebuildDTO> rebuildProgressSummaries() {
+        ProgressSummaryRebuildDTO result = summaryService.rebuild();
+        return ResponseEntity.ok(result);
+    }
+}
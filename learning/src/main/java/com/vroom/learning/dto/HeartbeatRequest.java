@@ -0,0 +1,43 @@
+package com.vroom.learning.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO for a periodic heartbeat of the scenario player
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeartbeatRequest {
+
+    /**
+     * Largest watch time accepted from one heartbeat, covers a few missed beats
+     */
+    public static final int MAX_DELTA_SECONDS = 60;
+
+    @NotNull(message = "Scenario ID is required")
+    private UUID scenarioId;
+
+    /**
+     * Current playback position in seconds
+     */
+    @Min(value = 0, message = "Position cannot be negative")
+    private Integer positionSeconds;
+
+    /**
+     * Seconds watched since the previous heartbeat
+     */
+    @NotNull(message = "Delta seconds is required")
+    @Min(value = 0, message = "Delta seconds cannot be negative")
+    @Max(value = MAX_DELTA_SECONDS, message = "Delta seconds cannot exceed " + MAX_DELTA_SECONDS)
+    private Integer deltaSeconds;
+}
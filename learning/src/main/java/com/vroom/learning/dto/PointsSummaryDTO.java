@@ -0,0 +1,22 @@
+package com.vroom.learning.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for a student's points total and the points gained since a date
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PointsSummaryDTO {
+
+    private Integer totalPoints;
+    private LocalDate since;
+    private Long pointsSince;
+}
@@ -37,4 +37,6 @@ public class ProgressDTO {
     private LocalDateTime startedAt;
     private LocalDateTime completedAt;
     private LocalDateTime lastAccessedAt;
+    private Integer lastPositionSeconds;
+    private Integer snapshotVersion;
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.vroom.learning.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for the student dashboard totals
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressSummaryDTO {
+
+    private UUID studentId;
+    private Integer totalPoints;
+    private Integer badgesEarned;
+    private Integer scenariosStarted;
+    private Integer scenariosInProgress;
+    private Integer scenariosPassed;
+    private Integer scenariosFailed;
+    private Integer totalAttempts;
+    private Double averageScore;
+    private Long timeSpentSeconds;
+    private Integer currentStreakDays;
+    private Integer longestStreakDays;
+    private LocalDate lastActiveDate;
+    private List<ThemeProgressDTO> themes;
+
+    /**
+     * When the totals were last derived from history, null if the student has no progress yet
+     */
+    private LocalDateTime refreshedAt;
+}
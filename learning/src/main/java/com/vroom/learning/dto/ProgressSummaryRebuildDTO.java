@@ -0,0 +1,19 @@
+package com.vroom.learning.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the result of a progress summary rebuild
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressSummaryRebuildDTO {
+
+    private Integer studentsUpdated;
+    private Long durationMs;
+}
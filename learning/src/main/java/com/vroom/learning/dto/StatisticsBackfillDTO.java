@@ -0,0 +1,20 @@
+package com.vroom.learning.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the result of a statistics backfill
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatisticsBackfillDTO {
+
+    private Integer scenariosUpdated;
+    private Integer questionsUpdated;
+    private Long durationMs;
+}
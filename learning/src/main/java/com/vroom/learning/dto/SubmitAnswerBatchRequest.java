@@ -0,0 +1,26 @@
+package com.vroom.learning.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for submitting answers recorded offline, in the order they were given
+ * Every answer needs a clientAnswerId
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmitAnswerBatchRequest {
+
+    @NotEmpty(message = "At least one answer is required")
+    @Size(max = 500, message = "At most 500 answers per batch")
+    private List<@Valid SubmitAnswerRequest> answers;
+}
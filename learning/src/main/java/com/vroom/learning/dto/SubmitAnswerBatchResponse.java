@@ -0,0 +1,22 @@
+package com.vroom.learning.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for batched answer submission response, one result per submitted answer in request order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmitAnswerBatchResponse {
+
+    private List<SubmitAnswerResponse> results;
+    private Integer accepted;
+    private Integer duplicates;
+}
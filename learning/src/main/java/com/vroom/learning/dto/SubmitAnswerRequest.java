@@ -29,4 +29,9 @@ public class SubmitAnswerRequest {
 
     private Integer timeTakenSeconds;
     private Boolean hintUsed;
+
+    /**
+     * Id generated by the client, a resubmission with the same id is not stored twice
+     */
+    private UUID clientAnswerId;
 }
\ No newline at end of file
@@ -5,11 +5,13 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.UUID;
+
 /**
  * DTO for answer submission response
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class SubmitAnswerResponse {
@@ -17,4 +19,10 @@ public class SubmitAnswerResponse {
     private Boolean correct;
     private Integer pointsEarned;
     private String explanation;
+    private UUID clientAnswerId;
+
+    /**
+     * Whether the answer had already been submitted, the original result is returned
+     */
+    private Boolean duplicate;
 }
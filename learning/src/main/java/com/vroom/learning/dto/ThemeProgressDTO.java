@@ -0,0 +1,23 @@
+package com.vroom.learning.dto;
+
+import com.vroom.content.model.enums.Theme;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a student's progress in one scenario theme
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThemeProgressDTO {
+
+    private Theme theme;
+    private Integer scenariosStarted;
+    private Integer scenariosPassed;
+    private Integer publishedScenarios;
+    private Integer completionPercentage;
+}
@@ -0,0 +1,22 @@
+package com.vroom.learning.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Event published when a student submits an answer to a question
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class AnswerSubmittedEvent {
+
+    private final UUID studentId;
+    private final UUID scenarioId;
+    private final UUID questionId;
+    private final boolean correct;
+    private final int pointsEarned;
+}
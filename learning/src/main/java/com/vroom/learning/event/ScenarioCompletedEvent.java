@@ -0,0 +1,25 @@
+package com.vroom.learning.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Event published when a student completes an attempt of a scenario
+ * timeSpentSeconds is the answer time of a first attempt, null on later attempts or when no time was reported;
+ * totalPoints is the student's new point total
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ScenarioCompletedEvent {
+
+    private final UUID studentId;
+    private final UUID scenarioId;
+    private final double score;
+    private final boolean passed;
+    private final Integer timeSpentSeconds;
+    private final int totalPoints;
+}
@@ -0,0 +1,19 @@
+package com.vroom.learning.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Event published when a student starts an attempt of a scenario
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ScenarioStartedEvent {
+
+    private final UUID studentId;
+    private final UUID scenarioId;
+}
@@ -0,0 +1,56 @@
+package com.vroom.learning.model.entity;
+
+import com.vroom.learning.model.enums.PointsSource;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Append-only record of a change to a student's points
+ * Student.totalPoints is the running sum of a student's entries
+ */
+@Entity
+@Table(name = "points_ledger", indexes = {
+        @Index(name = "idx_points_ledger_student_created", columnList = "student_id, created_at")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PointsLedgerEntry {
+
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "student_id", nullable = false, updatable = false)
+    private UUID studentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 30)
+    private PointsSource source;
+
+    /**
+     * Record the points came from, e.g. the student scenario of a completion
+     */
+    @Column(name = "source_id", updatable = false)
+    private UUID sourceId;
+
+    @Column(nullable = false, updatable = false)
+    private Integer delta;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -18,6 +18,8 @@ import java.util.UUID;
         @Index(name = "idx_student_answer_student", columnList = "student_id"),
         @Index(name = "idx_student_answer_question", columnList = "question_id"),
         @Index(name = "idx_student_answer_scenario", columnList = "scenario_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_student_answer_client_id", columnNames = {"student_id", "client_answer_id"})
 })
 @Getter
 @Setter
@@ -92,6 +94,18 @@ public class StudentAnswer {
     @Builder.Default
     private Integer attemptNumber = 1;
 
+    /**
+     * Version of the scenario snapshot the question was answered on
+     */
+    @Column(updatable = false)
+    private Integer snapshotVersion;
+
+    /**
+     * Id generated by the client, unique per student so resubmissions are ignored
+     */
+    @Column(name = "client_answer_id", updatable = false)
+    private UUID clientAnswerId;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime answeredAt;
 
@@ -0,0 +1,70 @@
+package com.vroom.learning.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read model of a student's progress totals, one row per student
+ * Derived from student scenarios and answers by StudentProgressSummaryService, never edited directly
+ */
+@Entity
+@Table(name = "student_progress_summary")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentProgressSummary {
+
+    @Id
+    @Column(name = "student_id", updatable = false, nullable = false)
+    private UUID studentId;
+
+    @Column(nullable = false)
+    private Integer scenariosStarted;
+
+    @Column(nullable = false)
+    private Integer scenariosInProgress;
+
+    @Column(nullable = false)
+    private Integer scenariosPassed;
+
+    @Column(nullable = false)
+    private Integer scenariosFailed;
+
+    @Column(nullable = false)
+    private Integer totalAttempts;
+
+    /**
+     * Average of the highest scores of attempted scenarios
+     */
+    private Double averageScore;
+
+    @Column(nullable = false)
+    private Long timeSpentSeconds;
+
+    /**
+     * Consecutive active days ending on the last active day
+     */
+    @Column(nullable = false)
+    private Integer streakDays;
+
+    @Column(nullable = false)
+    private Integer longestStreakDays;
+
+    private LocalDate lastActiveDate;
+
+    /**
+     * When the row was last derived, null while a seeded row waits for its first refresh
+     */
+    private LocalDateTime refreshedAt;
+
+    /**
+     * Whether the student's history changed since the row was derived
+     */
+    @Column(nullable = false)
+    private Boolean stale;
+}
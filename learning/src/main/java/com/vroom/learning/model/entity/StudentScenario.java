@@ -6,6 +6,8 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.GenericGenerator;
 
 import java.time.LocalDateTime;
@@ -13,8 +15,10 @@ import java.util.UUID;
 
 /**
  * Entity tracking student progress on a specific scenario
+ * Updates only write changed columns, so saving progress does not overwrite timestamps written behind
  */
 @Entity
+@DynamicUpdate
 @Table(name = "student_scenarios", indexes = {
         @Index(name = "idx_student_scenario_student", columnList = "student_id"),
         @Index(name = "idx_student_scenario_scenario", columnList = "scenario_id"),
@@ -112,15 +116,34 @@ public class StudentScenario {
     private LocalDateTime startedAt;
 
     /**
-     * When the scenario was completed (first completion)
+     * When the scenario was first passed, kept when it is restarted or failed later
      */
     private LocalDateTime completedAt;
 
     /**
      * Last time the student accessed this scenario
+     * Answers and heartbeats update it in batches, see ProgressActivityConfig
      */
     private LocalDateTime lastAccessedAt;
 
+    /**
+     * Last playback position reported by the player heartbeat (in seconds)
+     */
+    private Integer lastPositionSeconds;
+
+    /**
+     * Version of the scenario snapshot the current attempt was started on
+     */
+    private Integer snapshotVersion;
+
+    /**
+     * Optimistic lock, concurrent updates of the same progress are retried by ProgressService
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -139,7 +162,8 @@ public class StudentScenario {
     }
 
     // Helper methods
-    public void startScenario() {
+    public void startScenario(Integer snapshotVersion) {
+        this.snapshotVersion = snapshotVersion;
         if (startedAt == null) {
             startedAt = LocalDateTime.now();
         }
@@ -147,11 +171,18 @@ public class StudentScenario {
         lastAccessedAt = LocalDateTime.now();
     }
 
-    public void completeScenario(Double score, Integer pointsEarned, Integer correctAnswers, Integer totalQuestions) {
+    /**
+     * Record a finished attempt, graded by the server
+     * The attempt passes when the score reaches the scenario's passing score; time spent is owned by the
+     * player heartbeats and not changed here
+     */
+    public void completeScenario(Double score, Integer pointsEarned, Integer correctAnswers, Integer totalQuestions,
+                                 Integer totalPossiblePoints, Integer passingScore) {
         this.attemptCount++;
         this.latestScore = score;
         this.correctAnswers = correctAnswers;
         this.totalQuestions = totalQuestions;
+        this.totalPossiblePoints = totalPossiblePoints;
         this.totalPointsEarned += pointsEarned;
 
         // Update highest score
@@ -166,8 +197,7 @@ public class StudentScenario {
             averageScore = ((averageScore * (attemptCount - 1)) + score) / attemptCount;
         }
 
-        // Determine pass/fail (assuming 70% is passing)
-        if (score >= 70.0) {
+        if (score >= passingScore) {
             status = CompletionStatus.COMPLETED_PASSED;
             if (completedAt == null) {
                 completedAt = LocalDateTime.now();
@@ -179,10 +209,24 @@ public class StudentScenario {
         lastAccessedAt = LocalDateTime.now();
     }
 
+    /**
+     * Number of the attempt in progress, answers are tagged with it
+     */
+    public int getCurrentAttemptNumber() {
+        return attemptCount + 1;
+    }
+
     public void addTimeSpent(Integer seconds) {
         this.timeSpentSeconds += seconds;
     }
 
+    /**
+     * Whether any attempt passed, the scenario then stays a met prerequisite
+     */
+    public boolean hasEverPassed() {
+        return completedAt != null;
+    }
+
     public boolean isPassed() {
         return status == CompletionStatus.COMPLETED_PASSED;
     }
@@ -0,0 +1,41 @@
+package com.vroom.learning.model.entity;
+
+import com.vroom.content.model.enums.Theme;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Read model of a student's progress in one scenario theme
+ * Rebuilt with the student's progress summary
+ */
+@Entity
+@Table(name = "student_theme_progress", indexes = {
+        @Index(name = "idx_student_theme_progress_student", columnList = "student_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_student_theme_progress", columnNames = {"student_id", "theme"})
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentThemeProgress {
+
+    @Id
+    @Column(updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "student_id", nullable = false)
+    private UUID studentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private Theme theme;
+
+    @Column(nullable = false)
+    private Integer scenariosStarted;
+
+    @Column(nullable = false)
+    private Integer scenariosPassed;
+}
@@ -0,0 +1,21 @@
+package com.vroom.learning.model.enums;
+
+/**
+ * What a points ledger entry was recorded for
+ */
+public enum PointsSource {
+    /**
+     * Points of a completed scenario attempt
+     */
+    SCENARIO_COMPLETION,
+
+    /**
+     * Points a student had before the ledger existed
+     */
+    OPENING_BALANCE,
+
+    /**
+     * Correction written by reconciliation
+     */
+    ADJUSTMENT
+}
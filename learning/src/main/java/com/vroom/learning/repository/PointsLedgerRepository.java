@@ -0,0 +1,24 @@
+package com.vroom.learning.repository;
+
+import com.vroom.learning.model.entity.PointsLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Repository for PointsLedgerEntry entity operations
+ */
+@Repository
+public interface PointsLedgerRepository extends JpaRepository<PointsLedgerEntry, UUID> {
+
+    /**
+     * Points a student gained since a point in time; opening balances predate the ledger and are not counted
+     */
+    @Query("SELECT COALESCE(SUM(e.delta), 0) FROM PointsLedgerEntry e WHERE e.studentId = :studentId AND e.createdAt >= :since " +
+            "AND e.source <> com.vroom.learning.model.enums.PointsSource.OPENING_BALANCE")
+    long sumDeltaSince(@Param("studentId") UUID studentId, @Param("since") LocalDateTime since);
+}
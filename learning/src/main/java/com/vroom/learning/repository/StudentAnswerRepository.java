@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -57,4 +58,12 @@ public interface StudentAnswerRepository extends JpaRepository<StudentAnswer, UU
      * Find answers where hint was used
      */
     List<StudentAnswer> findByStudentIdAndScenarioIdAndHintUsedTrue(UUID studentId, UUID scenarioId);
-}
\ No newline at end of file
+
+    /**
+     * Find the stored results of client-generated answer ids: (clientAnswerId, isCorrect, pointsEarned)
+     */
+    @Query("SELECT sa.clientAnswerId, sa.isCorrect, sa.pointsEarned FROM StudentAnswer sa " +
+            "WHERE sa.studentId = :studentId AND sa.clientAnswerId IN :clientAnswerIds")
+    List<Object[]> findResultsByClientAnswerIds(@Param("studentId") UUID studentId,
+                                                @Param("clientAnswerIds") Collection<UUID> clientAnswerIds);
+}
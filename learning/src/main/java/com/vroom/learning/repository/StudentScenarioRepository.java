@@ -44,6 +44,12 @@ public interface StudentScenarioRepository extends JpaRepository<StudentScenario
     @Query("SELECT ss FROM StudentScenario ss WHERE ss.studentId = :studentId AND ss.status IN :statuses")
     List<StudentScenario> findByStudentIdAndStatusIn(@Param("studentId") UUID studentId, @Param("statuses") List<CompletionStatus> statuses);
 
+    /**
+     * Get the scenarios a student passed at least once, whatever the current attempt's status
+     */
+    @Query("SELECT ss.scenarioId FROM StudentScenario ss WHERE ss.studentId = :studentId AND ss.completedAt IS NOT NULL")
+    List<UUID> findEverPassedScenarioIds(@Param("studentId") UUID studentId);
+
     /**
      * Count scenarios by status for a student
      */
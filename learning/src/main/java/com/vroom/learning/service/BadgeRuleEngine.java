@@ -0,0 +1,199 @@
+package com.vroom.learning.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vroom.content.model.enums.Theme;
+import com.vroom.content.model.index.BadgeCatalog;
+import com.vroom.content.model.index.BadgeCriterion;
+import com.vroom.content.model.index.EarnedBadges;
+import com.vroom.content.service.BadgeCatalogService;
+import com.vroom.content.service.BadgeService;
+import com.vroom.content.service.ScenarioService;
+import com.vroom.learning.event.AnswerSubmittedEvent;
+import com.vroom.learning.event.ScenarioCompletedEvent;
+import com.vroom.security.model.entity.Student;
+import com.vroom.security.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Awards badges from their structured criteria as learning events commit
+ * Criteria are compiled into the badge catalog, so each event only evaluates the rules it can affect:
+ * completions check points, passed-count, theme and scenario-score rules, answers check streak rules.
+ * Rules are evaluated against per-student counters seeded once from history and then updated from events.
+ * Candidates are claimed under the counters' lock; awarding and emailing happen after it is released.
+ */
+@Service
+@Slf4j
+public class BadgeRuleEngine {
+
+    private static final String PASSED_SCENARIOS_SQL =
+            "SELECT s.id, s.theme FROM student_scenarios ss JOIN scenarios s ON s.id = ss.scenario_id " +
+            "WHERE ss.student_id = ? AND ss.status = 'COMPLETED_PASSED'";
+
+    private static final String ACTIVE_DAYS_SQL =
+            "SELECT DISTINCT CAST(answered_at AS DATE) AS active_day FROM student_answers WHERE student_id = ? ORDER BY active_day DESC";
+
+    private final BadgeCatalogService badgeCatalogService;
+    private final BadgeService badgeService;
+    private final ScenarioService scenarioService;
+    private final StudentRepository studentRepository;
+    private final PointsLedgerService pointsLedgerService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate awardTransaction;
+
+    private final Cache<UUID, StudentBadgeCounters> countersByStudent = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
+
+    public BadgeRuleEngine(BadgeCatalogService badgeCatalogService, BadgeService badgeService,
+                           ScenarioService scenarioService, StudentRepository studentRepository,
+                           PointsLedgerService pointsLedgerService, JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager) {
+        this.badgeCatalogService = badgeCatalogService;
+        this.badgeService = badgeService;
+        this.scenarioService = scenarioService;
+        this.studentRepository = studentRepository;
+        this.pointsLedgerService = pointsLedgerService;
+        this.jdbcTemplate = jdbcTemplate;
+        // Listeners run after the learning transaction committed, awards need a transaction of their own
+        this.awardTransaction = new TransactionTemplate(transactionManager);
+        this.awardTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnswerSubmitted(AnswerSubmittedEvent event) {
+        BadgeCatalog catalog = badgeCatalogService.getCatalog();
+        StudentBadgeCounters counters = getCounters(event.getStudentId(), catalog);
+
+        List<BadgeCatalog.Entry> claimed;
+        synchronized (counters) {
+            counters.activeOn(LocalDate.now());
+
+            claimed = claim(catalog.findReachedBy(BadgeCriterion.Type.STREAK_DAYS, counters.getStreakDays()), counters);
+        }
+        award(event.getStudentId(), null, claimed);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScenarioCompleted(ScenarioCompletedEvent event) {
+        BadgeCatalog catalog = badgeCatalogService.getCatalog();
+        StudentBadgeCounters counters = getCounters(event.getStudentId(), catalog);
+
+        List<BadgeCatalog.Entry> claimed;
+        synchronized (counters) {
+            List<BadgeCatalog.Entry> candidates = new ArrayList<>(
+                    catalog.findReachedBy(BadgeCriterion.Type.POINTS, event.getTotalPoints()));
+
+            for (BadgeCatalog.Entry rule : catalog.findScenarioRules(event.getScenarioId())) {
+                if (event.getScore() >= rule.criterion().min()) {
+                    candidates.add(rule);
+                }
+            }
+
+            if (event.isPassed()) {
+                Theme theme = scenarioService.getScenarioById(event.getScenarioId()).getTheme();
+                counters.pass(event.getScenarioId(), theme);
+
+                candidates.addAll(catalog.findReachedBy(BadgeCriterion.Type.SCENARIOS_PASSED, counters.getPassedCount()));
+                for (BadgeCatalog.Entry rule : catalog.findThemeRules(theme)) {
+                    if (counters.getPassedCount(theme) < rule.criterion().min()) {
+                        break;
+                    }
+                    candidates.add(rule);
+                }
+            }
+
+            claimed = claim(candidates, counters);
+        }
+        award(event.getStudentId(), event.getScenarioId(), claimed);
+    }
+
+    /**
+     * Drop a student's counters, e.g. after their history was changed outside of learning events
+     */
+    public void evict(UUID studentId) {
+        countersByStudent.invalidate(studentId);
+    }
+
+    /**
+     * Take the candidates the student has not earned yet and mark them earned, so concurrent events of the
+     * student do not award them again; the caller holds the counters' lock
+     */
+    private static List<BadgeCatalog.Entry> claim(List<BadgeCatalog.Entry> candidates, StudentBadgeCounters counters) {
+        EarnedBadges earned = counters.getEarned();
+        List<BadgeCatalog.Entry> claimed = new ArrayList<>();
+        for (BadgeCatalog.Entry badge : candidates) {
+            if (!earned.contains(badge)) {
+                earned.add(badge);
+                claimed.add(badge);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Award claimed badges, each in its own transaction, and email the student once it committed
+     */
+    private void award(UUID studentId, UUID scenarioId, List<BadgeCatalog.Entry> claimed) {
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        Student student = studentRepository.findById(studentId).orElseThrow();
+        for (BadgeCatalog.Entry badge : claimed) {
+            try {
+                awardTransaction.executeWithoutResult(status -> {
+                    badgeService.awardBadgeToStudent(studentId, badge.id(), badge.criterion().describe(), scenarioId);
+                    pointsLedgerService.recordBadgeEarned(studentId);
+                });
+                log.info("Student {} earned badge '{}'", studentId, badge.name());
+            } catch (RuntimeException e) {
+                // Most likely awarded concurrently; the claims are unreliable now, reload the earned set
+                log.warn("Could not award badge '{}' to student {}: {}", badge.name(), studentId, e.getMessage());
+                evict(studentId);
+                return;
+            }
+            badgeService.notifyBadgeEarned(studentId, badge.id(), student.getFullName(), student.getEmail());
+        }
+    }
+
+    private StudentBadgeCounters getCounters(UUID studentId, BadgeCatalog catalog) {
+        StudentBadgeCounters counters = countersByStudent.get(studentId, this::loadCounters);
+
+        // The catalog was rebuilt since the earned set was loaded, re-index it
+        synchronized (counters) {
+            if (counters.getEarned().getCatalogVersion() != catalog.getVersion()) {
+                counters.setEarned(badgeCatalogService.getEarnedBadges(studentId));
+            }
+        }
+        return counters;
+    }
+
+    private StudentBadgeCounters loadCounters(UUID studentId) {
+        log.debug("Loading badge counters for student {}", studentId);
+
+        StudentBadgeCounters counters = new StudentBadgeCounters(badgeCatalogService.getEarnedBadges(studentId));
+        jdbcTemplate.query(PASSED_SCENARIOS_SQL, rs -> {
+            counters.pass(rs.getObject(1, UUID.class), Theme.valueOf(rs.getString(2)));
+        }, studentId);
+        counters.seedStreak(jdbcTemplate.queryForList(ACTIVE_DAYS_SQL, Date.class, studentId)
+                .stream()
+                .map(Date::toLocalDate)
+                .toList());
+        return counters;
+    }
+}
@@ -0,0 +1,212 @@
+package com.vroom.learning.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vroom.learning.model.enums.CompletionStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes the progress of an instructor's cohort as a students x scenarios matrix
+ * Scenario ids are sent once as the column dictionary and each student row carries dense arrays indexed
+ * by column: status (index into the status dictionary), best score and attempts.
+ * Rows come from one query ordered by student and are written as they are read, so large cohorts are
+ * never held in memory. The column dictionary has to precede the rows, so it is read by a query of its own
+ * in the same repeatable-read transaction, which keeps both queries on one snapshot.
+ * A failure while streaming leaves the JSON unterminated and is rethrown so the response is aborted,
+ * clients never receive a truncated matrix as a complete document.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CohortProgressService {
+
+    private static final int FETCH_SIZE = 500;
+
+    // Published scenarios plus any scenario the cohort has progress on
+    private static final String SELECT_COLUMNS = """
+            SELECT s.id, s.title FROM scenarios s
+            WHERE s.published = TRUE OR EXISTS (
+                SELECT 1 FROM student_scenarios ss JOIN students st ON st.id = ss.student_id
+                WHERE ss.scenario_id = s.id %s)
+            ORDER BY s.title, s.id
+            """;
+
+    private static final String SELECT_MATRIX = """
+            SELECT st.id AS student_id, u.first_name, u.last_name,
+                ss.scenario_id, ss.status, ss.highest_score, ss.attempt_count
+            FROM students st JOIN users u ON u.id = st.id
+            LEFT JOIN student_scenarios ss ON ss.student_id = st.id
+            %s
+            ORDER BY u.last_name, u.first_name, st.id
+            """;
+
+    private static final String COHORT_FILTER = "st.assigned_instructor_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Write the matrix of the students assigned to an instructor, or of every student when instructorId is null
+     */
+    public void writeMatrix(UUID instructorId, OutputStream out) {
+        Object[] args = instructorId != null ? new Object[] {instructorId} : new Object[0];
+        String columnFilter = instructorId != null ? "AND " + COHORT_FILTER : "";
+        String rowFilter = instructorId != null ? "WHERE " + COHORT_FILTER : "";
+
+        TransactionTemplate snapshot = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        snapshot.setReadOnly(true);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Closing the generator after a failure must not complete the open arrays and objects
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            snapshot.executeWithoutResult(status -> {
+                try {
+                    write(generator, SELECT_COLUMNS.formatted(columnFilter), SELECT_MATRIX.formatted(rowFilter), args);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write cohort progress", e);
+        }
+    }
+
+    private void write(JsonGenerator generator, String columnsSql, String matrixSql, Object[] args) throws IOException {
+        List<UUID> scenarioIds = new ArrayList<>();
+        List<String> titles = new ArrayList<>();
+        jdbcTemplate.query(columnsSql, rs -> {
+            scenarioIds.add(rs.getObject("id", UUID.class));
+            titles.add(rs.getString("title"));
+        }, args);
+
+        Map<UUID, Integer> columns = new HashMap<>(scenarioIds.size() * 2);
+        for (int i = 0; i < scenarioIds.size(); i++) {
+            columns.put(scenarioIds.get(i), i);
+        }
+
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("statuses");
+        for (CompletionStatus status : CompletionStatus.values()) {
+            generator.writeString(status.name());
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("scenarios");
+        for (int i = 0; i < scenarioIds.size(); i++) {
+            generator.writeStartObject();
+            generator.writeStringField("id", scenarioIds.get(i).toString());
+            generator.writeStringField("title", titles.get(i));
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("students");
+        RowWriter rows = new RowWriter(generator, columns);
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(FETCH_SIZE);
+        streaming.query(matrixSql, rs -> {
+            try {
+                rows.add(rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, args);
+        rows.finish();
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+        log.debug("Wrote cohort progress of {} students over {} scenarios", rows.count, scenarioIds.size());
+    }
+
+    /**
+     * Collects the cells of the current student and writes the row when the next student starts
+     */
+    private static final class RowWriter {
+
+        private final JsonGenerator generator;
+        private final Map<UUID, Integer> columns;
+        private final int[] status;
+        private final double[] bestScore;
+        private final int[] attempts;
+
+        private UUID studentId;
+        private String name;
+        private int count;
+
+        RowWriter(JsonGenerator generator, Map<UUID, Integer> columns) {
+            this.generator = generator;
+            this.columns = columns;
+            this.status = new int[columns.size()];
+            this.bestScore = new double[columns.size()];
+            this.attempts = new int[columns.size()];
+        }
+
+        void add(ResultSet rs) throws SQLException, IOException {
+            UUID rowStudent = rs.getObject("student_id", UUID.class);
+            if (!rowStudent.equals(studentId)) {
+                finish();
+                studentId = rowStudent;
+                name = rs.getString("first_name") + " " + rs.getString("last_name");
+                Arrays.fill(status, CompletionStatus.NOT_STARTED.ordinal());
+                Arrays.fill(bestScore, Double.NaN);
+                Arrays.fill(attempts, 0);
+            }
+
+            Integer column = columns.get(rs.getObject("scenario_id", UUID.class));
+            if (column == null) {
+                return;
+            }
+            status[column] = CompletionStatus.valueOf(rs.getString("status")).ordinal();
+            double score = rs.getDouble("highest_score");
+            bestScore[column] = rs.wasNull() ? Double.NaN : score;
+            attempts[column] = rs.getInt("attempt_count");
+        }
+
+        void finish() throws IOException {
+            if (studentId == null) {
+                return;
+            }
+
+            generator.writeStartObject();
+            generator.writeStringField("id", studentId.toString());
+            generator.writeStringField("name", name);
+            generator.writeFieldName("status");
+            generator.writeArray(status, 0, status.length);
+            generator.writeArrayFieldStart("bestScore");
+            for (double score : bestScore) {
+                if (Double.isNaN(score)) {
+                    generator.writeNull();
+                } else {
+                    generator.writeNumber(score);
+                }
+            }
+            generator.writeEndArray();
+            generator.writeFieldName("attempts");
+            generator.writeArray(attempts, 0, attempts.length);
+            generator.writeEndObject();
+
+            count++;
+            studentId = null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.vroom.learning.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs progress writes in a transaction that is retried when it lost a race: an optimistic lock failure,
+ * or one of the unique keys a concurrent request of the same student inserts first; anything else is rethrown
+ * A retry re-reads the rows and re-applies the request, so concurrent changes merge instead of overwriting
+ * each other: attempts and points add up and the highest score stays the maximum.
+ * Inside an existing transaction the action runs once and the owner of that transaction retries.
+ */
+@Component
+@Slf4j
+public class ConflictRetry {
+
+    // A retry finds the row the other request inserted: the progress row of a first start, the answer of a resubmission
+    private static final List<String> RACED_UNIQUE_KEYS = List.of("uk_student_scenario", "uk_student_answer_client_id");
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+
+    public ConflictRetry(TransactionTemplate transactionTemplate,
+                         @Value("${progress.conflict.max-attempts:5}") int maxAttempts) {
+        this.transactionTemplate = transactionTemplate;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    public <T> T inTransaction(Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                if (e instanceof DataIntegrityViolationException && !isRacedUniqueKey(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    log.warn("Giving up after {} conflicting attempts: {}", attempt, e.getMessage());
+                    throw new IllegalStateException("Progress was updated concurrently, please retry", e);
+                }
+                log.debug("Retrying after conflict (attempt {}): {}", attempt, e.getMessage());
+                backOff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Whether the violation is one of the expected unique keys, by constraint name when Hibernate reports it,
+     * otherwise by the database message (JdbcTemplate batches)
+     */
+    static boolean isRacedUniqueKey(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            String text = cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    ? violation.getConstraintName() : cause.getMessage();
+            if (text != null) {
+                String lower = text.toLowerCase(Locale.ROOT);
+                if (RACED_UNIQUE_KEYS.stream().anyMatch(lower::contains)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5L << attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a conflicting update", e);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.vroom.learning.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vroom.content.service.CachedResponse;
+import com.vroom.learning.model.entity.IdempotencyRecord;
+import com.vroom.learning.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Makes progress writes idempotent under client retries
+ * The key is claimed by inserting it in the same transaction as the request's writes, and the response is
+ * stored with it. A concurrent duplicate blocks on the unique constraint until the first request commits,
+ * then replays its response; if the first request failed, the key was rolled back with it.
+ * Completed keys are also kept in memory for the retention window, so most replays skip the database.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ConflictRetry conflictRetry;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+
+    private final Cache<String, Completed> completed;
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              TransactionTemplate transactionTemplate, ConflictRetry conflictRetry, ObjectMapper objectMapper,
+                              @Value("${idempotency.retention-hours:24}") long retentionHours) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.conflictRetry = conflictRetry;
+        this.objectMapper = objectMapper;
+        this.retention = Duration.ofHours(retentionHours);
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    /**
+     * Run the action once per student and key
+     * Without a key the action simply runs; a replay returns the original response, and a key reused
+     * for a different operation or request is rejected as a conflict
+     */
+    public <T> T execute(UUID studentId, String key, String operation, Object request,
+                         Class<T> responseType, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = studentId + ":" + key;
+        String requestHash = hash(operation, request);
+
+        Completed cached = completed.getIfPresent(cacheKey);
+        if (cached != null) {
+            return replay(cached, requestHash, responseType);
+        }
+
+        String responseBody;
+        try {
+            responseBody = conflictRetry.inTransaction(() -> {
+                IdempotencyRecord record;
+                try {
+                    record = idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                            .studentId(studentId)
+                            .idempotencyKey(key)
+                            .requestHash(requestHash)
+                            .build());
+                } catch (DataIntegrityViolationException e) {
+                    throw new KeyTakenException();
+                }
+
+                record.setResponseBody(toJson(action.get()));
+                return record.getResponseBody();
+            });
+        } catch (KeyTakenException e) {
+            log.debug("Replaying idempotent {} of student {}", operation, studentId);
+            IdempotencyRecord record = idempotencyRecordRepository.findByStudentIdAndIdempotencyKey(studentId, key)
+                    .orElseThrow(() -> new IllegalStateException("Request with this Idempotency-Key did not complete, retry it"));
+            Completed stored = new Completed(record.getRequestHash(), record.getResponseBody());
+            completed.put(cacheKey, stored);
+            return replay(stored, requestHash, responseType);
+        }
+
+        completed.put(cacheKey, new Completed(requestHash, responseBody));
+        return fromJson(responseBody, responseType);
+    }
+
+    /**
+     * Delete keys older than the retention window
+     */
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:600000}")
+    public void deleteExpired() {
+        Integer deleted = transactionTemplate.execute(status ->
+                idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.debug("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private <T> T replay(Completed stored, String requestHash, Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IllegalStateException("Idempotency-Key was already used for a different request");
+        }
+        return fromJson(stored.responseBody(), responseType);
+    }
+
+    private String hash(String operation, Object request) {
+        byte[] bytes = (operation + '\n' + toJson(request)).getBytes(StandardCharsets.UTF_8);
+        return HexFormat.of().formatHex(CachedResponse.sha256(bytes));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotent request", e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored idempotent response", e);
+        }
+    }
+
+    private record Completed(String requestHash, String responseBody) {
+    }
+
+    /**
+     * Another request already claimed the key; thrown to roll back the claiming transaction
+     */
+    private static final class KeyTakenException extends RuntimeException {
+        KeyTakenException() {
+            super(null, null, false, false);
+        }
+    }
+}
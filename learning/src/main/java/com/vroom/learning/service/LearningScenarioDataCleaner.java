@@ -0,0 +1,90 @@
+package com.vroom.learning.service;
+
+import com.vroom.content.service.ScenarioDataCleaner;
+import com.vroom.content.service.ScenarioDeletionJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deletes the learning history of a scenario: answers, progress and assignments
+ * Runs before the content cleaner; answer and progress rows go in bounded batches
+ */
+@Component
+@Order(100)
+@RequiredArgsConstructor
+@Slf4j
+public class LearningScenarioDataCleaner implements ScenarioDataCleaner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StudentProgressSummaryService summaryService;
+
+    @Value("${scenario.deletion.batch-size:5000}")
+    private int batchSize;
+
+    @Override
+    public long countRows(UUID scenarioId) {
+        return count("student_answers", scenarioId) + count("student_scenarios", scenarioId) + count("assignments", scenarioId);
+    }
+
+    @Override
+    public void deleteScenarioData(UUID scenarioId, ScenarioDeletionJob job) {
+        job.step("student answers");
+        deleteInBatches("student_answers", "DELETE FROM student_answer_selections WHERE student_answer_id IN (:ids)", scenarioId, job);
+
+        job.step("student progress");
+        // Flagged once the rows are gone, so a refresh running in between cannot clear the flag early
+        List<UUID> students = jdbcTemplate.queryForList(
+                "SELECT DISTINCT student_id FROM student_scenarios WHERE scenario_id = ?", UUID.class, scenarioId);
+        deleteInBatches("student_scenarios", null, scenarioId, job);
+        summaryService.markStale(students);
+
+        job.step("assignments");
+        deleteInBatches("assignments", null, scenarioId, job);
+
+        log.debug("Deleted learning data of scenario {}", scenarioId);
+    }
+
+    /**
+     * Delete a table's rows for the scenario, batchSize rows per transaction
+     * childDelete removes rows keyed by the batch ids (bound as :ids) before the batch itself
+     */
+    private void deleteInBatches(String table, String childDelete, UUID scenarioId, ScenarioDeletionJob job) {
+        String selectBatch = "SELECT id FROM " + table + " WHERE scenario_id = ? LIMIT ?";
+        String deleteBatch = "DELETE FROM " + table + " WHERE id IN (:ids)";
+
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<UUID> ids = jdbcTemplate.queryForList(selectBatch, UUID.class, scenarioId, batchSize);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+
+                MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+                if (childDelete != null) {
+                    job.addDeletedRows(namedParameterJdbcTemplate.update(childDelete, params));
+                }
+                int rows = namedParameterJdbcTemplate.update(deleteBatch, params);
+                job.addDeletedRows(rows);
+                return rows;
+            });
+        } while (deleted == batchSize);
+    }
+
+    private long count(String table, UUID scenarioId) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE scenario_id = ?", Long.class, scenarioId);
+        return count != null ? count : 0;
+    }
+}
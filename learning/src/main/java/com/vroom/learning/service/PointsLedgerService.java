@@ -0,0 +1,130 @@
+package com.vroom.learning.service;
+
+import com.vroom.learning.dto.PointsSummaryDTO;
+import com.vroom.learning.model.enums.PointsSource;
+import com.vroom.learning.repository.PointsLedgerRepository;
+import com.vroom.shared.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service keeping the append-only points ledger and the student counters derived from it
+ * Every points change is one ledger row plus an atomic increment of students.total_points, so totals are
+ * never re-summed on the write path. Reconciliation recomputes the totals from the ledger and corrects drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PointsLedgerService {
+
+    private static final String ADD_POINTS = "UPDATE students SET total_points = total_points + ? WHERE id = ?";
+
+    private static final String SELECT_POINTS = "SELECT total_points FROM students WHERE id = ?";
+
+    private static final String INSERT_ENTRY =
+            "INSERT INTO points_ledger (id, student_id, source, source_id, delta, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    // The student row is locked by ADD_POINTS, so concurrent first entries cannot both write the opening balance
+    private static final String INSERT_OPENING_BALANCE = """
+            INSERT INTO points_ledger (id, student_id, source, source_id, delta, created_at)
+            SELECT ?, s.id, 'OPENING_BALANCE', NULL, s.total_points - ?, ? FROM students s
+            WHERE s.id = ? AND s.total_points - ? <> 0
+                AND NOT EXISTS (SELECT 1 FROM points_ledger l WHERE l.student_id = s.id)
+            """;
+
+    private static final String ADD_BADGE = "UPDATE students SET badges_earned = badges_earned + 1 WHERE id = ?";
+
+    // Students without ledger rows keep their stored total until their first entry writes its opening balance
+    private static final String SELECT_POINTS_DRIFT = """
+            SELECT s.id, l.total - s.total_points AS drift FROM students s
+            JOIN (SELECT student_id, SUM(delta) AS total FROM points_ledger GROUP BY student_id) l ON l.student_id = s.id
+            WHERE s.total_points <> l.total
+            """;
+
+    private static final String RECOUNT_BADGES = """
+            UPDATE students SET badges_earned = (SELECT COUNT(*) FROM student_badges sb WHERE sb.student_id = students.id)
+            WHERE badges_earned <> (SELECT COUNT(*) FROM student_badges sb WHERE sb.student_id = students.id)
+            """;
+
+    private final PointsLedgerRepository pointsLedgerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Record a points change and return the student's new total
+     */
+    @Transactional
+    public int record(UUID studentId, PointsSource source, UUID sourceId, int delta) {
+        if (jdbcTemplate.update(ADD_POINTS, delta, studentId) == 0) {
+            throw new ResourceNotFoundException("Student", "id", studentId);
+        }
+
+        if (delta != 0) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.update(INSERT_OPENING_BALANCE, UUID.randomUUID(), delta, now, studentId, delta);
+            jdbcTemplate.update(INSERT_ENTRY, UUID.randomUUID(), studentId, source.name(), sourceId, delta, now);
+        }
+
+        Integer total = jdbcTemplate.queryForObject(SELECT_POINTS, Integer.class, studentId);
+        return total != null ? total : 0;
+    }
+
+    /**
+     * Count a newly awarded badge
+     */
+    @Transactional
+    public void recordBadgeEarned(UUID studentId) {
+        jdbcTemplate.update(ADD_BADGE, studentId);
+    }
+
+    /**
+     * Get a student's total and the points gained since a date (start of the current week by default)
+     */
+    public PointsSummaryDTO getSummary(UUID studentId, LocalDate since) {
+        LocalDate from = since != null ? since : LocalDate.now().with(DayOfWeek.MONDAY);
+
+        List<Integer> total = jdbcTemplate.queryForList(SELECT_POINTS, Integer.class, studentId);
+        if (total.isEmpty()) {
+            throw new ResourceNotFoundException("Student", "id", studentId);
+        }
+
+        return PointsSummaryDTO.builder()
+                .totalPoints(total.get(0))
+                .since(from)
+                .pointsSince(pointsLedgerRepository.sumDeltaSince(studentId, from.atStartOfDay()))
+                .build();
+    }
+
+    /**
+     * Correct student totals that drifted from the ledger, and badge counts from the awarded badges
+     * Drift is applied as an increment, so completions committed meanwhile are kept
+     */
+    @Scheduled(initialDelayString = "${points.ledger.reconcile-interval-ms:3600000}",
+            fixedDelayString = "${points.ledger.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        int[] corrected = transactionTemplate.execute(status -> {
+            List<Object[]> drift = jdbcTemplate.query(SELECT_POINTS_DRIFT,
+                    (rs, rowNum) -> new Object[] {rs.getInt("drift"), rs.getObject("id", UUID.class)});
+            if (!drift.isEmpty()) {
+                jdbcTemplate.batchUpdate(ADD_POINTS, drift);
+            }
+            return new int[] {drift.size(), jdbcTemplate.update(RECOUNT_BADGES)};
+        });
+
+        if (corrected != null && (corrected[0] > 0 || corrected[1] > 0)) {
+            log.warn("Reconciled {} student point totals and {} badge counts", corrected[0], corrected[1]);
+        }
+    }
+}
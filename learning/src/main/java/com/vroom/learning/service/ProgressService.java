@@ -1,64 +1,101 @@
 package com.vroom.learning.service;
 
-import com.vroom.content.service.BadgeService;
-import com.vroom.content.model.entity.Answer;
-import com.vroom.content.model.entity.Question;
-import com.vroom.content.repository.AnswerRepository;
-import com.vroom.content.repository.BadgeRepository;
-import com.vroom.content.repository.StudentBadgeRepository;
-import com.vroom.content.repository.QuestionRepository;
+import com.vroom.content.model.index.AnswerKey;
+import com.vroom.content.model.index.ScenarioQuestionTotals;
+import com.vroom.content.service.QuestionService;
+import com.vroom.content.service.ScenarioService;
 import com.vroom.learning.dto.ProgressDTO;
+import com.vroom.learning.dto.SubmitAnswerBatchRequest;
+import com.vroom.learning.dto.SubmitAnswerBatchResponse;
 import com.vroom.learning.dto.SubmitAnswerRequest;
 import com.vroom.learning.dto.SubmitAnswerResponse;
+import com.vroom.learning.event.AnswerSubmittedEvent;
+import com.vroom.learning.event.ScenarioCompletedEvent;
+import com.vroom.learning.event.ScenarioStartedEvent;
 import com.vroom.learning.model.entity.StudentAnswer;
 import com.vroom.learning.model.entity.StudentScenario;
+import com.vroom.learning.model.enums.CompletionStatus;
+import com.vroom.learning.model.enums.PointsSource;
 import com.vroom.learning.repository.StudentAnswerRepository;
 import com.vroom.learning.repository.StudentScenarioRepository;
-import com.vroom.security.model.entity.Student;
-import com.vroom.security.repository.StudentRepository;
 import com.vroom.shared.exception.ResourceNotFoundException;
+import com.vroom.shared.touch.TouchBuffer;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Service for tracking student progress
+ * Writes run through ConflictRetry, so a request that raced another one on the same progress is re-applied
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProgressService {
 
+    private static final String INSERT_ANSWER = """
+            INSERT INTO student_answers (id, student_id, question_id, scenario_id, student_scenario_id, is_correct,
+                points_earned, time_taken_seconds, hint_used, attempt_number, snapshot_version, client_answer_id, answered_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_SELECTION =
+            "INSERT INTO student_answer_selections (student_answer_id, answer_id) VALUES (?, ?)";
+
+    // Best result per question of the attempt, then summed over the questions; answers to another scenario's
+    // questions are left out, questions deleted since the attempt's snapshot still count
+    private static final String ATTEMPT_RESULT = """
+            SELECT COALESCE(SUM(correct), 0) AS correct, COALESCE(SUM(points), 0) AS points, COALESCE(SUM(seconds), 0) AS seconds
+            FROM (SELECT MAX(CASE WHEN sa.is_correct THEN 1 ELSE 0 END) AS correct, MAX(sa.points_earned) AS points,
+                    SUM(COALESCE(sa.time_taken_seconds, 0)) AS seconds
+                FROM student_answers sa JOIN student_scenarios ss ON ss.id = sa.student_scenario_id
+                WHERE sa.student_scenario_id = ? AND sa.attempt_number = ?
+                    AND NOT EXISTS (SELECT 1 FROM questions q WHERE q.id = sa.question_id AND q.scenario_id <> ss.scenario_id)
+                GROUP BY sa.question_id) per_question
+            """;
+
+    private static final String LOCK_PROGRESS =
+            "SELECT id FROM student_scenarios WHERE student_id = ? AND scenario_id = ? FOR UPDATE";
+
+    private static final int DEFAULT_PASSING_SCORE = 70;
+
     private final StudentScenarioRepository studentScenarioRepository;
     private final StudentAnswerRepository studentAnswerRepository;
-    private final QuestionRepository questionRepository;
-    private final AnswerRepository answerRepository;
-
-    private final StudentRepository studentRepository;
-    private final BadgeRepository badgeRepository;
-    private final StudentBadgeRepository studentBadgeRepository;
-    private final BadgeService badgeService;
+    private final QuestionService questionService;
 
-    private static final String BADGE_POINTS_100 = "Points 100";
-    private static final String BADGE_POINTS_300 = "Points 300";
-    private static final String BADGE_POINTS_600 = "Points 600";
-    private static final String BADGE_POINTS_1000 = "Points 1000";
-    private static final String BADGE_POINTS_1500 = "Points 1500";
+    private final ScenarioService scenarioService;
+    private final ScenarioUnlockService scenarioUnlockService;
+    private final PointsLedgerService pointsLedgerService;
+    private final ConflictRetry conflictRetry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TouchBuffer lastAccessedTouchBuffer;
 
     /**
      * Start a scenario for a student
      */
-    @Transactional
     public ProgressDTO startScenario(UUID studentId, UUID scenarioId) {
+        return conflictRetry.inTransaction(() -> doStartScenario(studentId, scenarioId));
+    }
+
+    private ProgressDTO doStartScenario(UUID studentId, UUID scenarioId) {
         log.info("Student {} starting scenario {}", studentId, scenarioId);
 
+        if (!scenarioUnlockService.isUnlocked(studentId, scenarioId)) {
+            throw new IllegalStateException("Prerequisites not completed for scenario: " + scenarioId);
+        }
+
         StudentScenario progress = studentScenarioRepository
                 .findByStudentIdAndScenarioId(studentId, scenarioId)
                 .orElseGet(() -> StudentScenario.builder()
@@ -66,8 +103,17 @@ public class ProgressService {
                         .scenarioId(scenarioId)
                         .build());
 
-        progress.startScenario();
+        // Resuming the attempt in progress keeps its snapshot and only touches the buffered access time,
+        // so it writes nothing that concurrent requests on the same progress could conflict with
+        if (progress.getStatus() == CompletionStatus.IN_PROGRESS) {
+            lastAccessedTouchBuffer.touch(progress.getId());
+            return mapToDTO(progress);
+        }
+
+        // The attempt stays on the snapshot published now, later edits only reach new attempts
+        progress.startScenario(scenarioService.getScenarioById(scenarioId).getSnapshotVersion());
         progress = studentScenarioRepository.save(progress);
+        eventPublisher.publishEvent(new ScenarioStartedEvent(studentId, scenarioId));
 
         return mapToDTO(progress);
     }
@@ -75,28 +121,33 @@ public class ProgressService {
     /**
      * Submit answer to a question
      */
-    @Transactional
     public SubmitAnswerResponse submitAnswer(UUID studentId, SubmitAnswerRequest request) {
+        return conflictRetry.inTransaction(() -> doSubmitAnswer(studentId, request));
+    }
+
+    private SubmitAnswerResponse doSubmitAnswer(UUID studentId, SubmitAnswerRequest request) {
         log.info("Student {} submitting answer for question {}", studentId, request.getQuestionId());
 
+        // A resubmission gets the stored result back
+        if (request.getClientAnswerId() != null) {
+            Map<UUID, SubmitAnswerResponse> stored = findSubmitted(studentId, List.of(request.getClientAnswerId()));
+            if (!stored.isEmpty()) {
+                return stored.get(request.getClientAnswerId());
+            }
+        }
+
         // Get or create student scenario progress
         StudentScenario progress = studentScenarioRepository
                 .findByStudentIdAndScenarioId(studentId, request.getScenarioId())
                 .orElseThrow(() -> new ResourceNotFoundException("StudentScenario", "scenarioId", request.getScenarioId()));
 
-        // Get question with answers
-        Question question = questionRepository.findById(request.getQuestionId())
-                .orElseThrow(() -> new ResourceNotFoundException("Question", "id", request.getQuestionId()));
+        lastAccessedTouchBuffer.touch(progress.getId());
 
-        // Get correct answer IDs
-        Set<UUID> correctAnswerIds = question.getAnswers().stream()
-                .filter(Answer::getIsCorrect)
-                .map(Answer::getId)
-                .collect(Collectors.toSet());
-
-        // Validate answer
-        boolean isCorrect = correctAnswerIds.equals(request.getSelectedAnswerIds());
-        int pointsEarned = isCorrect ? question.getPoints() : 0;
+        // Grade against the cached key of the attempt's snapshot, the questions and answers tables are not read
+        AnswerKey answerKey = questionService.getAnswerKey(
+                request.getScenarioId(), progress.getSnapshotVersion(), request.getQuestionId());
+        boolean isCorrect = answerKey.isCorrect(request.getSelectedAnswerIds());
+        int pointsEarned = isCorrect ? answerKey.getPoints() : 0;
 
         // Save student answer
         StudentAnswer answer = StudentAnswer.builder()
@@ -109,9 +160,14 @@ public class ProgressService {
                 .pointsEarned(pointsEarned)
                 .timeTakenSeconds(request.getTimeTakenSeconds())
                 .hintUsed(request.getHintUsed() != null ? request.getHintUsed() : false)
+                .attemptNumber(progress.getCurrentAttemptNumber())
+                .snapshotVersion(progress.getSnapshotVersion())
+                .clientAnswerId(request.getClientAnswerId())
                 .build();
 
         studentAnswerRepository.save(answer);
+        eventPublisher.publishEvent(new AnswerSubmittedEvent(
+                studentId, request.getScenarioId(), request.getQuestionId(), isCorrect, pointsEarned));
         log.info("Answer submitted for question {} - Correct: {}, Points: {}",
                 request.getQuestionId(), isCorrect, pointsEarned);
 
@@ -119,83 +175,187 @@ public class ProgressService {
                 .correct(isCorrect)
                 .pointsEarned(pointsEarned)
                 .explanation(null)
+                .clientAnswerId(request.getClientAnswerId())
+                .duplicate(false)
                 .build();
     }
 
     /**
-     * Complete a scenario
+     * Submit answers recorded offline in one transaction
+     * Answers are graded against the cached answer keys and stored with two batched inserts;
+     * answers whose clientAnswerId was already stored are skipped and get their original result
      */
-    @Transactional
-    public ProgressDTO completeScenario(UUID studentId, UUID scenarioId, Double score, Integer pointsEarned) {
-        log.info("Student {} completing scenario {} with score {}", studentId, scenarioId, score);
+    public SubmitAnswerBatchResponse submitAnswers(UUID studentId, SubmitAnswerBatchRequest request) {
+        return conflictRetry.inTransaction(() -> doSubmitAnswers(studentId, request));
+    }
 
-        StudentScenario progress = studentScenarioRepository
-                .findByStudentIdAndScenarioId(studentId, scenarioId)
-                .orElseThrow(() -> new ResourceNotFoundException("StudentScenario", "scenarioId", scenarioId));
+    private SubmitAnswerBatchResponse doSubmitAnswers(UUID studentId, SubmitAnswerBatchRequest request) {
+        List<SubmitAnswerRequest> items = request.getAnswers();
+        log.info("Student {} submitting a batch of {} answers", studentId, items.size());
 
-        // Get answer statistics
-        long correctAnswers = studentAnswerRepository
-                .countByStudentIdAndScenarioIdAndIsCorrectTrue(studentId, scenarioId);
-        long totalQuestions = studentAnswerRepository
-                .countByStudentIdAndScenarioId(studentId, scenarioId);
+        List<UUID> clientAnswerIds = new ArrayList<>(items.size());
+        for (SubmitAnswerRequest item : items) {
+            if (item.getClientAnswerId() == null) {
+                throw new IllegalArgumentException("clientAnswerId is required for every answer of a batch");
+            }
+            clientAnswerIds.add(item.getClientAnswerId());
+        }
 
-        progress.completeScenario(score, pointsEarned, (int) correctAnswers, (int) totalQuestions);
-        progress = studentScenarioRepository.save(progress);
+        Map<UUID, SubmitAnswerResponse> results = findSubmitted(studentId, clientAnswerIds);
+        int duplicates = 0;
+        for (SubmitAnswerRequest item : items) {
+            if (results.containsKey(item.getClientAnswerId())) {
+                duplicates++;
+            }
+        }
 
-        updateStudentTotalPointsAndAwardPointBadges(studentId);
+        Map<UUID, StudentScenario> progressByScenario = new HashMap<>();
+        List<Object[]> answerRows = new ArrayList<>();
+        List<Object[]> selectionRows = new ArrayList<>();
+        List<AnswerSubmittedEvent> events = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (SubmitAnswerRequest item : items) {
+            if (results.containsKey(item.getClientAnswerId())) {
+                continue;
+            }
+
+            StudentScenario progress = progressByScenario.computeIfAbsent(item.getScenarioId(), scenarioId ->
+                    studentScenarioRepository.findByStudentIdAndScenarioId(studentId, scenarioId)
+                            .orElseThrow(() -> new ResourceNotFoundException("StudentScenario", "scenarioId", scenarioId)));
+
+            AnswerKey answerKey = questionService.getAnswerKey(
+                    item.getScenarioId(), progress.getSnapshotVersion(), item.getQuestionId());
+            boolean isCorrect = answerKey.isCorrect(item.getSelectedAnswerIds());
+            int pointsEarned = isCorrect ? answerKey.getPoints() : 0;
+
+            UUID answerId = UUID.randomUUID();
+            answerRows.add(new Object[] {answerId, studentId, item.getQuestionId(), item.getScenarioId(), progress.getId(),
+                    isCorrect, pointsEarned, item.getTimeTakenSeconds(), Boolean.TRUE.equals(item.getHintUsed()),
+                    progress.getCurrentAttemptNumber(), progress.getSnapshotVersion(), item.getClientAnswerId(), now});
+            for (UUID selected : item.getSelectedAnswerIds()) {
+                selectionRows.add(new Object[] {answerId, selected});
+            }
+            events.add(new AnswerSubmittedEvent(studentId, item.getScenarioId(), item.getQuestionId(), isCorrect, pointsEarned));
+
+            results.put(item.getClientAnswerId(), SubmitAnswerResponse.builder()
+                    .correct(isCorrect)
+                    .pointsEarned(pointsEarned)
+                    .clientAnswerId(item.getClientAnswerId())
+                    .duplicate(false)
+                    .build());
+        }
 
-        log.info("Scenario completed successfully");
-        return mapToDTO(progress);
+        if (!answerRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ANSWER, answerRows);
+        }
+        if (!selectionRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SELECTION, selectionRows);
+        }
+        events.forEach(eventPublisher::publishEvent);
+        progressByScenario.values().forEach(progress -> lastAccessedTouchBuffer.touch(progress.getId()));
+
+        // A client id repeated inside the batch is stored once, later occurrences count as duplicates
+        List<SubmitAnswerResponse> ordered = new ArrayList<>(items.size());
+        Map<UUID, Boolean> seen = new HashMap<>();
+        for (SubmitAnswerRequest item : items) {
+            SubmitAnswerResponse result = results.get(item.getClientAnswerId());
+            if (seen.put(item.getClientAnswerId(), Boolean.TRUE) != null && !result.getDuplicate()) {
+                result = result.toBuilder().duplicate(true).build();
+                duplicates++;
+            }
+            ordered.add(result);
+        }
+
+        log.info("Stored {} of {} answers for student {}", answerRows.size(), items.size(), studentId);
+        return SubmitAnswerBatchResponse.builder()
+                .results(ordered)
+                .accepted(answerRows.size())
+                .duplicates(duplicates)
+                .build();
     }
 
-    private void updateStudentTotalPointsAndAwardPointBadges(UUID studentId) {
-        Integer totalPoints = studentScenarioRepository.getTotalPointsByStudent(studentId);
-        if (totalPoints == null) {
-            totalPoints = 0;
+    /**
+     * Stored results of already submitted client answer ids, flagged as duplicates
+     */
+    private Map<UUID, SubmitAnswerResponse> findSubmitted(UUID studentId, List<UUID> clientAnswerIds) {
+        Map<UUID, SubmitAnswerResponse> submitted = new HashMap<>();
+        for (Object[] row : studentAnswerRepository.findResultsByClientAnswerIds(studentId, clientAnswerIds)) {
+            UUID clientAnswerId = (UUID) row[0];
+            submitted.put(clientAnswerId, SubmitAnswerResponse.builder()
+                    .correct((Boolean) row[1])
+                    .pointsEarned((Integer) row[2])
+                    .clientAnswerId(clientAnswerId)
+                    .duplicate(true)
+                    .build());
         }
+        return submitted;
+    }
 
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student", "id", studentId));
-
-        student.setTotalPoints(totalPoints);
-        studentRepository.save(student);
+    /**
+     * Complete a scenario
+     * The attempt is graded from its stored answers with one grouped aggregate: per question the best
+     * result counts, so a question answered twice is not scored twice
+     */
+    public ProgressDTO completeScenario(UUID studentId, UUID scenarioId) {
+        return conflictRetry.inTransaction(() -> doCompleteScenario(studentId, scenarioId));
+    }
 
-        awardIfThresholdReached(student, totalPoints, 100, BADGE_POINTS_100);
-        awardIfThresholdReached(student, totalPoints, 300, BADGE_POINTS_300);
-        awardIfThresholdReached(student, totalPoints, 600, BADGE_POINTS_600);
-        awardIfThresholdReached(student, totalPoints, 1000, BADGE_POINTS_1000);
-        awardIfThresholdReached(student, totalPoints, 1500, BADGE_POINTS_1500);
+    private ProgressDTO doCompleteScenario(UUID studentId, UUID scenarioId) {
+        log.info("Student {} completing scenario {}", studentId, scenarioId);
 
-        long badgeCount = studentBadgeRepository.countByStudentId(studentId);
-        student.setBadgesEarned((int) badgeCount);
-        studentRepository.save(student);
-    }
+        // Completion is the longest write on the progress row; locking it queues concurrent completions
+        // instead of letting them fail the version check at commit
+        jdbcTemplate.queryForList(LOCK_PROGRESS, UUID.class, studentId, scenarioId);
+        StudentScenario progress = studentScenarioRepository
+                .findByStudentIdAndScenarioId(studentId, scenarioId)
+                .orElseThrow(() -> new ResourceNotFoundException("StudentScenario", "scenarioId", scenarioId));
 
-    private void awardIfThresholdReached(Student student, int totalPoints, int threshold, String badgeName) {
-        if (totalPoints < threshold) {
-            return;
+        if (progress.getStatus() != CompletionStatus.IN_PROGRESS) {
+            throw new IllegalStateException("Scenario is not in progress: " + scenarioId);
         }
 
-        var badgeOpt = badgeRepository.findByName(badgeName);
-        if (badgeOpt.isEmpty()) {
-            log.warn("Points badge '{}' not found in DB. Threshold reached: {} points for student {}", badgeName, totalPoints, student.getId());
-            return;
+        AttemptResult attempt = jdbcTemplate.queryForObject(ATTEMPT_RESULT, (rs, rowNum) -> new AttemptResult(
+                rs.getInt("correct"), rs.getInt("points"), rs.getInt("seconds")),
+                progress.getId(), progress.getCurrentAttemptNumber());
+
+        ScenarioQuestionTotals totals = questionService.getScenarioTotals(scenarioId, progress.getSnapshotVersion());
+        Integer passingScore = scenarioService.getScenarioById(scenarioId).getPassingScore();
+        double score = score(attempt.points(), totals.totalPoints());
+
+        boolean wasEverPassed = progress.hasEverPassed();
+        progress.completeScenario(score, attempt.points(), attempt.correct(), totals.questionCount(),
+                totals.totalPoints(), passingScore != null ? passingScore : DEFAULT_PASSING_SCORE);
+        progress = studentScenarioRepository.save(progress);
+
+        if (!wasEverPassed && progress.hasEverPassed()) {
+            scenarioUnlockService.evict(studentId);
         }
 
-        var badge = badgeOpt.get();
+        // Badges are awarded by BadgeRuleEngine once the completion commits
+        int totalPoints = pointsLedgerService.record(studentId, PointsSource.SCENARIO_COMPLETION, progress.getId(), attempt.points());
+
+        // Completion time is the answer time of the first attempt; watch time stays in time_spent_seconds
+        Integer timeSpent = progress.getAttemptCount() == 1 && attempt.seconds() > 0 ? attempt.seconds() : null;
+        eventPublisher.publishEvent(new ScenarioCompletedEvent(
+                studentId, scenarioId, score, progress.isPassed(), timeSpent, totalPoints));
 
-        if (studentBadgeRepository.existsByStudentIdAndBadgeId(student.getId(), badge.getId())) {
-            return;
+        log.info("Scenario completed with score {} ({} of {} points)", score, attempt.points(), totals.totalPoints());
+        return mapToDTO(progress);
+    }
+
+    /**
+     * Percentage of the scenario's points earned, rounded to one decimal
+     */
+    static double score(int pointsEarned, int totalPossiblePoints) {
+        if (totalPossiblePoints <= 0) {
+            return 0.0;
         }
+        double percentage = Math.min(100.0, pointsEarned * 100.0 / totalPossiblePoints);
+        return Math.round(percentage * 10) / 10.0;
+    }
 
-        badgeService.awardBadgeToStudent(
-                student.getId(),
-                badge.getId(),
-                "Reached " + threshold + " points",
-                null,
-                student.getFullName(),
-                student.getEmail()
-        );
+    private record AttemptResult(int correct, int points, int seconds) {
     }
 
     /**
@@ -245,7 +405,9 @@ public class ProgressService {
                 .completionPercentage(progress.getCompletionPercentage())
                 .startedAt(progress.getStartedAt())
                 .completedAt(progress.getCompletedAt())
-                .lastAccessedAt(progress.getLastAccessedAt())
+                .lastAccessedAt(lastAccessedTouchBuffer.latest(progress.getId(), progress.getLastAccessedAt()))
+                .lastPositionSeconds(progress.getLastPositionSeconds())
+                .snapshotVersion(progress.getSnapshotVersion())
                 .build();
     }
 }
\ No newline at end of file
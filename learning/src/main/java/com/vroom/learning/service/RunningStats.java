@@ -0,0 +1,56 @@
+package com.vroom.learning.service;
+
+/**
+ * Welford running count, mean and sum of squared deviations (M2)
+ * Two instances combine with the parallel formula, so deltas can be merged into stored totals
+ */
+final class RunningStats {
+
+    private long count;
+    private double mean;
+    private double m2;
+
+    void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    /**
+     * Merge a group of count samples summarized by its mean and M2
+     */
+    void merge(long otherCount, double otherMean, double otherM2) {
+        if (otherCount == 0) {
+            return;
+        }
+        if (count == 0) {
+            count = otherCount;
+            mean = otherMean;
+            m2 = otherM2;
+            return;
+        }
+
+        long total = count + otherCount;
+        double delta = otherMean - mean;
+        mean += delta * otherCount / total;
+        m2 += otherM2 + delta * delta * count * otherCount / total;
+        count = total;
+    }
+
+    void merge(RunningStats other) {
+        merge(other.count, other.mean, other.m2);
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    double getMean() {
+        return mean;
+    }
+
+    double getM2() {
+        return m2;
+    }
+}
@@ -0,0 +1,266 @@
+package com.vroom.learning.service;
+
+import com.vroom.content.event.ScenarioStatisticsChangedEvent;
+import com.vroom.learning.dto.StatisticsBackfillDTO;
+import com.vroom.learning.event.AnswerSubmittedEvent;
+import com.vroom.learning.event.ScenarioCompletedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service maintaining scenario and question statistics
+ * Committed answers and completions accumulate as in-memory deltas, flushed periodically in batched updates
+ * Completion time is the answer time of a student's first attempt at the scenario, both when completions are
+ * counted and when the history is backfilled
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScenarioStatisticsService {
+
+    // Merges a delta (count, mean, M2) into the stored Welford state; SET expressions see the old row values
+    private static final String MERGE_SCENARIO = """
+            UPDATE scenarios SET
+                average_score = CASE WHEN completion_count = 0 OR average_score IS NULL THEN :mean
+                    ELSE average_score + (:mean - average_score) * :count / (completion_count + :count) END,
+                score_m2 = CASE WHEN completion_count = 0 OR average_score IS NULL THEN :m2
+                    ELSE COALESCE(score_m2, 0) + :m2
+                        + (:mean - average_score) * (:mean - average_score) * completion_count * :count / (completion_count + :count) END,
+                completion_count = completion_count + :count,
+                average_completion_time = CASE WHEN :timeCount = 0 THEN average_completion_time
+                    WHEN COALESCE(timed_completion_count, 0) = 0 OR average_completion_time IS NULL THEN :timeMean
+                    ELSE average_completion_time + (:timeMean - average_completion_time) * :timeCount
+                        / (timed_completion_count + :timeCount) END,
+                timed_completion_count = COALESCE(timed_completion_count, 0) + :timeCount
+            WHERE id = :id
+            """;
+
+    private static final String MERGE_QUESTION =
+            "UPDATE questions SET attempt_count = attempt_count + :attempts, correct_count = correct_count + :correct WHERE id = :id";
+
+    private static final String SELECT_STATISTICS = "SELECT id, completion_count, average_score FROM scenarios";
+
+    private static final RowMapper<ScenarioStatisticsChangedEvent.Statistics> STATISTICS_MAPPER =
+            (rs, rowNum) -> new ScenarioStatisticsChangedEvent.Statistics(
+                    rs.getObject("id", UUID.class), rs.getInt("completion_count"), rs.getObject("average_score", Double.class));
+
+    private static final String RESET_SCENARIOS =
+            "UPDATE scenarios SET completion_count = 0, average_score = NULL, score_m2 = NULL, average_completion_time = NULL, timed_completion_count = 0";
+
+    private static final String SET_SCENARIO = """
+            UPDATE scenarios SET completion_count = :count, average_score = :mean, score_m2 = :m2,
+                average_completion_time = :timeMean, timed_completion_count = :timeCount
+            WHERE id = :id
+            """;
+
+    private static final String RECOMPUTE_QUESTIONS = """
+            UPDATE questions SET
+                attempt_count = (SELECT COUNT(*) FROM student_answers sa WHERE sa.question_id = questions.id),
+                correct_count = (SELECT COUNT(*) FROM student_answers sa WHERE sa.question_id = questions.id AND sa.is_correct = TRUE)
+            """;
+
+    // Completion time as published on completion: answer time of the first attempt, left out when it is zero;
+    // answers to another scenario's questions are skipped like in the attempt result
+    private static final String SELECT_HISTORY = """
+            SELECT ss.scenario_id, ss.attempt_count, ss.average_score,
+                (SELECT COALESCE(SUM(sa.time_taken_seconds), 0) FROM student_answers sa
+                    WHERE sa.student_scenario_id = ss.id AND sa.attempt_number = 1
+                        AND NOT EXISTS (SELECT 1 FROM questions q WHERE q.id = sa.question_id AND q.scenario_id <> ss.scenario_id)
+                ) AS first_attempt_seconds
+            FROM student_scenarios ss
+            WHERE ss.attempt_count > 0 AND ss.average_score IS NOT NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<UUID, ScenarioDelta> scenarioDeltas = new ConcurrentHashMap<>();
+    private final Map<UUID, QuestionDelta> questionDeltas = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnswerSubmitted(AnswerSubmittedEvent event) {
+        questionDeltas.compute(event.getQuestionId(), (id, delta) -> {
+            QuestionDelta current = delta != null ? delta : new QuestionDelta();
+            current.attempts++;
+            if (event.isCorrect()) {
+                current.correct++;
+            }
+            return current;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScenarioCompleted(ScenarioCompletedEvent event) {
+        scenarioDeltas.compute(event.getScenarioId(), (id, delta) -> {
+            ScenarioDelta current = delta != null ? delta : new ScenarioDelta();
+            current.score.add(event.getScore());
+            if (event.getTimeSpentSeconds() != null) {
+                current.time.add(event.getTimeSpentSeconds() / 60.0);
+            }
+            return current;
+        });
+    }
+
+    /**
+     * Write accumulated deltas to the database
+     * Deltas of a failed flush are merged back and retried on the next run
+     */
+    @Scheduled(fixedDelayString = "${statistics.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        Map<UUID, ScenarioDelta> scenarios = drain(scenarioDeltas);
+        Map<UUID, QuestionDelta> questions = drain(questionDeltas);
+        if (scenarios.isEmpty() && questions.isEmpty()) {
+            return;
+        }
+
+        List<ScenarioStatisticsChangedEvent.Statistics> written;
+        try {
+            written = transactionTemplate.execute(status -> {
+                if (!questions.isEmpty()) {
+                    namedParameterJdbcTemplate.batchUpdate(MERGE_QUESTION, questionParams(questions));
+                }
+                if (scenarios.isEmpty()) {
+                    return List.of();
+                }
+                namedParameterJdbcTemplate.batchUpdate(MERGE_SCENARIO, scenarioParams(scenarios));
+                return namedParameterJdbcTemplate.query(SELECT_STATISTICS + " WHERE id IN (:ids)",
+                        new MapSqlParameterSource("ids", scenarios.keySet()), STATISTICS_MAPPER);
+            });
+            log.debug("Flushed statistics of {} scenarios and {} questions", scenarios.size(), questions.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush statistics, keeping deltas for the next run: {}", e.getMessage());
+            scenarios.forEach((id, delta) -> scenarioDeltas.merge(id, delta, ScenarioDelta::merge));
+            questions.forEach((id, delta) -> questionDeltas.merge(id, delta, QuestionDelta::merge));
+            return;
+        }
+
+        if (!written.isEmpty()) {
+            eventPublisher.publishEvent(new ScenarioStatisticsChangedEvent(written));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Recompute all statistics from the answer and progress history
+     * Pending deltas are dropped right after the history that contains them is read; answers and completions
+     * committed later are not in that history, so their deltas arrive afterwards and are flushed on top
+     * Progress rows keep only a per-student average, so the backfilled score variance covers the spread between students
+     */
+    public synchronized StatisticsBackfillDTO backfill() {
+        long start = System.currentTimeMillis();
+        log.info("Backfilling scenario and question statistics");
+
+        int[] updated = transactionTemplate.execute(status -> {
+            int questions = jdbcTemplate.update(RECOMPUTE_QUESTIONS);
+            questionDeltas.clear();
+
+            Map<UUID, ScenarioDelta> history = new HashMap<>();
+            jdbcTemplate.query(SELECT_HISTORY, rs -> {
+                ScenarioDelta delta = history.computeIfAbsent(rs.getObject("scenario_id", UUID.class), id -> new ScenarioDelta());
+                delta.score.merge(rs.getInt("attempt_count"), rs.getDouble("average_score"), 0);
+
+                int firstAttemptSeconds = rs.getInt("first_attempt_seconds");
+                if (firstAttemptSeconds > 0) {
+                    delta.time.add(firstAttemptSeconds / 60.0);
+                }
+            });
+            scenarioDeltas.clear();
+
+            jdbcTemplate.update(RESET_SCENARIOS);
+            if (!history.isEmpty()) {
+                namedParameterJdbcTemplate.batchUpdate(SET_SCENARIO, scenarioParams(history));
+            }
+            return new int[] {history.size(), questions};
+        });
+
+        eventPublisher.publishEvent(new ScenarioStatisticsChangedEvent(jdbcTemplate.query(SELECT_STATISTICS, STATISTICS_MAPPER)));
+
+        long duration = System.currentTimeMillis() - start;
+        log.info("Statistics backfill done: {} scenarios, {} questions in {} ms", updated[0], updated[1], duration);
+
+        return StatisticsBackfillDTO.builder()
+                .scenariosUpdated(updated[0])
+                .questionsUpdated(updated[1])
+                .durationMs(duration)
+                .build();
+    }
+
+    private static <T> Map<UUID, T> drain(Map<UUID, T> deltas) {
+        Map<UUID, T> drained = new HashMap<>();
+        for (UUID id : new ArrayList<>(deltas.keySet())) {
+            T delta = deltas.remove(id);
+            if (delta != null) {
+                drained.put(id, delta);
+            }
+        }
+        return drained;
+    }
+
+    private static SqlParameterSource[] scenarioParams(Map<UUID, ScenarioDelta> deltas) {
+        List<SqlParameterSource> params = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> params.add(new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("count", delta.score.getCount())
+                .addValue("mean", delta.score.getMean(), Types.DOUBLE)
+                .addValue("m2", delta.score.getM2(), Types.DOUBLE)
+                .addValue("timeCount", delta.time.getCount())
+                .addValue("timeMean", delta.time.getCount() > 0 ? delta.time.getMean() : null, Types.DOUBLE)));
+        return params.toArray(SqlParameterSource[]::new);
+    }
+
+    private static SqlParameterSource[] questionParams(Map<UUID, QuestionDelta> deltas) {
+        List<SqlParameterSource> params = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> params.add(new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("attempts", delta.attempts)
+                .addValue("correct", delta.correct)));
+        return params.toArray(SqlParameterSource[]::new);
+    }
+
+    private static final class ScenarioDelta {
+        private final RunningStats score = new RunningStats();
+        private final RunningStats time = new RunningStats();
+
+        ScenarioDelta merge(ScenarioDelta other) {
+            score.merge(other.score);
+            time.merge(other.time);
+            return this;
+        }
+    }
+
+    private static final class QuestionDelta {
+        private long attempts;
+        private long correct;
+
+        QuestionDelta merge(QuestionDelta other) {
+            attempts += other.attempts;
+            correct += other.correct;
+            return this;
+        }
+    }
+}
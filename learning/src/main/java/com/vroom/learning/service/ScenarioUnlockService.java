@@ -0,0 +1,95 @@
+package com.vroom.learning.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vroom.content.model.index.PrerequisiteGraph;
+import com.vroom.content.service.PrerequisiteGraphService;
+import com.vroom.learning.repository.StudentScenarioRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Service answering which scenarios a student is allowed to start
+ * Each student's passed scenarios are cached as a bitset over the prerequisite graph; a scenario passed once
+ * stays passed, so restarting or failing it later never locks its dependents again
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScenarioUnlockService {
+
+    private final StudentScenarioRepository studentScenarioRepository;
+    private final PrerequisiteGraphService prerequisiteGraphService;
+
+    private final Cache<UUID, PassedScenarios> passedByStudent = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
+
+    /**
+     * Check whether all prerequisites of a scenario are passed by the student
+     * Scenarios without prerequisites never touch the student's progress
+     */
+    public boolean isUnlocked(UUID studentId, UUID scenarioId) {
+        PrerequisiteGraph graph = prerequisiteGraphService.getGraph();
+        if (!graph.hasPrerequisites(scenarioId)) {
+            return true;
+        }
+        return graph.isUnlocked(scenarioId, getPassed(studentId, graph));
+    }
+
+    /**
+     * Get the ids of all scenarios the student is allowed to start
+     */
+    public Set<UUID> getUnlockedScenarios(UUID studentId) {
+        PrerequisiteGraph graph = prerequisiteGraphService.getGraph();
+        return graph.getUnlocked(getPassed(studentId, graph));
+    }
+
+    /**
+     * Drop the cached passed set of a student once the current transaction commits
+     */
+    public void evict(UUID studentId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    passedByStudent.invalidate(studentId);
+                }
+            });
+        } else {
+            passedByStudent.invalidate(studentId);
+        }
+    }
+
+    private BitSet getPassed(UUID studentId, PrerequisiteGraph graph) {
+        PassedScenarios passed = passedByStudent.get(studentId, this::loadPassed);
+
+        // The graph was rebuilt since the bitset was computed, re-index the cached ids
+        if (passed.graphVersion != graph.getVersion()) {
+            passed = new PassedScenarios(passed.scenarioIds, graph.getVersion(), graph.toBitSet(passed.scenarioIds));
+            passedByStudent.put(studentId, passed);
+        }
+        return passed.bits;
+    }
+
+    private PassedScenarios loadPassed(UUID studentId) {
+        log.debug("Loading passed scenarios for student {}", studentId);
+
+        Set<UUID> scenarioIds = Set.copyOf(studentScenarioRepository.findEverPassedScenarioIds(studentId));
+
+        PrerequisiteGraph graph = prerequisiteGraphService.getGraph();
+        return new PassedScenarios(scenarioIds, graph.getVersion(), graph.toBitSet(scenarioIds));
+    }
+
+    private record PassedScenarios(Set<UUID> scenarioIds, long graphVersion, BitSet bits) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.vroom.learning.service;
+
+import com.vroom.content.model.enums.Theme;
+import com.vroom.content.model.index.EarnedBadges;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-student counters the badge rules are evaluated against
+ * Every update is idempotent, so replaying an event already covered by the seed changes nothing
+ * Not thread-safe; callers synchronize on the instance
+ */
+class StudentBadgeCounters {
+
+    private final Set<UUID> passedScenarios = new HashSet<>();
+    private final Map<Theme, Integer> passedByTheme = new EnumMap<>(Theme.class);
+    private LocalDate lastActiveDay;
+    private int streakDays;
+    private EarnedBadges earned;
+
+    StudentBadgeCounters(EarnedBadges earned) {
+        this.earned = earned;
+    }
+
+    /**
+     * Record a passed scenario
+     */
+    void pass(UUID scenarioId, Theme theme) {
+        if (passedScenarios.add(scenarioId) && theme != null) {
+            passedByTheme.merge(theme, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Record activity on a day, extending the streak when it follows the last active day
+     */
+    void activeOn(LocalDate day) {
+        if (lastActiveDay != null && !day.isAfter(lastActiveDay)) {
+            return;
+        }
+        streakDays = lastActiveDay != null && lastActiveDay.plusDays(1).equals(day) ? streakDays + 1 : 1;
+        lastActiveDay = day;
+    }
+
+    /**
+     * Seed the streak from distinct active days, most recent first
+     */
+    void seedStreak(List<LocalDate> daysDescending) {
+        if (daysDescending.isEmpty()) {
+            return;
+        }
+        lastActiveDay = daysDescending.get(0);
+        streakDays = 1;
+        while (streakDays < daysDescending.size()
+                && daysDescending.get(streakDays).equals(lastActiveDay.minusDays(streakDays))) {
+            streakDays++;
+        }
+    }
+
+    int getPassedCount() {
+        return passedScenarios.size();
+    }
+
+    int getPassedCount(Theme theme) {
+        return passedByTheme.getOrDefault(theme, 0);
+    }
+
+    int getStreakDays() {
+        return streakDays;
+    }
+
+    EarnedBadges getEarned() {
+        return earned;
+    }
+
+    void setEarned(EarnedBadges earned) {
+        this.earned = earned;
+    }
+}
@@ -0,0 +1,410 @@
+package com.vroom.learning.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vroom.content.model.enums.Theme;
+import com.vroom.learning.dto.ProgressSummaryDTO;
+import com.vroom.learning.dto.ProgressSummaryRebuildDTO;
+import com.vroom.learning.dto.ThemeProgressDTO;
+import com.vroom.learning.event.AnswerSubmittedEvent;
+import com.vroom.learning.event.ScenarioCompletedEvent;
+import com.vroom.learning.event.ScenarioStartedEvent;
+import com.vroom.shared.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service maintaining the per-student progress summary read model
+ * Learning events flag the student's summary row stale; stale rows are re-derived from the history in periodic
+ * batches, so the dashboard reads one summary row plus the theme rows instead of aggregating progress on every request.
+ * The flag is stored with the row, so a restart or a failed refresh never loses it. Summaries usually trail writes
+ * by about one refresh interval, and longer while refreshes fail.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StudentProgressSummaryService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String SELECT_TOTALS = """
+            SELECT student_id, COUNT(*) AS started,
+                SUM(CASE WHEN status = 'IN_PROGRESS' THEN 1 ELSE 0 END) AS in_progress,
+                SUM(CASE WHEN status = 'COMPLETED_PASSED' THEN 1 ELSE 0 END) AS passed,
+                SUM(CASE WHEN status = 'COMPLETED_FAILED' THEN 1 ELSE 0 END) AS failed,
+                SUM(attempt_count) AS attempts, AVG(highest_score) AS average_score,
+                SUM(time_spent_seconds) AS time_spent
+            FROM student_scenarios WHERE student_id IN (:ids) AND status <> 'NOT_STARTED'
+            GROUP BY student_id
+            """;
+
+    private static final String SELECT_THEMES = """
+            SELECT ss.student_id, s.theme, COUNT(*) AS started,
+                SUM(CASE WHEN ss.status = 'COMPLETED_PASSED' THEN 1 ELSE 0 END) AS passed
+            FROM student_scenarios ss JOIN scenarios s ON s.id = ss.scenario_id
+            WHERE ss.student_id IN (:ids) AND ss.status <> 'NOT_STARTED'
+            GROUP BY ss.student_id, s.theme
+            """;
+
+    private static final String SELECT_ACTIVE_DAYS = """
+            SELECT DISTINCT student_id, CAST(answered_at AS DATE) AS active_day FROM student_answers
+            WHERE student_id IN (:ids) ORDER BY student_id, active_day
+            """;
+
+    // Empty stale rows for students without a summary, the next refresh derives them
+    private static final String SEED_SUMMARIES = """
+            INSERT INTO student_progress_summary (student_id, scenarios_started, scenarios_in_progress, scenarios_passed,
+                scenarios_failed, total_attempts, time_spent_seconds, streak_days, longest_streak_days, stale)
+            SELECT st.id, 0, 0, 0, 0, 0, 0, 0, 0, TRUE FROM students st
+            WHERE NOT EXISTS (SELECT 1 FROM student_progress_summary p WHERE p.student_id = st.id) %s
+            """;
+
+    // Rows already flagged, e.g. by another node, are skipped so repeated events do not rewrite them
+    private static final String MARK_STALE =
+            "UPDATE student_progress_summary SET stale = TRUE WHERE student_id IN (:ids) AND stale = FALSE";
+
+    private static final String SELECT_STALE =
+            "SELECT student_id FROM student_progress_summary WHERE stale = TRUE";
+
+    // Runs first in a refresh: the row locks make a concurrent flag wait and land after the refresh commits
+    private static final String CLAIM_STALE =
+            "UPDATE student_progress_summary SET stale = FALSE WHERE student_id IN (:ids)";
+
+    private static final String UPDATE_SUMMARY = """
+            UPDATE student_progress_summary SET scenarios_started = ?, scenarios_in_progress = ?, scenarios_passed = ?,
+                scenarios_failed = ?, total_attempts = ?, average_score = ?, time_spent_seconds = ?, streak_days = ?,
+                longest_streak_days = ?, last_active_date = ?, refreshed_at = ?
+            WHERE student_id = ?
+            """;
+
+    private static final String INSERT_THEME =
+            "INSERT INTO student_theme_progress (id, student_id, theme, scenarios_started, scenarios_passed) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SELECT_SUMMARY = """
+            SELECT st.total_points, st.badges_earned, p.* FROM students st
+            LEFT JOIN student_progress_summary p ON p.student_id = st.id
+            WHERE st.id = ?
+            """;
+
+    private static final String SELECT_PUBLISHED_BY_THEME =
+            "SELECT theme, COUNT(*) AS published FROM scenarios WHERE published = TRUE GROUP BY theme";
+
+    private static final String SELECT_STUDENT_THEMES =
+            "SELECT theme, scenarios_started, scenarios_passed FROM student_theme_progress WHERE student_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Students known to have a summary row, saves seeding them on every event; rows are only removed with their student
+    private final Cache<UUID, Boolean> seededStudents = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .build();
+
+    // Students whose flag could not be written, retried before the next refresh
+    private final Set<UUID> unflaggedStudents = ConcurrentHashMap.newKeySet();
+
+    // Published scenarios per theme, shared by every student's summary; a minute behind the catalog at most
+    private final Cache<Boolean, Map<Theme, Integer>> publishedByTheme = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScenarioStarted(ScenarioStartedEvent event) {
+        markStale(List.of(event.getStudentId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnswerSubmitted(AnswerSubmittedEvent event) {
+        markStale(List.of(event.getStudentId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScenarioCompleted(ScenarioCompletedEvent event) {
+        markStale(List.of(event.getStudentId()));
+    }
+
+    /**
+     * Create the missing summary rows, e.g. of students registered before the read model existed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedMissing() {
+        int seeded = jdbcTemplate.update(SEED_SUMMARIES.formatted(""));
+        if (seeded > 0) {
+            log.info("Seeded {} stale progress summaries", seeded);
+        }
+    }
+
+    /**
+     * Flag the summaries of students whose history changed, called after the change committed
+     * Learning events flag their student; other writers, e.g. watch time or deletions, call this directly.
+     * Every call writes through, since any node may have refreshed the summary since it was last flagged.
+     * A flag that cannot be written is kept in memory and retried before the next refresh.
+     */
+    public void markStale(Collection<UUID> studentIds) {
+        List<UUID> students = studentIds.stream().distinct().toList();
+        if (students.isEmpty()) {
+            return;
+        }
+
+        try {
+            namedParameterJdbcTemplate.update(MARK_STALE, new MapSqlParameterSource("ids", students));
+            List<UUID> unseeded = students.stream().filter(id -> seededStudents.getIfPresent(id) == null).toList();
+            if (!unseeded.isEmpty()) {
+                seed(new MapSqlParameterSource("ids", unseeded));
+                unseeded.forEach(id -> seededStudents.put(id, Boolean.TRUE));
+            }
+            unflaggedStudents.removeAll(students);
+        } catch (RuntimeException e) {
+            log.warn("Failed to flag progress summaries stale, retrying before the next refresh: {}", e.getMessage());
+            unflaggedStudents.addAll(students);
+        }
+    }
+
+    /**
+     * Get the dashboard totals of a student
+     */
+    public ProgressSummaryDTO getSummary(UUID studentId) {
+        List<ProgressSummaryDTO> rows = jdbcTemplate.query(SELECT_SUMMARY, (rs, rowNum) -> {
+            int streak = intOrZero(rs.getObject("streak_days", Integer.class));
+            Date lastActive = rs.getDate("last_active_date");
+            LocalDate lastActiveDate = lastActive != null ? lastActive.toLocalDate() : null;
+            Timestamp refreshedAt = rs.getTimestamp("refreshed_at");
+            Long timeSpent = rs.getObject("time_spent_seconds", Long.class);
+
+            return ProgressSummaryDTO.builder()
+                    .studentId(studentId)
+                    .totalPoints(rs.getInt("total_points"))
+                    .badgesEarned(rs.getInt("badges_earned"))
+                    .scenariosStarted(intOrZero(rs.getObject("scenarios_started", Integer.class)))
+                    .scenariosInProgress(intOrZero(rs.getObject("scenarios_in_progress", Integer.class)))
+                    .scenariosPassed(intOrZero(rs.getObject("scenarios_passed", Integer.class)))
+                    .scenariosFailed(intOrZero(rs.getObject("scenarios_failed", Integer.class)))
+                    .totalAttempts(intOrZero(rs.getObject("total_attempts", Integer.class)))
+                    .averageScore(rs.getObject("average_score", Double.class))
+                    .timeSpentSeconds(timeSpent != null ? timeSpent : 0L)
+                    // A streak is current while its last day is today or yesterday
+                    .currentStreakDays(lastActiveDate != null && !lastActiveDate.isBefore(LocalDate.now().minusDays(1)) ? streak : 0)
+                    .longestStreakDays(intOrZero(rs.getObject("longest_streak_days", Integer.class)))
+                    .lastActiveDate(lastActiveDate)
+                    .refreshedAt(refreshedAt != null ? refreshedAt.toLocalDateTime() : null)
+                    .build();
+        }, studentId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Student", "id", studentId);
+        }
+
+        ProgressSummaryDTO summary = rows.get(0);
+        summary.setThemes(getThemes(studentId));
+        return summary;
+    }
+
+    /**
+     * Re-derive the stale summaries
+     * Summaries of a failed refresh stay flagged and are retried on the next run
+     */
+    @Scheduled(fixedDelayString = "${progress.summary.refresh-interval-ms:5000}")
+    public synchronized void refreshStale() {
+        if (!unflaggedStudents.isEmpty()) {
+            markStale(new ArrayList<>(unflaggedStudents));
+        }
+
+        List<UUID> students = jdbcTemplate.queryForList(SELECT_STALE, UUID.class);
+        for (int from = 0; from < students.size(); from += CHUNK_SIZE) {
+            List<UUID> chunk = students.subList(from, Math.min(from + CHUNK_SIZE, students.size()));
+            try {
+                refresh(chunk);
+            } catch (RuntimeException e) {
+                log.warn("Failed to refresh progress summaries, keeping them stale: {}", e.getMessage());
+                return;
+            }
+        }
+        if (!students.isEmpty()) {
+            log.debug("Refreshed progress summaries of {} students", students.size());
+        }
+    }
+
+    @PreDestroy
+    public void refreshOnShutdown() {
+        refreshStale();
+    }
+
+    /**
+     * Regenerate every summary from the progress and answer history
+     */
+    public synchronized ProgressSummaryRebuildDTO rebuild() {
+        long start = System.currentTimeMillis();
+        log.info("Rebuilding student progress summaries");
+
+        unflaggedStudents.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM student_theme_progress WHERE student_id NOT IN (SELECT id FROM students)");
+            jdbcTemplate.update("DELETE FROM student_progress_summary WHERE student_id NOT IN (SELECT id FROM students)");
+            jdbcTemplate.update(SEED_SUMMARIES.formatted(""));
+        });
+
+        List<UUID> students = jdbcTemplate.queryForList("SELECT id FROM students", UUID.class);
+        for (int from = 0; from < students.size(); from += CHUNK_SIZE) {
+            refresh(students.subList(from, Math.min(from + CHUNK_SIZE, students.size())));
+        }
+
+        long duration = System.currentTimeMillis() - start;
+        log.info("Progress summary rebuild done: {} students in {} ms", students.size(), duration);
+
+        return ProgressSummaryRebuildDTO.builder()
+                .studentsUpdated(students.size())
+                .durationMs(duration)
+                .build();
+    }
+
+    /**
+     * Seed the missing summary rows of some students, a row inserted concurrently is left as it is
+     */
+    private void seed(MapSqlParameterSource ids) {
+        String seedStudents = SEED_SUMMARIES.formatted("AND st.id IN (:ids)");
+        try {
+            namedParameterJdbcTemplate.update(seedStudents, ids);
+        } catch (DuplicateKeyException e) {
+            // Another event seeded one of the rows first, seed the rest; rows it inserted are already stale
+            namedParameterJdbcTemplate.update(seedStudents, ids);
+        }
+    }
+
+    /**
+     * Overwrite the summary and theme rows of a chunk of seeded students with ones derived from their history
+     */
+    private void refresh(List<UUID> studentIds) {
+        MapSqlParameterSource ids = new MapSqlParameterSource("ids", studentIds);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            namedParameterJdbcTemplate.update(CLAIM_STALE, ids);
+
+            Map<UUID, Summary> summaries = new HashMap<>();
+            namedParameterJdbcTemplate.query(SELECT_TOTALS, ids, rs -> {
+                Summary summary = summaries.computeIfAbsent(rs.getObject("student_id", UUID.class), id -> new Summary());
+                summary.started = rs.getInt("started");
+                summary.inProgress = rs.getInt("in_progress");
+                summary.passed = rs.getInt("passed");
+                summary.failed = rs.getInt("failed");
+                summary.attempts = rs.getInt("attempts");
+                summary.averageScore = rs.getObject("average_score", Double.class);
+                summary.timeSpent = rs.getLong("time_spent");
+            });
+            namedParameterJdbcTemplate.query(SELECT_ACTIVE_DAYS, ids, rs -> {
+                summaries.computeIfAbsent(rs.getObject("student_id", UUID.class), id -> new Summary())
+                        .activeOn(rs.getDate("active_day").toLocalDate());
+            });
+
+            List<Object[]> themeRows = new ArrayList<>();
+            namedParameterJdbcTemplate.query(SELECT_THEMES, ids, rs -> {
+                themeRows.add(new Object[] {UUID.randomUUID(), rs.getObject("student_id", UUID.class), rs.getString("theme"),
+                        rs.getInt("started"), rs.getInt("passed")});
+            });
+
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> summaryRows = new ArrayList<>(studentIds.size());
+            for (UUID studentId : studentIds) {
+                Summary summary = summaries.getOrDefault(studentId, new Summary());
+                summaryRows.add(new Object[] {summary.started, summary.inProgress, summary.passed, summary.failed,
+                        summary.attempts, summary.averageScore, summary.timeSpent, summary.streakDays,
+                        summary.longestStreakDays, summary.lastActiveDay != null ? Date.valueOf(summary.lastActiveDay) : null,
+                        now, studentId});
+            }
+
+            namedParameterJdbcTemplate.update("DELETE FROM student_theme_progress WHERE student_id IN (:ids)", ids);
+            jdbcTemplate.batchUpdate(UPDATE_SUMMARY, summaryRows);
+            if (!themeRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_THEME, themeRows);
+            }
+        });
+    }
+
+    /**
+     * Theme rows of a student, including themes with published scenarios the student has not started
+     */
+    private List<ThemeProgressDTO> getThemes(UUID studentId) {
+        Map<Theme, Integer> published = publishedByTheme.get(Boolean.TRUE, key -> {
+            Map<Theme, Integer> counts = new EnumMap<>(Theme.class);
+            jdbcTemplate.query(SELECT_PUBLISHED_BY_THEME, rs -> {
+                counts.put(Theme.valueOf(rs.getString("theme")), rs.getInt("published"));
+            });
+            return counts;
+        });
+
+        Map<Theme, int[]> progress = new EnumMap<>(Theme.class);
+        jdbcTemplate.query(SELECT_STUDENT_THEMES, rs -> {
+            progress.put(Theme.valueOf(rs.getString("theme")),
+                    new int[] {rs.getInt("scenarios_started"), rs.getInt("scenarios_passed")});
+        }, studentId);
+
+        List<ThemeProgressDTO> themes = new ArrayList<>();
+        for (Theme theme : Theme.values()) {
+            int total = published.getOrDefault(theme, 0);
+            int[] counts = progress.get(theme);
+            if (total == 0 && counts == null) {
+                continue;
+            }
+            int passed = counts != null ? counts[1] : 0;
+            themes.add(ThemeProgressDTO.builder()
+                    .theme(theme)
+                    .scenariosStarted(counts != null ? counts[0] : 0)
+                    .scenariosPassed(passed)
+                    .publishedScenarios(total)
+                    .completionPercentage(total > 0 ? Math.min(100, passed * 100 / total) : 0)
+                    .build());
+        }
+        return themes;
+    }
+
+    private static int intOrZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    /**
+     * Totals of one student while a chunk is derived, active days arrive in ascending order
+     */
+    private static final class Summary {
+        private int started;
+        private int inProgress;
+        private int passed;
+        private int failed;
+        private int attempts;
+        private Double averageScore;
+        private long timeSpent;
+        private int streakDays;
+        private int longestStreakDays;
+        private LocalDate lastActiveDay;
+
+        void activeOn(LocalDate day) {
+            streakDays = lastActiveDay != null && lastActiveDay.plusDays(1).equals(day) ? streakDays + 1 : 1;
+            longestStreakDays = Math.max(longestStreakDays, streakDays);
+            lastActiveDay = day;
+        }
+    }
+}
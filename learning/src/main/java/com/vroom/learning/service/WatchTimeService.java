@@ -0,0 +1,121 @@
+package com.vroom.learning.service;
+
+import com.vroom.learning.dto.HeartbeatRequest;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service collecting watch time reported by player heartbeats
+ * Heartbeats only touch an in-memory map keyed by student and scenario; the accumulated seconds and
+ * latest position are flushed periodically as one batch of increments, so no heartbeat writes to the database
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WatchTimeService {
+
+    // Bumps the version so a progress update that read the row before the flush is retried instead of
+    // overwriting the added time; heartbeats for scenarios the student never started update no row
+    private static final String ADD_WATCH_TIME = """
+            UPDATE student_scenarios SET time_spent_seconds = time_spent_seconds + ?,
+                last_position_seconds = COALESCE(?, last_position_seconds),
+                last_accessed_at = COALESCE(GREATEST(last_accessed_at, ?), ?), version = version + 1
+            WHERE student_id = ? AND scenario_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StudentProgressSummaryService summaryService;
+
+    private final Map<WatchKey, WatchDelta> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Record one heartbeat of a student's player
+     */
+    public void heartbeat(UUID studentId, HeartbeatRequest request) {
+        int seconds = Math.min(Math.max(request.getDeltaSeconds(), 0), HeartbeatRequest.MAX_DELTA_SECONDS);
+        pending.compute(new WatchKey(studentId, request.getScenarioId()), (key, delta) -> {
+            WatchDelta current = delta != null ? delta : new WatchDelta();
+            current.seconds += seconds;
+            if (request.getPositionSeconds() != null) {
+                current.positionSeconds = request.getPositionSeconds();
+            }
+            return current;
+        });
+    }
+
+    /**
+     * Write accumulated watch time to the database
+     * Deltas of a failed flush are merged back and retried on the next run
+     */
+    @Scheduled(fixedDelayString = "${progress.heartbeat.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<WatchKey, WatchDelta> drained = drain();
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(drained.size());
+        drained.forEach((key, delta) -> batch.add(
+                new Object[] {delta.seconds, delta.positionSeconds, now, now, key.studentId(), key.scenarioId()}));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(ADD_WATCH_TIME, batch));
+            summaryService.markStale(drained.keySet().stream().map(WatchKey::studentId).toList());
+            log.debug("Flushed watch time of {} student scenarios", batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush watch time, keeping deltas for the next run: {}", e.getMessage());
+            drained.forEach((key, delta) -> pending.merge(key, delta, WatchDelta::mergeOlder));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Map<WatchKey, WatchDelta> drain() {
+        Map<WatchKey, WatchDelta> drained = new HashMap<>();
+        for (WatchKey key : new ArrayList<>(pending.keySet())) {
+            WatchDelta delta = pending.remove(key);
+            if (delta != null && (delta.seconds > 0 || delta.positionSeconds != null)) {
+                drained.put(key, delta);
+            }
+        }
+        return drained;
+    }
+
+    private record WatchKey(UUID studentId, UUID scenarioId) {
+    }
+
+    private static final class WatchDelta {
+        private int seconds;
+        private Integer positionSeconds;
+
+        /**
+         * Merge an older delta into this one, keeping this position if it has one
+         */
+        WatchDelta mergeOlder(WatchDelta older) {
+            seconds += older.seconds;
+            if (positionSeconds == null) {
+                positionSeconds = older.positionSeconds;
+            }
+            return this;
+        }
+    }
+}
@@ -63,6 +63,7 @@ public class SecurityConfig {
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
                                 "/actuator/health",
+                                "/actuator/health/**",
                                 "/error"
                         ).permitAll()
 
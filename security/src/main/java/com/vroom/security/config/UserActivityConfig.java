@@ -0,0 +1,21 @@
+package com.vroom.security.config;
+
+import com.vroom.shared.touch.TouchBuffer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Write-behind buffers for user activity timestamps
+ */
+@Configuration
+public class UserActivityConfig {
+
+    /**
+     * Last login time of users, written in batches instead of by each login
+     */
+    @Bean
+    public TouchBuffer lastLoginTouchBuffer(JdbcTemplate jdbcTemplate) {
+        return new TouchBuffer(jdbcTemplate, "users", "last_login_at");
+    }
+}
@@ -10,6 +10,7 @@ import com.vroom.security.model.enums.Role;
 import com.vroom.security.repository.InstructorRepository;
 import com.vroom.security.repository.StudentRepository;
 import com.vroom.security.repository.UserRepository;
+import com.vroom.shared.touch.TouchBuffer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
@@ -41,6 +42,7 @@ public class AuthServiceImpl implements AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
+    private final TouchBuffer lastLoginTouchBuffer;
 
     /**
      * Register a new user
@@ -129,9 +131,8 @@ public class AuthServiceImpl implements AuthService {
             throw new IllegalStateException("Email not verified. Please verify your email before logging in.");
         }
 
-        // Update last login
-        user.updateLastLogin();
-        userRepository.save(user);
+        // Last login is written behind, the user row is not updated by the login
+        lastLoginTouchBuffer.touch(user.getId());
 
         // Generate tokens
         String accessToken = jwtService.generateToken(user);
@@ -420,7 +421,7 @@ public class AuthServiceImpl implements AuthService {
                 .emailVerified(user.isEnabled())
                 .profilePictureUrl(user.getProfilePictureUrl())
                 .createdAt(user.getCreatedAt())
-                .lastLoginAt(user.getLastLoginAt());
+                .lastLoginAt(lastLoginTouchBuffer.latest(user.getId(), user.getLastLoginAt()));
 
         // Add role-specific fields
         if (user instanceof Student student) {
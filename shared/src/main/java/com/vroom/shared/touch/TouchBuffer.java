@@ -0,0 +1,107 @@
+package com.vroom.shared.touch;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for a "last touched" timestamp column
+ * Touches keep the latest timestamp per row id in memory and are flushed periodically as one batch of
+ * updates that never move the column backwards, so a flush can be retried or race a newer write safely.
+ * Declare one bean per column; scheduling and shutdown flushing apply to every bean.
+ */
+@Slf4j
+public class TouchBuffer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String column;
+    private final String updateSql;
+
+    private final Map<UUID, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    /**
+     * @param table  table with a UUID {@code id} primary key
+     * @param column nullable timestamp column of that table
+     */
+    public TouchBuffer(JdbcTemplate jdbcTemplate, String table, String column) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.column = table + "." + column;
+        // GREATEST is NULL on some databases when the stored value is NULL, the touch wins then
+        this.updateSql = "UPDATE " + table + " SET " + column + " = COALESCE(GREATEST(" + column + ", ?), ?) WHERE id = ?";
+    }
+
+    /**
+     * Record that a row was touched now
+     */
+    public void touch(UUID id) {
+        touch(id, LocalDateTime.now());
+    }
+
+    /**
+     * Record that a row was touched at a time, older times than the one pending are ignored
+     */
+    public void touch(UUID id, LocalDateTime at) {
+        pending.merge(id, at, TouchBuffer::latest);
+    }
+
+    /**
+     * Get the later of a stored timestamp and the touch not flushed yet
+     */
+    public LocalDateTime latest(UUID id, LocalDateTime stored) {
+        LocalDateTime touched = pending.get(id);
+        return touched != null ? latest(stored, touched) : stored;
+    }
+
+    /**
+     * Write pending touches, touches of a failed flush are kept for the next run
+     */
+    @Scheduled(fixedDelayString = "${touch.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        Map<UUID, LocalDateTime> drained = new HashMap<>();
+        for (UUID id : new ArrayList<>(pending.keySet())) {
+            LocalDateTime at = pending.remove(id);
+            if (at != null) {
+                drained.put(id, at);
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>(drained.size());
+        drained.forEach((id, at) -> {
+            Timestamp timestamp = Timestamp.valueOf(at);
+            batch.add(new Object[] {timestamp, timestamp, id});
+        });
+
+        try {
+            jdbcTemplate.batchUpdate(updateSql, batch);
+            log.debug("Flushed {} touches of {}", batch.size(), column);
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush touches of {}, keeping them for the next run: {}", column, e.getMessage());
+            drained.forEach(this::touch);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+}